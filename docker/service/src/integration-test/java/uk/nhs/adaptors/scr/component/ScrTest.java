@@ -34,6 +34,7 @@ import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.containing;
 import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.matching;
 import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
 import static com.github.tomakehurst.wiremock.http.RequestMethod.GET;
@@ -50,7 +51,9 @@ import static org.hl7.fhir.r4.model.OperationOutcome.IssueType.NOTSUPPORTED;
 import static org.hl7.fhir.r4.model.OperationOutcome.IssueType.VALUE;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
 import static org.springframework.http.HttpHeaders.ALLOW;
+import static org.springframework.http.HttpHeaders.CONTENT_LENGTH;
 import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.HttpHeaders.TRANSFER_ENCODING;
 import static org.springframework.http.HttpStatus.ACCEPTED;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.CREATED;
@@ -218,7 +221,9 @@ public class ScrTest {
             .then()
             .statusCode(CREATED.value());
 
-        wireMockServer.verify(1, postRequestedFor(urlEqualTo(SCR_SPINE_ENDPOINT)));
+        wireMockServer.verify(1, postRequestedFor(urlEqualTo(SCR_SPINE_ENDPOINT))
+            .withHeader(CONTENT_LENGTH, matching("[0-9]+"))
+            .withoutHeader(TRANSFER_ENCODING));
         wireMockServer.verify(2, getRequestedFor(urlEqualTo(SCR_SPINE_CONTENT_ENDPOINT)));
 
         List<LoggedRequest> requests = wireMockServer.findAll(RequestPatternBuilder.allRequests());
@@ -237,8 +242,15 @@ public class ScrTest {
         assertThat(secondGetRequest.getAbsoluteUrl()).isEqualTo(spineUrl + SCR_SPINE_CONTENT_ENDPOINT);
         assertThat(secondGetRequest.getMethod()).isEqualTo(GET);
 
+        // the upload body is rendered while it is sent, so the initial wait starts once Spine has read it and responded
+        var postServeTime = wireMockServer.getAllServeEvents().stream()
+            .filter(event -> SCR_SPINE_ENDPOINT.equals(event.getRequest().getUrl()))
+            .findFirst()
+            .orElseThrow()
+            .getTiming()
+            .getServeTime();
         var intervalBetweenPostAndFirstGet =
-            (int) (firstGetRequest.getLoggedDate().getTime() - postRequest.getLoggedDate().getTime());
+            (int) (firstGetRequest.getLoggedDate().getTime() - postRequest.getLoggedDate().getTime()) - postServeTime;
         assertThat(intervalBetweenPostAndFirstGet).isBetween(INITIAL_WAIT_TIME, INITIAL_WAIT_TIME + THREAD_SLEEP_ALLOWED_DIFF);
 
         var intervalBetweenFirstAndSecondGetGet =
@@ -0,0 +1,115 @@
+package uk.nhs.adaptors.scr.load;
+
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static uk.nhs.adaptors.scr.consts.ScrHttpHeaders.CLIENT_IP;
+import static uk.nhs.adaptors.scr.consts.ScrHttpHeaders.NHSD_ASID;
+import static uk.nhs.adaptors.scr.consts.ScrHttpHeaders.NHSD_IDENTITY;
+import static uk.nhs.adaptors.scr.consts.ScrHttpHeaders.NHSD_SESSION_URID;
+import static uk.nhs.adaptors.scr.controllers.FhirMediaTypes.APPLICATION_FHIR_JSON_VALUE;
+
+/**
+ * Sends the requests of a {@link LoadTestPlan} at their planned times without waiting for responses, so a slow service
+ * gets more concurrent requests rather than fewer, as it would from real clients.
+ */
+@Slf4j
+public class LoadGenerator {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+    // past the request timeout, so the last requests sent time out on their own rather than fail the run
+    private static final Duration COMPLETION_GRACE = Duration.ofSeconds(10);
+    private static final String NHSD_ASID_VALUE = "200000001162";
+    private static final String CLIENT_IP_VALUE = "127.0.0.1";
+    // a role of the sandbox identity service's user, so $setPermission needn't ask SDS for the role code
+    private static final String NHSD_SESSION_URID_VALUE = "555254240100";
+
+    private final URI baseUri;
+    private final HttpClient httpClient;
+    private final Map<LoadTestEndpoint, byte[]> bodies = new EnumMap<>(LoadTestEndpoint.class);
+
+    public LoadGenerator(URI baseUri) {
+        this.baseUri = baseUri;
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+        for (var endpoint : LoadTestEndpoint.values()) {
+            if (endpoint.getBodyResource() != null) {
+                bodies.put(endpoint, readResource(endpoint.getBodyResource()));
+            }
+        }
+    }
+
+    public LoadTestReport run(LoadTestPlan plan) {
+        var report = new LoadTestReport();
+        List<CompletableFuture<?>> responses = new ArrayList<>(plan.getArrivals().size());
+        var start = System.nanoTime();
+
+        for (var arrival : plan.getArrivals()) {
+            var due = start + arrival.getOffsetNanos();
+            var wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            var endpoint = arrival.getEndpoint();
+            responses.add(httpClient.sendAsync(request(endpoint), BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    var success = error == null && response.statusCode() >= 200 && response.statusCode() < 300;
+                    if (!success) {
+                        LOGGER.debug("{} failed: {}", endpoint, error != null ? error.toString() : response.statusCode());
+                    }
+                    report.record(endpoint, System.nanoTime() - due, success);
+                }));
+        }
+
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new))
+            .exceptionally(error -> null)
+            .orTimeout(REQUEST_TIMEOUT.plus(COMPLETION_GRACE).toSeconds(), TimeUnit.SECONDS)
+            .join();
+        report.setElapsedNanos(System.nanoTime() - start);
+        return report;
+    }
+
+    private HttpRequest request(LoadTestEndpoint endpoint) {
+        var request = HttpRequest.newBuilder(URI.create(baseUri + endpoint.getPathAndQuery()))
+            .timeout(REQUEST_TIMEOUT)
+            .header(NHSD_ASID, NHSD_ASID_VALUE)
+            .header(CLIENT_IP, CLIENT_IP_VALUE)
+            .header(NHSD_IDENTITY, UUID.randomUUID().toString())
+            .header(NHSD_SESSION_URID, NHSD_SESSION_URID_VALUE)
+            .header(AUTHORIZATION, "Bearer load-test");
+        var body = bodies.get(endpoint);
+        if (body == null) {
+            return request.method(endpoint.getMethod(), BodyPublishers.noBody()).build();
+        }
+        return request
+            .header(CONTENT_TYPE, APPLICATION_FHIR_JSON_VALUE)
+            .method(endpoint.getMethod(), BodyPublishers.ofByteArray(body))
+            .build();
+    }
+
+    @SneakyThrows
+    private static byte[] readResource(String path) {
+        try (var inputStream = new ClassPathResource(path).getInputStream()) {
+            return inputStream.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package uk.nhs.adaptors.scr.load;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.net.URI;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+/**
+ * Drives the application, running in sandbox mode with Spine and the Identity Service stood in for, with a mix of requests
+ * and reports latency, throughput and errors per endpoint. Run with ./gradlew loadTest, the load.* properties set how:
+ * <ul>
+ *     <li>load.rate - mean requests per second, default 10</li>
+ *     <li>load.duration - seconds, default 30</li>
+ *     <li>load.warmup - seconds of the same rate and mix sent first and left out of the results, default 10</li>
+ *     <li>load.mix - endpoint weights, default DOCUMENT_REFERENCE=4,GET_BUNDLE=4,POST_BUNDLE=1,SET_PERMISSION=1,AUDIT_EVENT=1</li>
+ *     <li>load.seed - seed of the arrival times and mix draws, so a run can be repeated</li>
+ *     <li>load.replay - a request shape file to replay instead, see {@link LoadTestPlan}</li>
+ *     <li>load.replaySpeed - default 1</li>
+ *     <li>load.spineDelay - ms the sandbox Spine takes to answer, default 200</li>
+ *     <li>load.reportDir - where the summary and .hgrm histograms are written, default build/reports/load</li>
+ *     <li>load.maxErrorRate - fails the run above this share of errors, default 0.01</li>
+ *     <li>load.virtualThreads - runs the application with scr.virtualThreads (JDK 21+), default false</li>
+ *     <li>load.concurrencyLimit - whether the controllers' concurrency limits apply, default true</li>
+ * </ul>
+ * The report includes the most requests the application held at once. To compare how many uploads a node holds with
+ * and without virtual threads, run the same POST_BUNDLE load with load.virtualThreads=true and false, for instance
+ * -Pload.mix=POST_BUNDLE=1 -Pload.rate=400 -Pload.spineDelay=1000 -Pload.concurrencyLimit=false.
+ */
+@Tag("load")
+@ExtendWith({SpringExtension.class})
+@SpringBootTest(webEnvironment = RANDOM_PORT, properties = {
+    "scr.sandboxMode=true",
+    "scr.sandboxDelay=${load.spineDelay:200}",
+    "scr.eventListQueryCacheTtl=30000",
+    "spine.scrResultTimeout=60000",
+    "scr.virtualThreads=${load.virtualThreads:false}",
+    "scr.concurrencyLimit.enabled=${load.concurrencyLimit:true}",
+    "logging.level.uk.nhs.adaptors.scr=WARN",
+    "logging.level.uk.nhs.adaptors.scr.load=INFO"
+})
+@Slf4j
+public class LoadTest {
+
+    private static final String DEFAULT_MIX = "DOCUMENT_REFERENCE=4,GET_BUNDLE=4,POST_BUNDLE=1,SET_PERMISSION=1,AUDIT_EVENT=1";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private InFlightRequests inFlightRequests;
+
+    @Test
+    void runLoad() throws Exception {
+        var loadGenerator = new LoadGenerator(URI.create("http://localhost:" + port));
+        var warmup = Long.parseLong(System.getProperty("load.warmup", "10"));
+        if (warmup > 0) {
+            LOGGER.info("Warming up for {}s", warmup);
+            loadGenerator.run(LoadTestPlan.openModel(rate(), warmup, mix(), seed()));
+        }
+
+        var plan = plan();
+        LOGGER.info("Sending {} requests", plan.getArrivals().size());
+        inFlightRequests.resetMax();
+        var report = loadGenerator.run(plan);
+        report.setMaxInFlight(inFlightRequests.getMaxInFlight());
+
+        var reportDir = Path.of(System.getProperty("load.reportDir", "build/reports/load"));
+        report.write(reportDir);
+        LOGGER.info("Load test results, histograms in {}", reportDir.toAbsolutePath());
+        report.summary().lines().forEach(LOGGER::info);
+
+        var maxErrorRate = Double.parseDouble(System.getProperty("load.maxErrorRate", "0.01"));
+        assertThat(report.getCount()).isEqualTo(plan.getArrivals().size());
+        assertThat((double) report.getErrors() / Math.max(report.getCount(), 1)).isLessThanOrEqualTo(maxErrorRate);
+    }
+
+    @TestConfiguration
+    static class InFlightRequestsConfig {
+        @Bean
+        InFlightRequests inFlightRequests() {
+            return new InFlightRequests();
+        }
+    }
+
+    private static LoadTestPlan plan() {
+        var replay = System.getProperty("load.replay");
+        if (replay != null) {
+            return LoadTestPlan.replay(Path.of(replay), Double.parseDouble(System.getProperty("load.replaySpeed", "1")));
+        }
+        return LoadTestPlan.openModel(rate(), Long.parseLong(System.getProperty("load.duration", "30")), mix(), seed());
+    }
+
+    private static double rate() {
+        return Double.parseDouble(System.getProperty("load.rate", "10"));
+    }
+
+    private static String mix() {
+        return System.getProperty("load.mix", DEFAULT_MIX);
+    }
+
+    private static long seed() {
+        return Long.parseLong(System.getProperty("load.seed", String.valueOf(System.nanoTime())));
+    }
+}
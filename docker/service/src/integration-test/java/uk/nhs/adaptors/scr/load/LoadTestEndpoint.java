@@ -0,0 +1,23 @@
+package uk.nhs.adaptors.scr.load;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The requests the load test sends, all for the sandbox patient 9000000009 and the SCR id the sandbox event list returns,
+ * so the sandbox Spine answers them as it would for a consented patient. The bodies are the API specification's examples.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum LoadTestEndpoint {
+    DOCUMENT_REFERENCE("GET", "/DocumentReference?patient=https://fhir.nhs.uk/Id/nhs-number%7C9000000009", null),
+    GET_BUNDLE("GET", "/Bundle?composition.identifier=FA60BE64-1F34-11EB-A2A8-000C29A364EB"
+        + "&composition.subject:Patient.identifier=https://fhir.nhs.uk/Id/nhs-number%7C9000000009", null),
+    POST_BUNDLE("POST", "/Bundle", "load/UploadScrBundle.json"),
+    SET_PERMISSION("POST", "/$setPermission", "load/SetPermission.json"),
+    AUDIT_EVENT("POST", "/AuditEvent", "load/AuditEvent.json");
+
+    private final String method;
+    private final String pathAndQuery;
+    private final String bodyResource;
+}
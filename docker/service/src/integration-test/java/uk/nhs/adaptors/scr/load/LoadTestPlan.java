@@ -0,0 +1,102 @@
+package uk.nhs.adaptors.scr.load;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.Value;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * When each request is sent, decided before the test starts so arrivals don't wait for earlier responses (an open model).
+ * Either a Poisson arrival process at a fixed mean rate with the endpoint for each arrival drawn from a weighted mix,
+ * or a recorded request shape replayed at its own timing.
+ *
+ * <p>A replay file has one request per line: the ms since the start of the recording and the endpoint name, separated
+ * by a comma, e.g. {@code 1250,GET_BUNDLE}. Blank lines and lines starting with # are ignored.
+ */
+@Getter
+@RequiredArgsConstructor
+public class LoadTestPlan {
+
+    private final List<Arrival> arrivals;
+
+    /**
+     * @param rate     mean requests per second
+     * @param duration seconds
+     * @param mix      relative weight of each endpoint, e.g. {@code DOCUMENT_REFERENCE=4,GET_BUNDLE=4,POST_BUNDLE=1}
+     */
+    public static LoadTestPlan openModel(double rate, long duration, String mix, long seed) {
+        var weights = parseMix(mix);
+        var totalWeight = weights.values().stream().mapToInt(Integer::intValue).sum();
+        var random = new Random(seed);
+        var end = SECONDS.toNanos(duration);
+        var meanInterval = SECONDS.toNanos(1) / rate;
+
+        var arrivals = new ArrayList<Arrival>();
+        for (double offset = 0; offset < end; offset += -Math.log(1 - random.nextDouble()) * meanInterval) {
+            arrivals.add(new Arrival((long) offset, pick(weights, random.nextInt(totalWeight))));
+        }
+        return new LoadTestPlan(arrivals);
+    }
+
+    /**
+     * @param speed 2 sends the recording twice as fast, 0.5 at half speed
+     */
+    @SneakyThrows
+    public static LoadTestPlan replay(Path file, double speed) {
+        var arrivals = new ArrayList<Arrival>();
+        for (String line : Files.readAllLines(file)) {
+            var trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            var fields = trimmed.split(",");
+            if (fields.length != 2) {
+                throw new IllegalArgumentException("Expected <offset ms>,<endpoint> but was: " + line);
+            }
+            var offset = (long) (MILLISECONDS.toNanos(Long.parseLong(fields[0].trim())) / speed);
+            arrivals.add(new Arrival(offset, LoadTestEndpoint.valueOf(fields[1].trim())));
+        }
+        arrivals.sort(Comparator.comparingLong(Arrival::getOffsetNanos));
+        return new LoadTestPlan(arrivals);
+    }
+
+    private static Map<LoadTestEndpoint, Integer> parseMix(String mix) {
+        var weights = new EnumMap<LoadTestEndpoint, Integer>(LoadTestEndpoint.class);
+        for (String entry : mix.split(",")) {
+            var weight = entry.split("=");
+            if (weight.length != 2) {
+                throw new IllegalArgumentException("Expected <endpoint>=<weight> but was: " + entry);
+            }
+            weights.put(LoadTestEndpoint.valueOf(weight[0].trim()), Integer.parseInt(weight[1].trim()));
+        }
+        return weights;
+    }
+
+    private static LoadTestEndpoint pick(Map<LoadTestEndpoint, Integer> weights, int draw) {
+        for (var weight : weights.entrySet()) {
+            draw -= weight.getValue();
+            if (draw < 0) {
+                return weight.getKey();
+            }
+        }
+        throw new IllegalStateException("Draw beyond the total weight");
+    }
+
+    @Value
+    public static class Arrival {
+        long offsetNanos;
+        LoadTestEndpoint endpoint;
+    }
+}
@@ -0,0 +1,104 @@
+package uk.nhs.adaptors.scr.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Latency per endpoint in HDR histograms, from when each request was due to be sent until its response was read, so time
+ * spent queueing behind a slow service counts against it. Failed requests (transport errors and non 2xx statuses)
+ * are recorded in the histograms too and counted as errors.
+ */
+public class LoadTestReport {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double NANOS_PER_MS = MILLISECONDS.toNanos(1);
+
+    private final Map<LoadTestEndpoint, Histogram> latencies = new ConcurrentHashMap<>();
+    private final Map<LoadTestEndpoint, LongAdder> errors = new ConcurrentHashMap<>();
+    private volatile long elapsedNanos;
+    private volatile int maxInFlight;
+
+    public void record(LoadTestEndpoint endpoint, long latencyNanos, boolean success) {
+        latencies.computeIfAbsent(endpoint, it -> new ConcurrentHistogram(SIGNIFICANT_DIGITS)).recordValue(latencyNanos);
+        if (!success) {
+            errors.computeIfAbsent(endpoint, it -> new LongAdder()).increment();
+        }
+    }
+
+    public void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * The most requests the application held at once, as counted on the server.
+     */
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    public long getCount() {
+        return latencies.values().stream().mapToLong(Histogram::getTotalCount).sum();
+    }
+
+    public long getErrors() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    public long getCount(LoadTestEndpoint endpoint) {
+        var histogram = latencies.get(endpoint);
+        return histogram == null ? 0 : histogram.getTotalCount();
+    }
+
+    /**
+     * One line per endpoint: requests, throughput, error rate and latency percentiles in ms, then the most requests the
+     * application held at once.
+     */
+    public String summary() {
+        var seconds = Math.max(elapsedNanos, 1) / (double) SECONDS.toNanos(1);
+        var summary = new StringBuilder(String.format("%-24s %8s %9s %8s %9s %9s %9s %9s%n",
+            "endpoint", "count", "req/s", "errors", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (var endpoint : LoadTestEndpoint.values()) {
+            var histogram = latencies.get(endpoint);
+            if (histogram == null) {
+                continue;
+            }
+            var count = histogram.getTotalCount();
+            var errorCount = errors.getOrDefault(endpoint, new LongAdder()).sum();
+            summary.append(String.format("%-24s %8d %9.1f %7.2f%% %9.1f %9.1f %9.1f %9.1f%n",
+                endpoint, count, count / seconds, 100.0 * errorCount / count,
+                histogram.getValueAtPercentile(50) / NANOS_PER_MS,
+                histogram.getValueAtPercentile(95) / NANOS_PER_MS,
+                histogram.getValueAtPercentile(99) / NANOS_PER_MS,
+                histogram.getMaxValue() / NANOS_PER_MS));
+        }
+        summary.append(String.format("max in-flight requests on the server: %d%n", maxInFlight));
+        return summary.toString();
+    }
+
+    /**
+     * Writes the summary to summary.txt and the percentile distribution of each endpoint as &lt;ENDPOINT&gt;.hgrm in ms,
+     * the format HdrHistogram's plotter reads, so runs can be charted against each other.
+     */
+    public void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve("summary.txt"), summary());
+        for (var latency : latencies.entrySet()) {
+            var file = directory.resolve(latency.getKey().name() + ".hgrm");
+            try (var out = new PrintStream(Files.newOutputStream(file), false, UTF_8)) {
+                latency.getValue().outputPercentileDistribution(out, NANOS_PER_MS);
+            }
+        }
+    }
+}
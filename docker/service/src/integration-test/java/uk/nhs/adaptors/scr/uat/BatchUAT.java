@@ -0,0 +1,130 @@
+package uk.nhs.adaptors.scr.uat;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.Resource;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import uk.nhs.adaptors.scr.WireMockInitializer;
+import uk.nhs.adaptors.scr.config.SpineConfiguration;
+import uk.nhs.adaptors.scr.consts.ScrHttpHeaders;
+
+import java.io.IOException;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.readString;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static uk.nhs.adaptors.scr.consts.SpineHttpHeaders.SOAP_ACTION;
+import static uk.nhs.adaptors.scr.controllers.FhirMediaTypes.APPLICATION_FHIR_JSON_VALUE;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ExtendWith({SpringExtension.class})
+@DirtiesContext
+@ContextConfiguration(initializers = {WireMockInitializer.class})
+public class BatchUAT {
+
+    private static final String EVENT_LIST_QUERY_HEADER = "urn:nhs:names:services:psisquery/QUPC_IN180000SM04";
+    private static final String NHSD_ASID = "1029384756";
+    private static final String CLIENT_IP = "192.168.0.24";
+    private static final String GET_SCR_ID_URL = "DocumentReference?patient=https://fhir.nhs.uk/Id/nhs-number%7C9995000180"
+        + "&type=http://snomed.info/sct%7C196981000000101&_sort=date&_count=1";
+
+    @Value("classpath:uat/responses/event-list-query/success.xml")
+    private Resource eventListQuerySuccessResponse;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WireMockServer wireMockServer;
+
+    @Autowired
+    private SpineConfiguration spineConfiguration;
+
+    @AfterEach
+    public void afterEach() {
+        this.wireMockServer.resetAll();
+    }
+
+    @Test
+    void whenBatchOfSearchesExpectResponsePerEntry() throws Exception {
+        stubSpinePsisEndpoint(eventListQuerySuccessResponse);
+
+        performBatch(batch(
+            GET_SCR_ID_URL,
+            "DocumentReference?patient=9995000180",
+            "Patient?identifier=9995000180",
+            GET_SCR_ID_URL))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.type").value("batch-response"))
+            .andExpect(jsonPath("$.entry.length()").value(4))
+            .andExpect(jsonPath("$.entry[0].response.status").value("200 OK"))
+            .andExpect(jsonPath("$.entry[0].resource.resourceType").value("Bundle"))
+            .andExpect(jsonPath("$.entry[0].resource.entry[0].resource.resourceType").value("DocumentReference"))
+            .andExpect(jsonPath("$.entry[1].response.status").value("400 Bad Request"))
+            .andExpect(jsonPath("$.entry[1].response.outcome.issue[0].details.text")
+                .value("Invalid value - 9995000180 in field 'patient'"))
+            .andExpect(jsonPath("$.entry[2].response.status").value("400 Bad Request"))
+            .andExpect(jsonPath("$.entry[3].response.status").value("200 OK"));
+    }
+
+    @Test
+    void whenBundleIsNotBatchExpectBadRequest() throws Exception {
+        performRequest("{\"resourceType\": \"Bundle\", \"type\": \"transaction\", \"entry\": []}")
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.issue[0].details.text").value("Bundle.type must be batch"));
+    }
+
+    private ResultActions performBatch(String body) throws Exception {
+        var mvcResult = performRequest(body)
+            .andExpect(request().asyncStarted())
+            .andExpect(request().asyncResult(notNullValue()))
+            .andReturn();
+        return mockMvc.perform(asyncDispatch(mvcResult));
+    }
+
+    private ResultActions performRequest(String body) throws Exception {
+        return mockMvc.perform(post("/")
+            .contentType(APPLICATION_FHIR_JSON_VALUE)
+            .header(ScrHttpHeaders.NHSD_ASID, NHSD_ASID)
+            .header(ScrHttpHeaders.CLIENT_IP, CLIENT_IP)
+            .content(body));
+    }
+
+    private static String batch(String... urls) {
+        var entries = new StringBuilder();
+        for (var url : urls) {
+            entries.append(entries.length() == 0 ? "" : ",")
+                .append(String.format("{\"request\": {\"method\": \"GET\", \"url\": \"%s\"}}", url));
+        }
+        return String.format("{\"resourceType\": \"Bundle\", \"type\": \"batch\", \"entry\": [%s]}", entries);
+    }
+
+    private void stubSpinePsisEndpoint(Resource response) throws IOException {
+        wireMockServer.stubFor(
+            WireMock.post(spineConfiguration.getPsisQueriesEndpoint())
+                .withHeader(SOAP_ACTION, equalTo(EVENT_LIST_QUERY_HEADER))
+                .willReturn(aResponse()
+                    .withStatus(OK.value())
+                    .withBody(readString(response.getFile().toPath(), UTF_8))));
+    }
+}
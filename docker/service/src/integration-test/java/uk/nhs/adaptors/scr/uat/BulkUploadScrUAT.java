@@ -0,0 +1,190 @@
+package uk.nhs.adaptors.scr.uat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.Resource;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import uk.nhs.adaptors.scr.WireMockInitializer;
+import uk.nhs.adaptors.scr.config.SpineConfiguration;
+import uk.nhs.adaptors.scr.consts.ScrHttpHeaders;
+import uk.nhs.adaptors.scr.consts.SpineHttpHeaders;
+
+import java.io.IOException;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.readString;
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.http.HttpHeaders.CONTENT_LOCATION;
+import static org.springframework.http.HttpHeaders.RETRY_AFTER;
+import static org.springframework.http.HttpStatus.ACCEPTED;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static uk.nhs.adaptors.scr.consts.SpineHttpHeaders.SOAP_ACTION;
+import static uk.nhs.adaptors.scr.controllers.FhirMediaTypes.APPLICATION_FHIR_JSON_VALUE;
+import static uk.nhs.adaptors.scr.controllers.FhirMediaTypes.APPLICATION_FHIR_NDJSON_VALUE;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ExtendWith({SpringExtension.class})
+@DirtiesContext
+@ContextConfiguration(initializers = {WireMockInitializer.class})
+public class BulkUploadScrUAT {
+
+    private static final String BULK_UPLOAD_ENDPOINT = "/$bulkUpload";
+    private static final String SCR_SPINE_CONTENT_ENDPOINT = "/content";
+    private static final int INITIAL_WAIT_TIME = 1;
+    private static final String NHSD_ASID = "123";
+    private static final String NHSD_IDENTITY = randomUUID().toString();
+    private static final String NHSD_SESSION_URID = "43543673484";
+    private static final String CLIENT_IP = "192.168.0.24";
+    private static final String EVENT_LIST_QUERY_HEADER = "urn:nhs:names:services:psisquery/QUPC_IN180000SM04";
+    private static final String UPLOAD_SCR_HEADER = "urn:nhs:names:services:psis/REPC_IN150016SM05";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Value("classpath:uat/upload_scr/success/1-basic.request.json")
+    private Resource validScr;
+
+    @Value("classpath:uat/upload_scr/bad_request/1-missingComposition.request.json")
+    private Resource invalidScr;
+
+    @Value("classpath:uat/responses/polling/success.xml")
+    private Resource pollingSuccessResponse;
+
+    @Value("classpath:uat/responses/event-list-query/success.xml")
+    private Resource eventListQuerySuccessResponse;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WireMockServer wireMockServer;
+
+    @Autowired
+    private SpineConfiguration spineConfiguration;
+
+    @BeforeEach
+    public void beforeEach() throws IOException {
+        stubSpineUploadScrEndpoint();
+        stubSpinePollingEndpoint();
+        stubSpinePsisEndpoint();
+    }
+
+    @AfterEach
+    public void afterEach() {
+        this.wireMockServer.resetAll();
+    }
+
+    @Test
+    void whenBatchBundleUploadedExpectResultPerEntry() throws Exception {
+        var batch = String.format("{\"resourceType\": \"Bundle\", \"type\": \"batch\", \"entry\": ["
+            + "{\"resource\": %s}, {\"resource\": %s}, {\"resource\": %s}]}", read(validScr), read(invalidScr), read(validScr));
+
+        MvcResult mvcResult = performRequest(APPLICATION_FHIR_JSON_VALUE, batch);
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.type").value("batch-response"))
+            .andExpect(jsonPath("$.entry[0].response.status").value("201 Created"))
+            .andExpect(jsonPath("$.entry[1].response.status").value("400 Bad Request"))
+            .andExpect(jsonPath("$.entry[1].response.outcome.issue[0].details.text").value("Composition missing from payload"))
+            .andExpect(jsonPath("$.entry[2].response.status").value("201 Created"));
+    }
+
+    @Test
+    void whenNdjsonUploadedExpectResultPerLine() throws Exception {
+        var ndjson = String.join("\n", read(validScr), read(validScr), read(invalidScr));
+
+        MvcResult mvcResult = performRequest(APPLICATION_FHIR_NDJSON_VALUE, ndjson);
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.entry[0].response.status").value("201 Created"))
+            .andExpect(jsonPath("$.entry[1].response.status").value("201 Created"))
+            .andExpect(jsonPath("$.entry[2].response.status").value("400 Bad Request"));
+    }
+
+    @Test
+    void whenBundleIsNotBatchExpectBadRequest() throws Exception {
+        mockMvc.perform(post(BULK_UPLOAD_ENDPOINT)
+                .contentType(APPLICATION_FHIR_JSON_VALUE)
+                .header(ScrHttpHeaders.NHSD_ASID, NHSD_ASID)
+                .header(ScrHttpHeaders.CLIENT_IP, CLIENT_IP)
+                .header(ScrHttpHeaders.NHSD_IDENTITY, NHSD_IDENTITY)
+                .header(ScrHttpHeaders.NHSD_SESSION_URID, NHSD_SESSION_URID)
+                .content(read(validScr)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.issue[0].details.text").value("Bundle.type must be batch"));
+    }
+
+    private MvcResult performRequest(String contentType, String body) throws Exception {
+        return mockMvc
+            .perform(post(BULK_UPLOAD_ENDPOINT)
+                .contentType(contentType)
+                .header(ScrHttpHeaders.NHSD_ASID, NHSD_ASID)
+                .header(ScrHttpHeaders.CLIENT_IP, CLIENT_IP)
+                .header(ScrHttpHeaders.NHSD_IDENTITY, NHSD_IDENTITY)
+                .header(ScrHttpHeaders.NHSD_SESSION_URID, NHSD_SESSION_URID)
+                .content(body))
+            .andExpect(request().asyncStarted())
+            .andExpect(request().asyncResult(notNullValue()))
+            .andReturn();
+    }
+
+    /**
+     * The request file with its whitespace removed, so it fits on one NDJSON line.
+     */
+    private static String read(Resource resource) throws IOException {
+        return OBJECT_MAPPER.readTree(readString(resource.getFile().toPath(), UTF_8)).toString();
+    }
+
+    private void stubSpinePsisEndpoint() throws IOException {
+        wireMockServer.stubFor(
+            WireMock.post(spineConfiguration.getPsisQueriesEndpoint())
+                .withHeader(SOAP_ACTION, equalTo(EVENT_LIST_QUERY_HEADER))
+                .willReturn(aResponse()
+                    .withStatus(OK.value())
+                    .withBody(readString(eventListQuerySuccessResponse.getFile().toPath(), UTF_8))));
+    }
+
+    private void stubSpineUploadScrEndpoint() {
+        wireMockServer.stubFor(
+            WireMock.post(spineConfiguration.getScrEndpoint())
+                .withHeader(SpineHttpHeaders.NHSD_SESSION_URID, equalTo(NHSD_SESSION_URID))
+                .withHeader(SpineHttpHeaders.NHSD_ASID, equalTo(NHSD_ASID))
+                .withHeader(SOAP_ACTION, equalTo(UPLOAD_SCR_HEADER))
+                .willReturn(aResponse()
+                    .withStatus(ACCEPTED.value())
+                    .withHeader(CONTENT_LOCATION, SCR_SPINE_CONTENT_ENDPOINT)
+                    .withHeader(RETRY_AFTER, String.valueOf(INITIAL_WAIT_TIME))));
+    }
+
+    private void stubSpinePollingEndpoint() throws IOException {
+        wireMockServer.stubFor(
+            WireMock.get(SCR_SPINE_CONTENT_ENDPOINT)
+                .withHeader(SpineHttpHeaders.NHSD_SESSION_URID, equalTo(NHSD_SESSION_URID))
+                .withHeader(SpineHttpHeaders.NHSD_ASID, equalTo(NHSD_ASID))
+                .willReturn(aResponse()
+                    .withBody(readString(pollingSuccessResponse.getFile().toPath(), UTF_8))
+                    .withStatus(OK.value())));
+    }
+}
@@ -0,0 +1,10 @@
+package uk.nhs.adaptors.scr.uat;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Runs all GET SCR scenarios against the streaming mapping engine, which must produce the same Bundles.
+ */
+@TestPropertySource(properties = "scr.mappingEngine=stax")
+public class GetScrStaxUAT extends GetScrUAT {
+}
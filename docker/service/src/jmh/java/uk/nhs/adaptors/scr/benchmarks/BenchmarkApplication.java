@@ -0,0 +1,53 @@
+package uk.nhs.adaptors.scr.benchmarks;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import uk.nhs.adaptors.scr.ScrApplication;
+
+/**
+ * The application context benchmarks take their mappers and services from, started once per benchmark JVM without a web server.
+ * The placeholders application.yml has no defaults for are filled with dummy values, nothing is sent to those hosts.
+ */
+final class BenchmarkApplication {
+
+    private static ConfigurableApplicationContext context;
+
+    private BenchmarkApplication() {
+    }
+
+    static synchronized ConfigurableApplicationContext context() {
+        if (context == null) {
+            context = new SpringApplicationBuilder(ScrApplication.class, BenchmarkBeans.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties(
+                    "APIGEE_HOST=localhost",
+                    "HOST_URL=localhost",
+                    "SDS_URL=localhost",
+                    "SCR_SPINE_URL=localhost",
+                    "SCR_NHSD_ASID_TO=123456789",
+                    "SCR_PARTY_ID_TO=BENCHMARK-1",
+                    "SERVICE_BASE_PATH=summary-care-record/FHIR/R4",
+                    "TLS_ENABLED=false",
+                    "SPINE_MIN_IDLE_CONNECTIONS=0",
+                    "logging.level.root=WARN")
+                .run();
+        }
+        return context;
+    }
+
+    static <T> T getBean(Class<T> type) {
+        return context().getBean(type);
+    }
+
+    static class BenchmarkBeans {
+        @Bean
+        @Primary
+        BenchmarkSpineClient benchmarkSpineClient() {
+            return new BenchmarkSpineClient();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package uk.nhs.adaptors.scr.benchmarks;
+
+import org.hl7.fhir.r4.model.Bundle;
+import org.hl7.fhir.r4.model.Condition;
+import org.hl7.fhir.r4.model.Encounter;
+import org.hl7.fhir.r4.model.IdType;
+import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.Reference;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import uk.nhs.adaptors.scr.utils.BundleIndex;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.UUID;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static uk.nhs.adaptors.scr.mappings.from.hl7.HtmlParser.serialize;
+import static uk.nhs.adaptors.scr.utils.DocumentBuilderUtil.parseDocument;
+import static uk.nhs.adaptors.scr.utils.FhirHelper.getDomainResourceList;
+import static uk.nhs.adaptors.scr.utils.FhirHelper.getResourceByReference;
+
+/**
+ * Benchmarks run from the jmh jar, so test resources are read from the classpath rather than as files.
+ */
+final class BenchmarkResources {
+
+    private BenchmarkResources() {
+    }
+
+    static String readResource(String path) {
+        try (var inputStream = BenchmarkResources.class.getClassLoader().getResourceAsStream(path)) {
+            if (inputStream == null) {
+                throw new IllegalArgumentException("Benchmark resource not found: " + path);
+            }
+            return new String(inputStream.readAllBytes(), UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Adds copies of the GP summary's Conditions and Observations, each with a copy of its Encounter, to make a larger summary.
+     */
+    static Bundle addCopies(Bundle bundle, int copies) {
+        var conditions = getDomainResourceList(bundle, Condition.class);
+        var observations = getDomainResourceList(bundle, Observation.class);
+        for (int i = 0; i < copies; i++) {
+            for (var condition : conditions) {
+                var copy = condition.copy();
+                copy.setId(condition.getIdElement().getIdPart() + "-" + i);
+                copy.setEncounter(copyEncounter(bundle, condition.getEncounter(), i));
+                bundle.addEntry().setResource(copy);
+            }
+            for (var observation : observations) {
+                var copy = observation.copy();
+                copy.setId(observation.getIdElement().getIdPart() + "-" + i);
+                copy.setEncounter(copyEncounter(bundle, observation.getEncounter(), i));
+                bundle.addEntry().setResource(copy);
+            }
+        }
+        BundleIndex.clear(bundle);
+        return bundle;
+    }
+
+    /**
+     * The SCR returned by the event query with copies of every entry in its pertinentInformation2 sections, each copy
+     * under its own id. 0 is the SCR as it is.
+     */
+    static byte[] scrWithCopies(String path, int copies) {
+        var document = parseDocument(readResource(path));
+        var sections = document.getElementsByTagName("pertinentCREType");
+        for (int i = 0; i < sections.getLength(); i++) {
+            var section = sections.item(i);
+            var components = new ArrayList<Node>();
+            for (Node child = section.getFirstChild(); child != null; child = child.getNextSibling()) {
+                if ("component".equals(child.getNodeName())) {
+                    components.add(child);
+                }
+            }
+            for (int copy = 0; copy < copies; copy++) {
+                for (Node component : components) {
+                    section.appendChild(withNewId(component.cloneNode(true)));
+                }
+            }
+        }
+        return serialize(document).getBytes(UTF_8);
+    }
+
+    private static Node withNewId(Node component) {
+        for (Node child = component.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() == Node.ELEMENT_NODE) {
+                var id = ((Element) child).getElementsByTagName("id");
+                if (id.getLength() > 0) {
+                    ((Element) id.item(0)).setAttribute("root", UUID.randomUUID().toString().toUpperCase());
+                }
+            }
+        }
+        return component;
+    }
+
+    private static Reference copyEncounter(Bundle bundle, Reference reference, int i) {
+        if (!reference.hasReference()) {
+            return reference;
+        }
+        var encounter = getResourceByReference(bundle, reference.getReference(), Encounter.class).orElseThrow().copy();
+        encounter.setIdElement(new IdType("Encounter", encounter.getIdElement().getIdPart() + "-" + i));
+        bundle.addEntry().setResource(encounter);
+        return new Reference("Encounter/" + encounter.getIdElement().getIdPart());
+    }
+}
@@ -0,0 +1,71 @@
+package uk.nhs.adaptors.scr.benchmarks;
+
+import org.apache.http.HttpEntity;
+import org.w3c.dom.Document;
+import reactor.core.publisher.Mono;
+import uk.nhs.adaptors.scr.clients.spine.SpineClientContract;
+import uk.nhs.adaptors.scr.clients.spine.SpineHttpClient.Response;
+import uk.nhs.adaptors.scr.models.ProcessingResult;
+
+import java.util.concurrent.CompletableFuture;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.springframework.http.HttpStatus.OK;
+import static uk.nhs.adaptors.scr.utils.DocumentBuilderUtil.parseDocument;
+
+/**
+ * Answers the read path queries straight from memory, so benchmarks measure the mapping rather than Spine or the sandbox delay.
+ * The event list always names the same SCR, the event query returns whichever SCR XML the benchmark has set.
+ */
+public class BenchmarkSpineClient implements SpineClientContract {
+
+    private static final String EVENT_LIST = "mock-spine/event-list-query/success.xml";
+
+    private final String eventList = BenchmarkResources.readResource(EVENT_LIST);
+    private volatile byte[] scr;
+
+    public void setScr(byte[] scr) {
+        this.scr = scr;
+    }
+
+    @Override
+    public Response<Document> sendGetScrId(String requestBody, String nhsdAsid) {
+        return new Response<>(OK.value(), null, parseDocument(eventList));
+    }
+
+    @Override
+    public Mono<Response<byte[]>> sendGetScrIdReactive(String requestBody, String nhsdAsid) {
+        return Mono.just(new Response<>(OK.value(), null, eventList.getBytes(UTF_8)));
+    }
+
+    @Override
+    public Mono<Response<byte[]>> sendGetScrReactive(String requestBody, String nhsdAsid) {
+        return Mono.fromSupplier(() -> new Response<>(OK.value(), null, scr));
+    }
+
+    @Override
+    public Response<Document> sendAcsData(String requestBody, String nhsdAsid) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Response<String> sendScrData(String requestBody, String nhsdAsid, String nhsdIdentity, String nhsdSessionUrid) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Response<String> sendScrData(HttpEntity requestBody, String nhsdAsid, String nhsdIdentity, String nhsdSessionUrid) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public CompletableFuture<ProcessingResult> getScrProcessingResult(String contentLocation, long initialWaitTime, String nhsdAsid,
+                                                                      String nhsdIdentity, String nhsdSessionUrid) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Response<String> sendAlert(String requestBody, String nhsdAsid, String nhsdIdentity, String nhsdSessionUrid) {
+        throw new UnsupportedOperationException();
+    }
+}
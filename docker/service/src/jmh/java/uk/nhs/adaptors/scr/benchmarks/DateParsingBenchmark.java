@@ -0,0 +1,36 @@
+package uk.nhs.adaptors.scr.benchmarks;
+
+import org.hl7.fhir.r4.model.DateTimeType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.nhs.adaptors.scr.mappings.from.hl7.XmlToFhirMapper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * XmlToFhirMapper.parseDate for each HL7 date precision, called for nearly every effectiveTime and participant time mapped.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateParsingBenchmark {
+
+    @Param({"2020", "202011", "20201105", "202011050703", "20201105070316"})
+    private String date;
+
+    @Benchmark
+    public DateTimeType parseDate() {
+        return XmlToFhirMapper.parseDate(date, DateTimeType.class);
+    }
+}
@@ -0,0 +1,82 @@
+package uk.nhs.adaptors.scr.benchmarks;
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.parser.IParser;
+import ca.uhn.fhir.parser.StrictErrorHandler;
+import org.hl7.fhir.r4.model.Bundle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.nhs.adaptors.scr.components.FhirParser;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+import static uk.nhs.adaptors.scr.benchmarks.BenchmarkResources.readResource;
+
+/**
+ * Parse and encode throughput of a full GP summary Bundle. The legacy* benchmarks use the FhirParser setup from before the
+ * shared FhirContext: one parser with the strict error handler set on its context, pretty printing switched on per encode
+ * and the whole response built as a String.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FhirParserBenchmark {
+
+    private static final String GP_SUMMARY = "gp_summary/standard_gp_summary.json";
+
+    private String gpSummaryJson;
+    private Bundle gpSummary;
+    private FhirParser fhirParser;
+    private IParser legacyParser;
+
+    @Setup
+    public void setUp() {
+        gpSummaryJson = readResource(GP_SUMMARY);
+        fhirParser = new FhirParser();
+        gpSummary = fhirParser.parseResource(gpSummaryJson, Bundle.class);
+
+        var legacyContext = FhirContext.forR4();
+        legacyContext.setParserErrorHandler(new StrictErrorHandler());
+        legacyParser = legacyContext.newJsonParser();
+    }
+
+    @Benchmark
+    public Bundle legacyParse() {
+        return legacyParser.parseResource(Bundle.class, gpSummaryJson);
+    }
+
+    @Benchmark
+    public Bundle parse() {
+        return fhirParser.parseResource(gpSummaryJson, Bundle.class);
+    }
+
+    @Benchmark
+    public String legacyEncode() {
+        return legacyParser.setPrettyPrint(true).encodeResourceToString(gpSummary);
+    }
+
+    @Benchmark
+    public String encodePretty() {
+        return fhirParser.encodeToJson(gpSummary);
+    }
+
+    @Benchmark
+    public Writer encodeCompactToWriter() throws IOException {
+        var writer = Writer.nullWriter();
+        fhirParser.encodeToJson(gpSummary, writer, false);
+        return writer;
+    }
+}
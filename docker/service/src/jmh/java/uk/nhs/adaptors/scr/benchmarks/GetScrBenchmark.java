@@ -0,0 +1,65 @@
+package uk.nhs.adaptors.scr.benchmarks;
+
+import org.hl7.fhir.r4.model.Bundle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.nhs.adaptors.scr.config.ScrConfiguration;
+import uk.nhs.adaptors.scr.config.ScrConfiguration.MappingEngine;
+import uk.nhs.adaptors.scr.services.GetScrService;
+
+import java.util.concurrent.TimeUnit;
+
+import static uk.nhs.adaptors.scr.benchmarks.BenchmarkResources.scrWithCopies;
+
+/**
+ * The whole GET /Bundle mapping: GetScrService.getScrReactive with Spine answered from memory by {@link BenchmarkSpineClient}.
+ * The event list comes from the application's cache as it would for repeated reads, so this is the SCR XML being parsed,
+ * sections mapped and the Bundle put together. Run with -prof gc for the bytes allocated per read (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GetScrBenchmark {
+
+    static final String SCR = "mock-spine/event-query/success.xml";
+    private static final String NHS_NUMBER = "9000000009";
+    private static final String NHSD_ASID = "123456789";
+    private static final String CLIENT_IP = "127.0.0.1";
+
+    @Param({"DOM", "STAX"})
+    private MappingEngine engine;
+
+    /**
+     * Copies of every entry added to the SCR's sections, 0 is the SCR as Spine's mock returns it.
+     */
+    @Param({"0", "10"})
+    private int copies;
+
+    private GetScrService getScrService;
+    private String compositionId;
+
+    @Setup
+    public void setUp() {
+        BenchmarkApplication.getBean(ScrConfiguration.class).setMappingEngine(engine);
+        BenchmarkApplication.getBean(BenchmarkSpineClient.class).setScr(scrWithCopies(SCR, copies));
+        getScrService = BenchmarkApplication.getBean(GetScrService.class);
+        compositionId = getScrService.getEventListQueryResponse(NHS_NUMBER, NHSD_ASID, CLIENT_IP).getLatestScrId();
+    }
+
+    @Benchmark
+    public Bundle getScr() {
+        return getScrService.getScrReactive(NHS_NUMBER, compositionId, NHSD_ASID, CLIENT_IP).block();
+    }
+}
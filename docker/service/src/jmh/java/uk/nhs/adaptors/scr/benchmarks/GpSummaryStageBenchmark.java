@@ -0,0 +1,84 @@
+package uk.nhs.adaptors.scr.benchmarks;
+
+import org.hl7.fhir.r4.model.Bundle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.nhs.adaptors.scr.components.FhirParser;
+import uk.nhs.adaptors.scr.mappings.from.fhir.AuthorMapper;
+import uk.nhs.adaptors.scr.mappings.from.fhir.CommunicationMapper;
+import uk.nhs.adaptors.scr.mappings.from.fhir.CompositionMapper;
+import uk.nhs.adaptors.scr.mappings.from.fhir.ConditionMapper;
+import uk.nhs.adaptors.scr.mappings.from.fhir.ObservationMapper;
+import uk.nhs.adaptors.scr.mappings.from.fhir.PatientMapper;
+import uk.nhs.adaptors.scr.mappings.from.fhir.ProcedureMapper;
+import uk.nhs.adaptors.scr.models.GpSummary;
+import uk.nhs.adaptors.scr.utils.BundleIndex;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import static uk.nhs.adaptors.scr.benchmarks.BenchmarkResources.addCopies;
+import static uk.nhs.adaptors.scr.benchmarks.BenchmarkResources.readResource;
+import static uk.nhs.adaptors.scr.benchmarks.UploadPathBenchmark.GP_SUMMARY;
+import static uk.nhs.adaptors.scr.benchmarks.UploadPathBenchmark.NHSD_ASID;
+
+/**
+ * Each resource mapper GpSummary.fromBundle runs, on its own. The bundle's resource index is built in setup, so it is
+ * left out of every stage here and shows in UploadPathBenchmark.fromBundle instead. The Composition stage is
+ * nearly all CompositionMapper.setPresentation, which turns the section narratives into the presentation text.
+ * The header timestamp and id stages only copy two Bundle fields and aren't measured apart.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GpSummaryStageBenchmark {
+
+    private static final Map<String, BiConsumer<GpSummary, Bundle>> STAGES = Map.of(
+        "Author", AuthorMapper::mapAuthor,
+        "Communication", CommunicationMapper::mapCommunications,
+        "Composition", CompositionMapper::mapComposition,
+        "Condition", ConditionMapper::mapConditions,
+        "Observation", ObservationMapper::mapObservations,
+        "Patient", PatientMapper::mapPatient,
+        "Procedure", ProcedureMapper::mapProcedures);
+
+    @Param({"Author", "Communication", "Composition", "Condition", "Observation", "Patient", "Procedure"})
+    private String stage;
+
+    /**
+     * Copies of each Condition and Observation added to the standard summary, 0 is the summary as it is.
+     */
+    @Param({"0", "1000"})
+    private int copies;
+
+    private BiConsumer<GpSummary, Bundle> mapper;
+    private Bundle bundle;
+
+    @Setup
+    public void setUp() {
+        mapper = STAGES.get(stage);
+        bundle = addCopies(new FhirParser().parseResource(readResource(GP_SUMMARY), Bundle.class), copies);
+        BundleIndex.of(bundle);
+    }
+
+    @Benchmark
+    public GpSummary map() {
+        var gpSummary = new GpSummary();
+        gpSummary.setNhsdAsidFrom(NHSD_ASID);
+        mapper.accept(gpSummary, bundle);
+        return gpSummary;
+    }
+}
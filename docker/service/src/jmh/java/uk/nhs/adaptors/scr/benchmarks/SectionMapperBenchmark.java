@@ -0,0 +1,83 @@
+package uk.nhs.adaptors.scr.benchmarks;
+
+import org.hl7.fhir.r4.model.Resource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+import uk.nhs.adaptors.scr.mappings.from.hl7.XmlToFhirMapper;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static uk.nhs.adaptors.scr.benchmarks.BenchmarkResources.scrWithCopies;
+import static uk.nhs.adaptors.scr.benchmarks.GetScrBenchmark.SCR;
+import static uk.nhs.adaptors.scr.utils.DocumentBuilderUtil.parseDocument;
+
+/**
+ * One section mapper on the whole SCR document, as the DOM engine runs them. Mappers detach the nodes they have mapped,
+ * so each invocation gets its own copy of the parsed document, made outside the measured time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SectionMapperBenchmark {
+
+    private static final String MAPPERS_PACKAGE = "uk.nhs.adaptors.scr.mappings.from.hl7.";
+
+    @Param({
+        "CareEventsMapper",
+        "DiagnosisMapper",
+        "FamilyHistoriesMapper",
+        "FindingsMapper",
+        "InvestigationsMapper",
+        "LifestylesMapper",
+        "PatientAndCarerCorrespondenceMapper",
+        "PersonalPreferencesMapper",
+        "ProblemsMapper",
+        "ProvisionsOfAdviceAndInfoMapper",
+        "RisksToPatientMapper",
+        "SocialOrPersonalCircumstancesMapper",
+        "TreatmentsMapper"})
+    private String mapper;
+
+    /**
+     * Copies of every entry added to the SCR's sections, 0 is the SCR as Spine's mock returns it.
+     */
+    @Param({"0", "10"})
+    private int copies;
+
+    private XmlToFhirMapper sectionMapper;
+    private Document scr;
+    private Document document;
+
+    @Setup
+    public void setUp() throws ClassNotFoundException {
+        var mapperType = Class.forName(MAPPERS_PACKAGE + mapper).asSubclass(XmlToFhirMapper.class);
+        sectionMapper = BenchmarkApplication.getBean(mapperType);
+        scr = parseDocument(new ByteArrayInputStream(scrWithCopies(SCR, copies)));
+    }
+
+    @Setup(Level.Invocation)
+    public void copyDocument() {
+        document = (Document) scr.cloneNode(true);
+    }
+
+    @Benchmark
+    public List<? extends Resource> map() {
+        return sectionMapper.map(document);
+    }
+}
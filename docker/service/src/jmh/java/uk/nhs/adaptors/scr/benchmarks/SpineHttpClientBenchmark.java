@@ -0,0 +1,133 @@
+package uk.nhs.adaptors.scr.benchmarks;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.StringEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.w3c.dom.Document;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import uk.nhs.adaptors.scr.clients.spine.SpineHttpClient;
+import uk.nhs.adaptors.scr.clients.spine.SpineHttpClient.Response;
+import uk.nhs.adaptors.scr.clients.spine.SpineXmlResponseHandler;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.MediaType.TEXT_XML_VALUE;
+
+/**
+ * Spine requests per second with 1000 of them in flight at once, against a local WireMock standing in for Spine that
+ * answers the event list query after a fixed delay. BLOCKING sends them over the Apache client, one thread each,
+ * ASYNC over SpineHttpClient.sendRequestAsync from the benchmark thread, both over HTTP/1.1 and so limited to one request
+ * per connection of the Spine pool (spine.connectionPool.maxTotalConnections). ASYNC_H2 sends them over HTTP/2 as the
+ * async client does with Spine over TLS, here in cleartext, with the requests sharing the pool's connections.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(SpineHttpClientBenchmark.CONCURRENT_REQUESTS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SpineHttpClientBenchmark {
+
+    static final int CONCURRENT_REQUESTS = 1000;
+    private static final String EVENT_LIST = "mock-spine/event-list-query/success.xml";
+    private static final String PSIS_QUERIES_ENDPOINT = "/sync-service";
+    private static final int STAND_IN_THREADS = 50;
+
+    public enum Backend {
+        BLOCKING, ASYNC, ASYNC_H2
+    }
+
+    @Param({"BLOCKING", "ASYNC", "ASYNC_H2"})
+    private Backend backend;
+
+    /**
+     * Time in ms the stand-in takes to answer each request.
+     */
+    @Param({"50"})
+    private int spineDelay;
+
+    private WireMockServer spine;
+    private ExecutorService requestThreads;
+    private SpineHttpClient spineHttpClient;
+    private SpineXmlResponseHandler xmlResponseHandler;
+    private String url;
+
+    @Setup
+    public void setUp() {
+        spine = new WireMockServer(options()
+            .dynamicPort()
+            .containerThreads(STAND_IN_THREADS)
+            .asynchronousResponseEnabled(true)
+            .asynchronousResponseThreads(STAND_IN_THREADS));
+        spine.start();
+        spine.stubFor(post(PSIS_QUERIES_ENDPOINT).willReturn(aResponse()
+            .withStatus(OK.value())
+            .withHeader(CONTENT_TYPE, TEXT_XML_VALUE)
+            .withBody(BenchmarkResources.readResource(EVENT_LIST))
+            .withFixedDelay(spineDelay)));
+        url = spine.baseUrl() + PSIS_QUERIES_ENDPOINT;
+
+        requestThreads = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        spineHttpClient = BenchmarkApplication.getBean(SpineHttpClient.class);
+        if (backend == Backend.ASYNC_H2) {
+            spineHttpClient = new SpineHttpClient(BenchmarkApplication.getBean(org.apache.http.client.HttpClient.class),
+                BenchmarkApplication.getBean(HttpClient.class).protocol(HttpProtocol.H2C));
+        }
+        xmlResponseHandler = BenchmarkApplication.getBean(SpineXmlResponseHandler.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        requestThreads.shutdownNow();
+        spine.stop();
+    }
+
+    @Benchmark
+    public void concurrentRequests(Blackhole blackhole) {
+        var responses = new ArrayList<CompletableFuture<Response<Document>>>(CONCURRENT_REQUESTS);
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            if (backend != Backend.BLOCKING) {
+                responses.add(spineHttpClient.sendRequestAsync(request(), xmlResponseHandler));
+            } else {
+                responses.add(CompletableFuture.supplyAsync(() -> spineHttpClient.sendRequest(request(), xmlResponseHandler),
+                    requestThreads));
+            }
+        }
+        for (var response : responses) {
+            blackhole.consume(response.join().getBody());
+        }
+    }
+
+    private HttpPost request() {
+        var request = new HttpPost(url);
+        request.addHeader(CONTENT_TYPE, TEXT_XML_VALUE);
+        request.setEntity(new StringEntity("<QUPC_IN180000SM04/>", UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,102 @@
+package uk.nhs.adaptors.scr.benchmarks;
+
+import org.hl7.fhir.r4.model.Bundle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.nhs.adaptors.scr.components.FhirParser;
+import uk.nhs.adaptors.scr.config.ScrConfiguration;
+import uk.nhs.adaptors.scr.mappings.from.fhir.BundleMapper;
+import uk.nhs.adaptors.scr.models.GpSummary;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import static uk.nhs.adaptors.scr.benchmarks.BenchmarkResources.addCopies;
+import static uk.nhs.adaptors.scr.benchmarks.BenchmarkResources.readResource;
+
+/**
+ * The POST /Bundle path from request body to the message written to Spine: parsing the GP summary, GpSummary.fromBundle,
+ * BundleMapper.map rendering it as a String and upload, all of it as UploadScrService does it. Run with -prof gc for the
+ * bytes allocated per upload (gc.alloc.rate.norm). GpSummaryStageBenchmark splits fromBundle into its mappers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UploadPathBenchmark {
+
+    static final String GP_SUMMARY = "gp_summary/standard_gp_summary.json";
+    static final String NHSD_ASID = "1029384756";
+
+    /**
+     * Copies of each Condition and Observation added to the standard summary, 0 is the summary as it is. fromBundle
+     * should take about 10x as long at 1000 as at 100; a lookup that scans the bundle makes it closer to 100x.
+     */
+    @Param({"0", "100", "1000"})
+    private int copies;
+
+    private FhirParser fhirParser;
+    private BundleMapper bundleMapper;
+    private String gpSummaryJson;
+
+    @Setup
+    public void setUp() {
+        fhirParser = new FhirParser();
+        bundleMapper = new BundleMapper(new ScrConfiguration()
+            .setPartyIdFrom("TESTGEN-201324")
+            .setPartyIdTo("BENCHMARK-1")
+            .setNhsdAsidTo("123456789"));
+        var gpSummary = addCopies(fhirParser.parseResource(readResource(GP_SUMMARY), Bundle.class), copies);
+        gpSummaryJson = fhirParser.encodeToJson(gpSummary);
+    }
+
+    @Benchmark
+    public Bundle parseResource() {
+        return fhirParser.parseResource(gpSummaryJson, Bundle.class);
+    }
+
+    @Benchmark
+    public GpSummary fromBundle(FreshBundle bundle) {
+        return GpSummary.fromBundle(bundle.bundle, NHSD_ASID);
+    }
+
+    @Benchmark
+    public String map(FreshBundle bundle) {
+        return bundleMapper.map(bundle.bundle, NHSD_ASID);
+    }
+
+    @Benchmark
+    public OutputStream upload() throws IOException {
+        var bundle = fhirParser.parseResource(gpSummaryJson, Bundle.class);
+        var outputStream = OutputStream.nullOutputStream();
+        bundleMapper.mapToHttpEntity(bundle, NHSD_ASID).writeTo(outputStream);
+        return outputStream;
+    }
+
+    /**
+     * The GP summary parsed again for each invocation, as mapping a Bundle keeps its resource index in the Bundle and
+     * a request only ever maps its Bundle once.
+     */
+    @State(Scope.Thread)
+    public static class FreshBundle {
+        private Bundle bundle;
+
+        @Setup(Level.Invocation)
+        public void parse(UploadPathBenchmark benchmark) {
+            bundle = benchmark.parseResource();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package uk.nhs.adaptors.scr.benchmarks;
+
+import com.github.mustachejava.DefaultMustacheFactory;
+import com.github.mustachejava.Mustache;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.StringEntity;
+import org.hl7.fhir.r4.model.Bundle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.nhs.adaptors.scr.clients.spine.TemplateHttpEntity;
+import uk.nhs.adaptors.scr.components.FhirParser;
+import uk.nhs.adaptors.scr.models.GpSummary;
+import uk.nhs.adaptors.scr.utils.TemplateUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static uk.nhs.adaptors.scr.benchmarks.BenchmarkResources.addCopies;
+import static uk.nhs.adaptors.scr.benchmarks.BenchmarkResources.readResource;
+
+/**
+ * Rendering the REPC_RM150007UK05 upload message for a GP summary and writing it to the Spine connection.
+ * Run with -prof gc to compare the bytes allocated per upload (gc.alloc.rate.norm). The legacy benchmark renders into a
+ * StringWriter, copies the result into a String and then into a StringEntity, as before TemplateHttpEntity.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UploadRenderingBenchmark {
+
+    private static final String GP_SUMMARY = "gp_summary/standard_gp_summary.json";
+    private static final String TEMPLATE = "REPC_RM150007UK05.mustache";
+
+    /**
+     * Copies of each Condition and Observation added to the standard summary, 0 is the summary as it is.
+     */
+    @Param({"0", "100"})
+    private int copies;
+
+    private GpSummary gpSummary;
+    private Mustache template;
+    private Mustache legacyTemplate;
+
+    @Setup
+    public void setUp() {
+        var bundle = addCopies(new FhirParser().parseResource(readResource(GP_SUMMARY), Bundle.class), copies);
+        gpSummary = GpSummary.fromBundle(bundle, "1029384756");
+        template = TemplateUtils.loadTemplate(TEMPLATE);
+        legacyTemplate = new DefaultMustacheFactory("templates").compile(TEMPLATE);
+    }
+
+    @Benchmark
+    public OutputStream legacyStringEntity() throws IOException {
+        var writer = new StringWriter();
+        String data = "";
+        legacyTemplate.execute(writer, gpSummary).flush();
+        data += writer.toString();
+        return write(new StringEntity(data, UTF_8));
+    }
+
+    @Benchmark
+    public OutputStream reusedBufferStringEntity() throws IOException {
+        return write(new StringEntity(TemplateUtils.fillTemplate(template, gpSummary), UTF_8));
+    }
+
+    @Benchmark
+    public OutputStream templateEntity() throws IOException {
+        return write(new TemplateHttpEntity(template, gpSummary));
+    }
+
+    private static OutputStream write(HttpEntity entity) throws IOException {
+        var outputStream = OutputStream.nullOutputStream();
+        entity.writeTo(outputStream);
+        return outputStream;
+    }
+}
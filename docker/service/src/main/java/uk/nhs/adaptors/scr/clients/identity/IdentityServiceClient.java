@@ -11,6 +11,8 @@ import org.springframework.web.client.RestTemplate;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
@@ -21,27 +23,47 @@ import uk.nhs.adaptors.scr.exceptions.BadRequestException;
 @Slf4j
 public class IdentityServiceClient implements IdentityServiceContract {
 
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String REQUESTS_METRIC = "identity.service.requests";
+
     private final IdentityServiceConfiguration identityServiceConfig;
-    private RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
+    private final UserInfoCache userInfoCache;
+    private final MeterRegistry meterRegistry;
 
-    @SneakyThrows
     @Override
     public UserInfo getUserInfo(String authorization) {
+        return userInfoCache.get(authorization, () -> fetchUserInfo(authorization));
+    }
+
+    @SneakyThrows
+    private UserInfo fetchUserInfo(String authorization) {
         LOGGER.info("Fetching UserInfo from {}", identityServiceConfig.getBaseUrl() + identityServiceConfig.getUserInfoEndpoint());
         HttpHeaders headers = new HttpHeaders();
         headers.set(AUTHORIZATION, authorization);
 
         HttpEntity entity = new HttpEntity(headers);
 
+        var sample = Timer.start(meterRegistry);
+        var outcome = "error";
         try {
             ResponseEntity<UserInfo> response = restTemplate.exchange(
                 identityServiceConfig.getBaseUrl() + identityServiceConfig.getUserInfoEndpoint(), GET, entity, UserInfo.class);
+            outcome = "success";
 
-            LOGGER.debug("Fetched UserInfo: " + new ObjectMapper().writeValueAsString(response.getBody()));
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Fetched UserInfo: {}", OBJECT_MAPPER.writeValueAsString(response.getBody()));
+            }
             return response.getBody();
         } catch (HttpClientErrorException.BadRequest e) {
-            LOGGER.debug("Unable to find user info for", authorization);
+            outcome = "bad_request";
+            LOGGER.debug("Unable to find user info: {}", e.getMessage());
             throw new BadRequestException(e.getMessage());
+        } finally {
+            sample.stop(Timer.builder(REQUESTS_METRIC)
+                .description("Identity Service UserInfo requests")
+                .tag("outcome", outcome)
+                .register(meterRegistry));
         }
     }
 }
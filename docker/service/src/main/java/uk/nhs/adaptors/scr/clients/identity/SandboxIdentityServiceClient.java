@@ -10,12 +10,12 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 public class SandboxIdentityServiceClient implements IdentityServiceContract {
 
     public static final String GET_USER_INFO_RESPONSE = "mock-identity-service/userInfo.json";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
     @Override
     @SneakyThrows
     public UserInfo getUserInfo(String authorization) {
         String responseBody = IOUtils.toString(new ClassPathResource(GET_USER_INFO_RESPONSE).getInputStream(), UTF_8);
-        ObjectMapper objectMapper = new ObjectMapper();
-        return objectMapper.readValue(responseBody, UserInfo.class);
+        return OBJECT_MAPPER.readValue(responseBody, UserInfo.class);
     }
 }
@@ -0,0 +1,114 @@
+package uk.nhs.adaptors.scr.clients.identity;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import uk.nhs.adaptors.scr.config.IdentityServiceConfiguration;
+import uk.nhs.adaptors.scr.exceptions.BadRequestException;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.OptionalLong;
+import java.util.function.Supplier;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Keeps UserInfo per access token, keyed by a hash of the Authorization header so tokens are not held in memory.
+ * An entry is never used after the token's exp claim (when the token is a JWT). Tokens rejected by the Identity Service
+ * are remembered for a shorter time so repeated requests with them fail without another call.
+ */
+@Component
+public class UserInfoCache {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final Cache<String, CachedUserInfo> userInfos;
+    private final Cache<String, String> rejectedTokens;
+    private final long ttl;
+
+    @Autowired
+    public UserInfoCache(IdentityServiceConfiguration identityServiceConfiguration, MeterRegistry meterRegistry) {
+        ttl = Math.max(identityServiceConfiguration.getUserInfoCacheTtl(), 0);
+        userInfos = CacheBuilder.newBuilder()
+            .maximumSize(identityServiceConfiguration.getUserInfoCacheSize())
+            .expireAfterWrite(ttl, MILLISECONDS)
+            .recordStats()
+            .build();
+        rejectedTokens = CacheBuilder.newBuilder()
+            .maximumSize(identityServiceConfiguration.getUserInfoCacheSize())
+            .expireAfterWrite(Math.max(identityServiceConfiguration.getUserInfoNegativeCacheTtl(), 0), MILLISECONDS)
+            .recordStats()
+            .build();
+        GuavaCacheMetrics.monitor(meterRegistry, userInfos, "identityServiceUserInfo");
+        GuavaCacheMetrics.monitor(meterRegistry, rejectedTokens, "identityServiceRejectedToken");
+    }
+
+    public UserInfo get(String authorization, Supplier<UserInfo> loader) {
+        var key = Hashing.sha256().hashString(authorization, UTF_8).toString();
+
+        var rejection = rejectedTokens.getIfPresent(key);
+        if (rejection != null) {
+            throw new BadRequestException(rejection);
+        }
+
+        var now = System.currentTimeMillis();
+        var cached = userInfos.getIfPresent(key);
+        if (cached != null) {
+            if (now < cached.getExpiresAt()) {
+                return cached.getUserInfo();
+            }
+            userInfos.invalidate(key);
+        }
+
+        UserInfo userInfo;
+        try {
+            userInfo = loader.get();
+        } catch (BadRequestException e) {
+            rejectedTokens.put(key, e.getMessage());
+            throw e;
+        }
+
+        var expiresAt = Math.min(now + ttl, tokenExpiry(authorization).orElse(Long.MAX_VALUE));
+        if (userInfo != null && expiresAt > now) {
+            userInfos.put(key, new CachedUserInfo(userInfo, expiresAt));
+        }
+        return userInfo;
+    }
+
+    /**
+     * @return the exp claim in ms, empty for opaque tokens
+     */
+    private static OptionalLong tokenExpiry(String authorization) {
+        var parts = StringUtils.removeStartIgnoreCase(authorization, BEARER_PREFIX).split("\\.");
+        if (parts.length != 3) {
+            return OptionalLong.empty();
+        }
+        try {
+            var exp = OBJECT_MAPPER.readTree(Base64.getUrlDecoder().decode(parts[1])).get("exp");
+            return exp != null && exp.canConvertToLong()
+                ? OptionalLong.of(SECONDS.toMillis(exp.asLong()))
+                : OptionalLong.empty();
+        } catch (IOException | IllegalArgumentException e) {
+            return OptionalLong.empty();
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class CachedUserInfo {
+        private final UserInfo userInfo;
+        private final long expiresAt;
+    }
+}
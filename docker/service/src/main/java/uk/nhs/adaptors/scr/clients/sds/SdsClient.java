@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import uk.nhs.adaptors.scr.components.FhirParser;
 import uk.nhs.adaptors.scr.exceptions.BadRequestException;
 import uk.nhs.adaptors.scr.exceptions.UnexpectedSdsResponseException;
@@ -17,20 +18,22 @@ import java.net.URI;
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
 @Slf4j
 public class SdsClient {
-    private FhirParser fhirParser = new FhirParser();
+    private final WebClient sdsWebClient;
+    private final FhirParser fhirParser;
+
     public Bundle sendGet(URI uri) {
+        return get(uri).block();
+    }
 
-        WebClient client = WebClient.create();
-        WebClient.ResponseSpec responseSpec = client.get()
+    public Mono<Bundle> get(URI uri) {
+        return sdsWebClient.get()
             .uri(uri)
             .retrieve()
             .onStatus(HttpStatus.INTERNAL_SERVER_ERROR::equals,
                 response -> response.bodyToMono(String.class).map(UnexpectedSdsResponseException::new))
             .onStatus(HttpStatus.BAD_REQUEST::equals,
-                response -> response.bodyToMono(String.class).map(BadRequestException::new));
-
-        var strResponse = responseSpec.bodyToMono(String.class).block();
-
-        return fhirParser.parseResource(strResponse, Bundle.class);
+                response -> response.bodyToMono(String.class).map(BadRequestException::new))
+            .bodyToMono(String.class)
+            .map(strResponse -> fhirParser.parseResource(strResponse, Bundle.class));
     }
 }
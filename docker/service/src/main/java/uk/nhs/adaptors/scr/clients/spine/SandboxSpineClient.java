@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import org.apache.commons.io.IOUtils;
 import org.apache.http.Header;
+import org.apache.http.HttpEntity;
 import org.apache.http.message.BasicHeader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,6 +12,7 @@ import org.springframework.core.io.Resource;
 import org.w3c.dom.Document;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
+import reactor.core.publisher.Mono;
 import uk.nhs.adaptors.scr.clients.spine.SpineHttpClient.Response;
 import uk.nhs.adaptors.scr.config.ScrConfiguration;
 import uk.nhs.adaptors.scr.models.ProcessingResult;
@@ -18,9 +20,13 @@ import uk.nhs.adaptors.scr.utils.XmlUtils;
 
 import java.io.IOException;
 import java.io.StringReader;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 
 import static java.lang.Thread.sleep;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.CompletableFuture.delayedExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.springframework.http.HttpHeaders.CONTENT_LOCATION;
 import static org.springframework.http.HttpHeaders.RETRY_AFTER;
 import static org.springframework.http.HttpStatus.ACCEPTED;
@@ -69,9 +75,14 @@ public class SandboxSpineClient implements SpineClientContract {
         }
     }
 
-    @SneakyThrows
     @Override
     public Response<String> sendScrData(String requestBody, String nhsdAsid, String nhsdIdentity, String nhsdSessionUrid) {
+        return sendScrData((HttpEntity) null, nhsdAsid, nhsdIdentity, nhsdSessionUrid);
+    }
+
+    @SneakyThrows
+    @Override
+    public Response<String> sendScrData(HttpEntity requestBody, String nhsdAsid, String nhsdIdentity, String nhsdSessionUrid) {
         Header[] headers = {
             new BasicHeader(CONTENT_LOCATION, ""),
             new BasicHeader(RETRY_AFTER, "100")
@@ -81,12 +92,11 @@ public class SandboxSpineClient implements SpineClientContract {
     }
 
     @Override
-    @SneakyThrows
-    public ProcessingResult getScrProcessingResult(String contentLocation, long initialWaitTime, String nhsdAsid,
-                                                   String nhsdIdentity, String nhsdSessionUrid) {
-        sleep(scrConfiguration.getSandboxDelay());
-        String responseBody = getResourceAsString(pollingSuccess);
-        return ProcessingResult.parseProcessingResult(responseBody);
+    public CompletableFuture<ProcessingResult> getScrProcessingResult(String contentLocation, long initialWaitTime, String nhsdAsid,
+                                                                      String nhsdIdentity, String nhsdSessionUrid) {
+        return CompletableFuture.supplyAsync(
+            () -> ProcessingResult.parseProcessingResult(getResourceAsString(pollingSuccess)),
+            delayedExecutor(scrConfiguration.getSandboxDelay(), MILLISECONDS));
     }
 
     @SneakyThrows
@@ -104,11 +114,20 @@ public class SandboxSpineClient implements SpineClientContract {
         }
     }
 
-    @SneakyThrows
     @Override
-    public Response<Document> sendGetScr(String requestBody, String nhsdAsid) {
-        sleep(scrConfiguration.getSandboxDelay());
-        return new Response(OK.value(), null, getResourceAsXmlDocument(getScrSuccess));
+    public Mono<Response<byte[]>> sendGetScrIdReactive(String requestBody, String nhsdAsid) {
+        return Mono.delay(Duration.ofMillis(scrConfiguration.getSandboxDelay()))
+            .map(delay -> {
+                String nhsNumber = xmlUtils.getValueByXPath(parseXmlUnchecked(requestBody), GET_SCR_ID_NHS_NUMBER_XPATH);
+                var response = EXISTING_NHS_NUMBER.equals(nhsNumber) ? getScrIdSuccess : getScrIdNoConsent;
+                return new Response<>(OK.value(), null, getResourceAsBytes(response));
+            });
+    }
+
+    @Override
+    public Mono<Response<byte[]>> sendGetScrReactive(String requestBody, String nhsdAsid) {
+        return Mono.delay(Duration.ofMillis(scrConfiguration.getSandboxDelay()))
+            .map(delay -> new Response<>(OK.value(), null, getResourceAsBytes(getScrSuccess)));
     }
 
     @Override
@@ -121,11 +140,21 @@ public class SandboxSpineClient implements SpineClientContract {
         return IOUtils.toString(resource.getInputStream(), UTF_8);
     }
 
+    @SneakyThrows
+    private static byte[] getResourceAsBytes(Resource resource) {
+        return IOUtils.toByteArray(resource.getInputStream());
+    }
+
     @SneakyThrows
     private static Document getResourceAsXmlDocument(Resource resource) {
         return documentBuilder().parse(resource.getInputStream());
     }
 
+    @SneakyThrows
+    private Document parseXmlUnchecked(String requestBody) {
+        return parseXml(requestBody);
+    }
+
     private Document parseXml(String requestBody) throws SAXException, IOException {
         return documentBuilder().parse(new InputSource(new StringReader(requestBody)));
     }
@@ -1,36 +1,42 @@
 package uk.nhs.adaptors.scr.clients.spine;
 
-import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.http.HttpEntity;
 import org.apache.http.HttpRequest;
+import org.apache.http.client.ResponseHandler;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.entity.StringEntity;
+import org.apache.http.util.EntityUtils;
 import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.retry.RetryContext;
-import org.springframework.retry.backoff.BackOffContext;
-import org.springframework.retry.backoff.BackOffInterruptedException;
-import org.springframework.retry.backoff.BackOffPolicy;
-import org.springframework.retry.support.RetryTemplate;
 import org.w3c.dom.Document;
+import reactor.core.publisher.Mono;
 import uk.nhs.adaptors.scr.clients.spine.SpineHttpClient.Response;
 import uk.nhs.adaptors.scr.config.SpineConfiguration;
 import uk.nhs.adaptors.scr.exceptions.NoSpineResultException;
-import uk.nhs.adaptors.scr.exceptions.ScrBaseException;
-import uk.nhs.adaptors.scr.exceptions.ScrTimeoutException;
+import uk.nhs.adaptors.scr.exceptions.ServiceUnavailableException;
 import uk.nhs.adaptors.scr.exceptions.UnexpectedSpineResponseException;
 import uk.nhs.adaptors.scr.logging.LogExecutionTime;
 import uk.nhs.adaptors.scr.models.ProcessingResult;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
 import static org.springframework.http.HttpHeaders.RETRY_AFTER;
 import static org.springframework.http.HttpStatus.ACCEPTED;
 import static org.springframework.http.HttpStatus.OK;
 import static org.springframework.http.MediaType.TEXT_XML_VALUE;
+import static uk.nhs.adaptors.scr.clients.spine.SpineInteraction.ALERT;
+import static uk.nhs.adaptors.scr.clients.spine.SpineInteraction.GET_SCR;
+import static uk.nhs.adaptors.scr.clients.spine.SpineInteraction.GET_SCR_ID;
+import static uk.nhs.adaptors.scr.clients.spine.SpineInteraction.SET_PERMISSION;
+import static uk.nhs.adaptors.scr.clients.spine.SpineInteraction.UPLOAD_SCR;
+import static uk.nhs.adaptors.scr.clients.spine.SpineInteraction.UPLOAD_SCR_POLLING;
 import static uk.nhs.adaptors.scr.config.ConversationIdFilter.CORRELATION_ID_MDC_KEY;
 import static uk.nhs.adaptors.scr.config.RequestIdFilter.REQUEST_ID_MDC_KEY;
 import static uk.nhs.adaptors.scr.consts.SpineHttpHeaders.NHSD_ASID;
@@ -52,11 +58,15 @@ public class SpineClient implements SpineClientContract {
     private static final String PSIS_EVENT_LIST_QUERY = "urn:nhs:names:services:psisquery/QUPC_IN180000SM04";
     private static final String SET_PERMISSION_SOAP_ACTION = "urn:nhs:names:services:lrs/SET_RESOURCE_PERMISSIONS_INUK01";
     private static final String PSIS_EVENT_QUERY_SOAP_ACTION = "urn:nhs:names:services:psisquery/QUPC_IN190000UK04";
+    private static final ResponseHandler<Response<byte[]>> BYTES_RESPONSE_HANDLER = response -> new Response<>(
+        response.getStatusLine().getStatusCode(), response.getAllHeaders(), EntityUtils.toByteArray(response.getEntity()));
 
     private final SpineConfiguration spineConfiguration;
     private final SpineHttpClient spineHttpClient;
     private final SpineStringResponseHandler stringResponseHandler;
     private final SpineXmlResponseHandler xmlResponseHandler;
+    private final SpinePollingScheduler spinePollingScheduler;
+    private final SpineResilience spineResilience;
 
     @SneakyThrows
     @Override
@@ -70,7 +80,7 @@ public class SpineClient implements SpineClientContract {
         request.setHeader(NHSD_ASID, nhsdAsid);
         request.setEntity(new StringEntity(requestBody, UTF_8));
 
-        var response = spineHttpClient.sendRequest(request, xmlResponseHandler);
+        var response = spineResilience.call(SET_PERMISSION, () -> spineHttpClient.sendRequest(request, xmlResponseHandler));
         var statusCode = response.getStatusCode();
 
         if (statusCode != OK.value()) {
@@ -81,19 +91,30 @@ public class SpineClient implements SpineClientContract {
         return response;
     }
 
+    @Override
+    public Response<String> sendScrData(String requestBody, String nhsdAsid, String nhsdIdentity, String nhsdSessionUrid) {
+        LOGGER.debug("Body: {}", requestBody);
+        return sendScrData(new StringEntity(requestBody, UTF_8), nhsdAsid, nhsdIdentity, nhsdSessionUrid);
+    }
+
+    /**
+     * A {@link TemplateHttpEntity} body is logged as rendered, without copying it.
+     */
     @SneakyThrows
     @Override
     @LogExecutionTime
-    public Response<String> sendScrData(String requestBody, String nhsdAsid, String nhsdIdentity, String nhsdSessionUrid) {
+    public Response<String> sendScrData(HttpEntity requestBody, String nhsdAsid, String nhsdIdentity, String nhsdSessionUrid) {
         var url = spineConfiguration.getUrl() + spineConfiguration.getScrEndpoint();
         LOGGER.info("Sending SCR Upload request to SPINE. URL: {}", url);
-        LOGGER.debug("Body: {}", requestBody);
+        if (requestBody instanceof TemplateHttpEntity) {
+            LOGGER.debug("Body: {}", requestBody);
+        }
 
         var request = new HttpPost(url);
         setUploadScrHeaders(request, nhsdAsid, nhsdIdentity, nhsdSessionUrid);
-        request.setEntity(new StringEntity(requestBody, UTF_8));
+        request.setEntity(requestBody);
 
-        var response = spineHttpClient.sendRequest(request, stringResponseHandler);
+        var response = spineResilience.call(UPLOAD_SCR, () -> spineHttpClient.sendRequest(request, stringResponseHandler));
         var statusCode = response.getStatusCode();
 
         if (statusCode != ACCEPTED.value()) {
@@ -125,28 +146,24 @@ public class SpineClient implements SpineClientContract {
 
     @Override
     @LogExecutionTime
-    public ProcessingResult getScrProcessingResult(String contentLocation, long initialWaitTime, String nhsdAsid,
-                                                   String nhsdIdentity, String nhsdSessionUrid) {
-        var repeatTimeout = spineConfiguration.getScrResultRepeatTimeout();
-        var template = RetryTemplate.builder()
-            .withinMillis(repeatTimeout)
-            .customBackoff(new ScrRetryBackoffPolicy())
-            .retryOn(NoSpineResultException.class)
-            .build();
-
+    public CompletableFuture<ProcessingResult> getScrProcessingResult(String contentLocation, long initialWaitTime, String nhsdAsid,
+                                                                      String nhsdIdentity, String nhsdSessionUrid) {
         LOGGER.info("Starting polling result. First request in {}ms", initialWaitTime);
-        try {
-            Thread.sleep(initialWaitTime);
-        } catch (InterruptedException e) {
-            throw new ScrTimeoutException(e);
-        }
-        return template.execute(ctx -> {
-            LOGGER.info("Fetching SCR processing result. RetryCount={}", ctx.getRetryCount());
+        return spinePollingScheduler.schedule(initialWaitTime, spineConfiguration.getScrResultRepeatTimeout(), retryCount -> {
+            LOGGER.info("Fetching SCR processing result. RetryCount={}", retryCount);
 
             var request = new HttpGet(spineConfiguration.getUrl() + contentLocation);
             setCommonHeaders(request, nhsdAsid, nhsdIdentity, nhsdSessionUrid);
 
-            var result = spineHttpClient.sendRequest(request, stringResponseHandler);
+            Response<String> result;
+            try {
+                result = spineResilience.call(UPLOAD_SCR_POLLING, () -> spineHttpClient.sendRequest(request, stringResponseHandler));
+            } catch (ServiceUnavailableException e) {
+                // Spine has accepted the upload, failing it here would have the client send it again
+                var nextRetryAfter = e.getRetryAfter().map(Duration::toMillis).orElse(initialWaitTime);
+                LOGGER.warn("{}. NextRetry in {}ms", e.getMessage(), nextRetryAfter);
+                throw new NoSpineResultException(nextRetryAfter);
+            }
             int statusCode = result.getStatusCode();
 
             if (statusCode == OK.value()) {
@@ -174,7 +191,7 @@ public class SpineClient implements SpineClientContract {
 
         request.setEntity(new StringEntity(requestBody, UTF_8));
 
-        var response = spineHttpClient.sendRequest(request, xmlResponseHandler);
+        var response = spineResilience.call(GET_SCR_ID, () -> spineHttpClient.sendRequestAndWait(request, xmlResponseHandler));
         var statusCode = response.getStatusCode();
 
         if (statusCode != OK.value()) {
@@ -196,64 +213,72 @@ public class SpineClient implements SpineClientContract {
         setCommonHeaders(request, nhsdAsid, nhsdIdentity, nhsdSessionUrid);
         request.setEntity(new StringEntity(requestBody, UTF_8));
 
-        Response<String> response = spineHttpClient.sendRequest(request, stringResponseHandler);
+        Response<String> response = spineResilience.call(ALERT, () -> spineHttpClient.sendRequest(request, stringResponseHandler));
         LOGGER.info("Received Spine {} FHIR operation response: HTTP status {}", spineConfiguration.getAlertEndpoint(),
                 response.getStatusCode());
         return response;
     }
 
-    @SneakyThrows
     @Override
     @LogExecutionTime
-    public Response<Document> sendGetScr(String requestBody, String nhsdAsid) {
-        var uri = spineConfiguration.getUrl() + spineConfiguration.getPsisQueriesEndpoint();
-        var request = new HttpPost(uri);
-        LOGGER.info("Sending GET SCR Spine request. URL: {}", uri);
+    public Mono<Response<byte[]>> sendGetScrIdReactive(String requestBody, String nhsdAsid) {
+        LOGGER.info("Sending GET SCR ID Spine request");
         LOGGER.debug("Body: {}", requestBody);
-        request.addHeader(SOAP_ACTION, PSIS_EVENT_QUERY_SOAP_ACTION);
-        request.addHeader(CONTENT_TYPE, TEXT_XML_VALUE);
-        request.addHeader(NHSD_ASID, nhsdAsid);
+        var request = sendPsisQuery(requestBody, PSIS_EVENT_LIST_QUERY, null);
+        return spineResilience.call(GET_SCR_ID, request)
+            .map(response -> checkPsisQueryResponse(response, "GET SCR ID", PSIS_EVENT_LIST_QUERY));
+    }
+
+    @Override
+    @LogExecutionTime
+    public Mono<Response<byte[]>> sendGetScrReactive(String requestBody, String nhsdAsid) {
+        LOGGER.info("Sending GET SCR Spine request. URL: {}", psisQueriesUrl());
+        LOGGER.debug("Body: {}", requestBody);
+        var request = sendPsisQuery(requestBody, PSIS_EVENT_QUERY_SOAP_ACTION, nhsdAsid);
+        return spineResilience.call(GET_SCR, request)
+            .map(response -> checkPsisQueryResponse(response, "GET SCR", PSIS_EVENT_QUERY_SOAP_ACTION));
+    }
 
+    /**
+     * The ASID header is only sent when given, as with the blocking queries. Cancelling the Mono cancels the request.
+     */
+    private Mono<Response<byte[]>> sendPsisQuery(String requestBody, String soapAction, String nhsdAsid) {
+        var request = new HttpPost(psisQueriesUrl());
+        setSoapHeaders(request, soapAction, TEXT_XML_VALUE);
+        if (nhsdAsid != null) {
+            request.setHeader(NHSD_ASID, nhsdAsid);
+        }
         request.setEntity(new StringEntity(requestBody, UTF_8));
+        return Mono.defer(() -> {
+            var response = spineHttpClient.sendRequestAsync(request, BYTES_RESPONSE_HANDLER);
+            return Mono.fromFuture(response).doOnCancel(() -> response.cancel(true));
+        });
+    }
 
-        var response = spineHttpClient.sendRequest(request, xmlResponseHandler);
-        var statusCode = response.getStatusCode();
+    private String psisQueriesUrl() {
+        return spineConfiguration.getUrl() + spineConfiguration.getPsisQueriesEndpoint();
+    }
 
+    private static Response<byte[]> checkPsisQueryResponse(Response<byte[]> response, String interaction, String soapAction) {
+        var statusCode = response.getStatusCode();
         if (statusCode != OK.value()) {
-            LOGGER.error("Unexpected spine GET SCR response: {} {}", statusCode, serialize(response.getBody()));
+            LOGGER.error("Unexpected spine {} response: {} {}", interaction, statusCode, new String(response.getBody(), UTF_8));
             throw new UnexpectedSpineResponseException("Unexpected spine send response " + statusCode);
         }
-        LOGGER.info("Received Spine {} interaction response: HTTP status {}", PSIS_EVENT_QUERY_SOAP_ACTION, response.getStatusCode());
+        LOGGER.info("Received Spine {} interaction response: HTTP status {}", soapAction, statusCode);
         return response;
     }
 
-    public static class ScrRetryBackoffPolicy implements BackOffPolicy {
-        @Override
-        public BackOffContext start(RetryContext context) {
-            return new ScrRetryBackOffContext(context);
-        }
-
-        @Override
-        public void backOff(BackOffContext backOffContext) throws BackOffInterruptedException {
-            var scrRetryBackOffContext = (ScrRetryBackOffContext) backOffContext;
-            var lastException = scrRetryBackOffContext.getRetryContext().getLastThrowable();
-            if (lastException instanceof NoSpineResultException) {
-                var exception = (NoSpineResultException) lastException;
-                var retryAfter = exception.getRetryAfter();
-                try {
-                    Thread.sleep(retryAfter);
-                } catch (InterruptedException e) {
-                    throw new ScrTimeoutException(e);
-                }
-            } else {
-                throw new ScrBaseException("Unexpected exception", lastException);
-            }
-        }
-    }
+    private HttpPost prepareGetScrRequest(String requestBody, String nhsdAsid) {
+        var uri = spineConfiguration.getUrl() + spineConfiguration.getPsisQueriesEndpoint();
+        var request = new HttpPost(uri);
+        LOGGER.info("Sending GET SCR Spine request. URL: {}", uri);
+        LOGGER.debug("Body: {}", requestBody);
+        request.addHeader(SOAP_ACTION, PSIS_EVENT_QUERY_SOAP_ACTION);
+        request.addHeader(CONTENT_TYPE, TEXT_XML_VALUE);
+        request.addHeader(NHSD_ASID, nhsdAsid);
 
-    @RequiredArgsConstructor
-    @Getter
-    public static class ScrRetryBackOffContext implements BackOffContext {
-        private final RetryContext retryContext;
+        request.setEntity(new StringEntity(requestBody, UTF_8));
+        return request;
     }
 }
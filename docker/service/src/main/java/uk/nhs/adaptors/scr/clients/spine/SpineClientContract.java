@@ -1,15 +1,29 @@
 package uk.nhs.adaptors.scr.clients.spine;
 
+import org.apache.http.HttpEntity;
 import org.w3c.dom.Document;
+import reactor.core.publisher.Mono;
 import uk.nhs.adaptors.scr.clients.spine.SpineHttpClient.Response;
 import uk.nhs.adaptors.scr.models.ProcessingResult;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface SpineClientContract {
     Response<Document> sendAcsData(String requestBody, String nhsdAsid);
     Response<String> sendScrData(String requestBody, String nhsdAsid, String nhsdIdentity, String nhsdSessionUrid);
-    ProcessingResult getScrProcessingResult(String contentLocation, long initialWaitTime, String nhsdAsid,
-                                            String nhsdIdentity, String nhsdSessionUrid);
+    Response<String> sendScrData(HttpEntity requestBody, String nhsdAsid, String nhsdIdentity, String nhsdSessionUrid);
+    CompletableFuture<ProcessingResult> getScrProcessingResult(String contentLocation, long initialWaitTime, String nhsdAsid,
+                                                               String nhsdIdentity, String nhsdSessionUrid);
     Response<Document> sendGetScrId(String requestBody, String nhsdAsid);
-    Response<Document> sendGetScr(String requestBody, String nhsdAsid);
     Response<String> sendAlert(String requestBody, String nhsdAsid, String nhsdIdentity, String nhsdSessionUrid);
+
+    /**
+     * Non-blocking GET SCR ID query. The body is the raw response XML, callers parse it off the connection threads.
+     */
+    Mono<Response<byte[]>> sendGetScrIdReactive(String requestBody, String nhsdAsid);
+
+    /**
+     * Non-blocking GET SCR query. The body is the raw response XML, callers parse it off the connection threads.
+     */
+    Mono<Response<byte[]>> sendGetScrReactive(String requestBody, String nhsdAsid);
 }
@@ -1,40 +1,77 @@
 package uk.nhs.adaptors.scr.clients.spine;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelException;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpMethod;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.IteratorUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpVersion;
 import org.apache.http.NameValuePair;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.ResponseHandler;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.protocol.HttpClientContext;
-import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.InputStreamEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.NettyOutbound;
+import reactor.netty.http.client.HttpClientResponse;
+import uk.nhs.adaptors.scr.config.MdcContext;
 import uk.nhs.adaptors.scr.exceptions.ScrBaseException;
 import uk.nhs.adaptors.scr.logging.LogExecutionTime;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+import static org.springframework.http.HttpHeaders.CONTENT_LENGTH;
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+
+/**
+ * Sends Spine requests over one of two clients. {@link #sendRequest} blocks on the pooled Apache client,
+ * {@link #sendRequestAsync} sends over the non-blocking client (HTTP/2 when Spine supports it) and only takes a thread
+ * to run the response handler, which reads the body as it arrives. {@link #sendRequestAndWait} is the blocking adapter
+ * over the latter, for services moving to the async client before their own code stops blocking.
+ */
 @Component
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
 @Slf4j
 public class SpineHttpClient {
 
+    private static final int BODY_CHUNKS_PREFETCH = 16;
+    private static final int BODY_CHUNK_SIZE = 8 * 1024;
+
     private final HttpClient client;
-    private final PoolingHttpClientConnectionManager clientConnectionManager;
+    private final reactor.netty.http.client.HttpClient asyncClient;
 
     @LogExecutionTime
     public <T> Response<T> sendRequest(HttpRequestBase request, ResponseHandler<? extends Response<T>> responseHandler) {
         LOGGER.debug("Attempting to send SPINE request: {}", request.getRequestLine().toString());
         try {
-            LOGGER.info("Leased connections: " + clientConnectionManager.getTotalStats().getLeased());
-            LOGGER.info("Available connections: " + clientConnectionManager.getTotalStats().getAvailable());
-
             return client.execute(request, responseHandler, HttpClientContext.create());
         } catch (IOException e) {
             LOGGER.error("Error while sending SPINE request", e);
@@ -42,6 +79,130 @@ public class SpineHttpClient {
         }
     }
 
+    /**
+     * The handler runs on a bounded elastic thread with the caller's MDC, reading the body while it is received.
+     * Cancelling the future cancels the request. Connection failures and timeouts complete it with a {@link ScrBaseException},
+     * as with {@link #sendRequest}.
+     */
+    @LogExecutionTime
+    public <T> CompletableFuture<Response<T>> sendRequestAsync(HttpRequestBase request,
+                                                              ResponseHandler<? extends Response<T>> responseHandler) {
+        LOGGER.debug("Attempting to send async SPINE request: {}", request.getRequestLine().toString());
+        var mdc = MDC.getCopyOfContextMap();
+        var future = new CompletableFuture<Response<T>>();
+        var subscription = asyncClient
+            .request(HttpMethod.valueOf(request.getMethod()))
+            .uri(request.getURI())
+            .send((nettyRequest, outbound) -> {
+                copyHeaders(request, nettyRequest.requestHeaders());
+                return sendBody(request, outbound);
+            })
+            .responseConnection((response, connection) ->
+                Mono.fromCallable(() -> handleResponse(response, connection.inbound().receive(), responseHandler, mdc))
+                    .subscribeOn(Schedulers.boundedElastic()))
+            .next()
+            .onErrorMap(SpineHttpClient::isRequestFailure, e -> {
+                LOGGER.error("Error while sending async SPINE request", e);
+                return new ScrBaseException("Unexpected exception while sending Spine request", e);
+            })
+            .subscribe(future::complete, future::completeExceptionally);
+        future.whenComplete((response, e) -> {
+            if (future.isCancelled()) {
+                subscription.dispose();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Blocks until the async request completes, throwing what it failed with as {@link #sendRequest} would.
+     */
+    public <T> Response<T> sendRequestAndWait(HttpRequestBase request, ResponseHandler<? extends Response<T>> responseHandler) {
+        try {
+            return sendRequestAsync(request, responseHandler).join();
+        } catch (CompletionException e) {
+            return ExceptionUtils.rethrow(e.getCause());
+        }
+    }
+
+    /**
+     * As with the Apache client, the entity's content type is sent when the request has no Content-Type header, and its
+     * length when it is known.
+     */
+    private static void copyHeaders(HttpRequestBase request, HttpHeaders headers) {
+        for (var header : request.getAllHeaders()) {
+            headers.add(header.getName(), header.getValue());
+        }
+        var entity = getEntity(request);
+        if (entity != null && entity.getContentType() != null && !request.containsHeader(CONTENT_TYPE)) {
+            headers.set(CONTENT_TYPE, entity.getContentType().getValue());
+        }
+        if (entity != null && entity.getContentLength() >= 0) {
+            headers.set(CONTENT_LENGTH, entity.getContentLength());
+        }
+    }
+
+    /**
+     * The entity is written as the Apache client would write it, in buffers of BODY_CHUNK_SIZE that are sent as they fill
+     * up, so a large body is not copied into one growing buffer.
+     */
+    private static NettyOutbound sendBody(HttpRequestBase request, NettyOutbound outbound) {
+        var entity = getEntity(request);
+        if (entity == null) {
+            return outbound;
+        }
+        return outbound.send(Flux.<ByteBuf>create(sink -> {
+            var out = new ChunkedOutputStream(outbound.alloc(), sink);
+            try {
+                entity.writeTo(out);
+                out.close();
+            } catch (IOException | RuntimeException e) {
+                out.discard();
+                sink.error(e);
+                return;
+            }
+            sink.complete();
+        }).doOnDiscard(ByteBuf.class, ByteBuf::release));
+    }
+
+    private static HttpEntity getEntity(HttpRequestBase request) {
+        return request instanceof HttpEntityEnclosingRequest ? ((HttpEntityEnclosingRequest) request).getEntity() : null;
+    }
+
+    private static <T> Response<T> handleResponse(HttpClientResponse response, ByteBufFlux body,
+                                                  ResponseHandler<? extends Response<T>> responseHandler,
+                                                  Map<String, String> mdc) throws IOException {
+        return MdcContext.callChecked(mdc, () -> toResponse(response, body, responseHandler));
+    }
+
+    private static <T> Response<T> toResponse(HttpClientResponse response, ByteBufFlux body,
+                                              ResponseHandler<? extends Response<T>> responseHandler) throws IOException {
+        try (var chunks = body.asByteArray().toStream(BODY_CHUNKS_PREFETCH)) {
+            var httpResponse = new BasicHttpResponse(HttpVersion.HTTP_1_1, response.status().code(), response.status().reasonPhrase());
+            response.responseHeaders().forEach(header -> httpResponse.addHeader(header.getKey(), header.getValue()));
+
+            InputStream content = new SequenceInputStream(IteratorUtils.asEnumeration(
+                IteratorUtils.transformedIterator(chunks.iterator(), ByteArrayInputStream::new)));
+            var contentType = response.responseHeaders().get(CONTENT_TYPE);
+            httpResponse.setEntity(new InputStreamEntity(content, contentLength(response),
+                contentType == null ? null : ContentType.parse(contentType)));
+            return responseHandler.handleResponse(httpResponse);
+        }
+    }
+
+    private static long contentLength(HttpClientResponse response) {
+        var contentLength = response.responseHeaders().get(CONTENT_LENGTH);
+        return contentLength == null ? -1 : Long.parseLong(contentLength);
+    }
+
+    /**
+     * Checked exceptions (connection failures, premature closes and pool acquire timeouts) and netty channel exceptions
+     * (read timeouts) come from the request, the handler's runtime exceptions are passed on as they are.
+     */
+    private static boolean isRequestFailure(Throwable e) {
+        return !(e instanceof RuntimeException) && !(e instanceof Error) || e instanceof ChannelException;
+    }
+
     public static String getHeader(Header[] headers, String headerName) {
         return Arrays.stream(headers)
             .filter(header -> header.getName().equalsIgnoreCase(headerName))
@@ -50,6 +211,62 @@ public class SpineHttpClient {
             .orElseThrow(() -> new ScrBaseException("Response missing " + headerName + " header"));
     }
 
+    private static final class ChunkedOutputStream extends OutputStream {
+        private final ByteBufAllocator allocator;
+        private final FluxSink<ByteBuf> sink;
+        private ByteBuf chunk;
+
+        private ChunkedOutputStream(ByteBufAllocator allocator, FluxSink<ByteBuf> sink) {
+            this.allocator = allocator;
+            this.sink = sink;
+        }
+
+        @Override
+        public void write(int b) {
+            chunk().writeByte(b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            while (length > 0) {
+                var chunk = chunk();
+                var count = Math.min(length, chunk.writableBytes());
+                chunk.writeBytes(bytes, offset, count);
+                offset += count;
+                length -= count;
+            }
+        }
+
+        /**
+         * Sends the last, partly filled, chunk.
+         */
+        @Override
+        public void close() {
+            if (chunk != null) {
+                sink.next(chunk);
+                chunk = null;
+            }
+        }
+
+        private void discard() {
+            if (chunk != null) {
+                chunk.release();
+                chunk = null;
+            }
+        }
+
+        private ByteBuf chunk() {
+            if (chunk != null && !chunk.isWritable()) {
+                sink.next(chunk);
+                chunk = null;
+            }
+            if (chunk == null) {
+                chunk = allocator.buffer(BODY_CHUNK_SIZE, BODY_CHUNK_SIZE);
+            }
+            return chunk;
+        }
+    }
+
     @Builder
     @Getter
     @AllArgsConstructor
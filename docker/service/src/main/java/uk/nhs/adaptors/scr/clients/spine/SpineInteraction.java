@@ -0,0 +1,13 @@
+package uk.nhs.adaptors.scr.clients.spine;
+
+/**
+ * The requests sent to Spine, each with its own circuit breaker and bulkhead.
+ */
+public enum SpineInteraction {
+    GET_SCR_ID,
+    GET_SCR,
+    UPLOAD_SCR,
+    UPLOAD_SCR_POLLING,
+    SET_PERMISSION,
+    ALERT
+}
@@ -0,0 +1,157 @@
+package uk.nhs.adaptors.scr.clients.spine;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import uk.nhs.adaptors.scr.config.MdcContext;
+import uk.nhs.adaptors.scr.exceptions.NoSpineResultException;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Repeats a Spine polling request until it returns a result. Every poll is a task on a shared scheduler, delayed by the
+ * Retry-After value Spine sent with the previous response, so no thread is held while an upload waits for its result.
+ */
+@Component
+@Slf4j
+public class SpinePollingScheduler {
+
+    private static final String POLLS_METRIC = "spine.polling.polls";
+    private static final String WAIT_TIME_METRIC = "spine.polling.wait";
+    private static final String OUTSTANDING_METRIC = "spine.polling.outstanding";
+    private static final String OUTCOME_TAG = "outcome";
+
+    private final TaskScheduler spinePollingTaskScheduler;
+    private final TaskExecutor spinePollingExecutor;
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger outstandingPolls = new AtomicInteger();
+
+    @Autowired
+    public SpinePollingScheduler(@Qualifier("spinePollingTaskScheduler") TaskScheduler spinePollingTaskScheduler,
+                                 @Qualifier("spinePollingExecutor") TaskExecutor spinePollingExecutor,
+                                 MeterRegistry meterRegistry) {
+        this.spinePollingTaskScheduler = spinePollingTaskScheduler;
+        this.spinePollingExecutor = spinePollingExecutor;
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gauge(OUTSTANDING_METRIC, outstandingPolls);
+    }
+
+    /**
+     * @param initialWaitTime time in ms before the first poll
+     * @param repeatTimeout   time in ms after the first poll in which the request is repeated
+     * @param poll            sends the request, given the retry count. Throws {@link NoSpineResultException} when
+     *                        the result is not ready yet.
+     * @return the first result returned by poll. Completes exceptionally with the last {@link NoSpineResultException}
+     *     once the repeat timeout has passed, or with any other exception thrown by poll.
+     */
+    public <T> CompletableFuture<T> schedule(long initialWaitTime, long repeatTimeout, IntFunction<T> poll) {
+        var polling = new Polling<>(poll, repeatTimeout, MDC.getCopyOfContextMap());
+        outstandingPolls.incrementAndGet();
+        polling.scheduleNext(initialWaitTime);
+        return polling.result;
+    }
+
+    public int getOutstandingPolls() {
+        return outstandingPolls.get();
+    }
+
+    private final class Polling<T> implements Runnable {
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final IntFunction<T> poll;
+        private final long repeatTimeout;
+        private final Map<String, String> mdcContextMap;
+        private long firstPollTime;
+        private long waitTime;
+        private int retryCount;
+        private NoSpineResultException lastNoResult;
+
+        private Polling(IntFunction<T> poll, long repeatTimeout, Map<String, String> mdcContextMap) {
+            this.poll = poll;
+            this.repeatTimeout = repeatTimeout;
+            this.mdcContextMap = mdcContextMap;
+        }
+
+        private void scheduleNext(long delay) {
+            waitTime += delay;
+            try {
+                spinePollingTaskScheduler.schedule(this::send, Instant.now().plusMillis(delay));
+            } catch (TaskRejectedException e) {
+                complete(null, e);
+            }
+        }
+
+        private void send() {
+            try {
+                spinePollingExecutor.execute(this);
+            } catch (TaskRejectedException e) {
+                complete(null, e);
+            }
+        }
+
+        @Override
+        public void run() {
+            MdcContext.run(mdcContextMap, this::poll);
+        }
+
+        private void poll() {
+            if (retryCount == 0) {
+                firstPollTime = System.currentTimeMillis();
+            } else if (!canRetry()) {
+                complete(null, lastNoResult);
+                return;
+            }
+            try {
+                complete(poll.apply(retryCount++), null);
+            } catch (NoSpineResultException e) {
+                lastNoResult = e;
+                if (canRetry()) {
+                    scheduleNext(e.getRetryAfter());
+                } else {
+                    complete(null, e);
+                }
+            } catch (RuntimeException e) {
+                complete(null, e);
+            }
+        }
+
+        private boolean canRetry() {
+            return System.currentTimeMillis() - firstPollTime <= repeatTimeout;
+        }
+
+        private void complete(T value, Throwable error) {
+            outstandingPolls.decrementAndGet();
+            var outcome = error == null ? "result" : error instanceof NoSpineResultException ? "timeout" : "error";
+            DistributionSummary.builder(POLLS_METRIC)
+                .description("Spine polling requests sent per upload")
+                .tag(OUTCOME_TAG, outcome)
+                .register(meterRegistry)
+                .record(retryCount);
+            Timer.builder(WAIT_TIME_METRIC)
+                .description("Time an upload spent waiting between Spine polling requests")
+                .tag(OUTCOME_TAG, outcome)
+                .register(meterRegistry)
+                .record(waitTime, MILLISECONDS);
+            LOGGER.debug("Spine polling finished. Outcome={} Polls={} WaitTime={}ms", outcome, retryCount, waitTime);
+
+            if (error == null) {
+                result.complete(value);
+            } else {
+                result.completeExceptionally(error);
+            }
+        }
+    }
+}
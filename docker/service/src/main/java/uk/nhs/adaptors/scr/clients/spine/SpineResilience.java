@@ -0,0 +1,179 @@
+package uk.nhs.adaptors.scr.clients.spine;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import uk.nhs.adaptors.scr.clients.spine.SpineHttpClient.Response;
+import uk.nhs.adaptors.scr.config.SpineResilienceConfig;
+import uk.nhs.adaptors.scr.exceptions.ServiceUnavailableException;
+import uk.nhs.adaptors.scr.exceptions.UnexpectedSpineResponseException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.springframework.http.HttpStatus.BAD_GATEWAY;
+import static org.springframework.http.HttpStatus.GATEWAY_TIMEOUT;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+
+/**
+ * Guards each {@link SpineInteraction} with a circuit breaker and a bulkhead, so a slow or failing Spine fails requests
+ * fast with a 503 instead of holding every request thread until the connection or socket timeout.
+ * <p>
+ * The breaker counts connection failures, 502, 503 and 504 responses and calls slower than the slow call threshold.
+ * Other responses, errors included, show Spine is answering and count as successes. The bulkhead caps the concurrent
+ * requests of an interaction and rejects the rest without waiting.
+ */
+@Component
+@Slf4j
+public class SpineResilience {
+
+    private static final Duration BULKHEAD_RETRY_AFTER = Duration.ofSeconds(1);
+    private static final Set<Integer> UNAVAILABLE_STATUSES = Set.of(
+        BAD_GATEWAY.value(), SERVICE_UNAVAILABLE.value(), GATEWAY_TIMEOUT.value());
+
+    private final Map<SpineInteraction, CircuitBreaker> circuitBreakers = new EnumMap<>(SpineInteraction.class);
+    private final Map<SpineInteraction, Bulkhead> bulkheads = new EnumMap<>(SpineInteraction.class);
+    private final Duration openStateDuration;
+
+    @Autowired
+    public SpineResilience(SpineResilienceConfig config, MeterRegistry meterRegistry) {
+        openStateDuration = Duration.ofMillis(config.getOpenStateDuration());
+        var circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+            .failureRateThreshold(config.getFailureRateThreshold())
+            .slowCallRateThreshold(config.getSlowCallRateThreshold())
+            .slowCallDurationThreshold(Duration.ofMillis(config.getSlowCallDurationThreshold()))
+            .slidingWindowSize(config.getSlidingWindowSize())
+            .minimumNumberOfCalls(config.getMinimumNumberOfCalls())
+            .waitDurationInOpenState(openStateDuration)
+            .permittedNumberOfCallsInHalfOpenState(config.getHalfOpenStateCalls())
+            .automaticTransitionFromOpenToHalfOpenEnabled(true)
+            .build());
+        var bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+            .maxConcurrentCalls(config.getMaxConcurrentCalls())
+            .maxWaitDuration(Duration.ZERO)
+            .build());
+
+        for (var interaction : SpineInteraction.values()) {
+            var circuitBreaker = circuitBreakerRegistry.circuitBreaker(interaction.name());
+            circuitBreaker.getEventPublisher().onStateTransition(event ->
+                LOGGER.warn("Spine {} circuit breaker: {}", interaction, event.getStateTransition()));
+            circuitBreakers.put(interaction, circuitBreaker);
+            bulkheads.put(interaction, bulkheadRegistry.bulkhead(interaction.name()));
+        }
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+    }
+
+    /**
+     * @throws ServiceUnavailableException without calling Spine when the interaction's circuit breaker is open or
+     *                                     its bulkhead is full
+     */
+    public <T> Response<T> call(SpineInteraction interaction, Supplier<Response<T>> request) {
+        var bulkhead = acquireBulkhead(interaction);
+        try {
+            var circuitBreaker = acquireCircuitBreaker(interaction);
+            var start = System.nanoTime();
+            Response<T> response;
+            try {
+                response = request.get();
+            } catch (RuntimeException e) {
+                onError(circuitBreaker, start, e);
+                throw e;
+            }
+            onResponse(circuitBreaker, interaction, start, response);
+            return response;
+        } finally {
+            bulkhead.onComplete();
+        }
+    }
+
+    /**
+     * Non-blocking variant, the permissions are taken on subscription and held until the request completes or is cancelled.
+     * Rejected requests fail with a {@link ServiceUnavailableException}.
+     */
+    public <T> Mono<Response<T>> call(SpineInteraction interaction, Mono<Response<T>> request) {
+        return Mono.defer(() -> {
+            var bulkhead = acquireBulkhead(interaction);
+            CircuitBreaker circuitBreaker;
+            try {
+                circuitBreaker = acquireCircuitBreaker(interaction);
+            } catch (ServiceUnavailableException e) {
+                bulkhead.onComplete();
+                throw e;
+            }
+            var start = System.nanoTime();
+            return request
+                .doOnSuccess(response -> onResponse(circuitBreaker, interaction, start, response))
+                .doOnError(e -> onError(circuitBreaker, start, e))
+                .doOnCancel(circuitBreaker::releasePermission)
+                .doFinally(signal -> bulkhead.onComplete());
+        });
+    }
+
+    public Map<SpineInteraction, CircuitBreaker> getCircuitBreakers() {
+        return circuitBreakers;
+    }
+
+    private Bulkhead acquireBulkhead(SpineInteraction interaction) {
+        var bulkhead = bulkheads.get(interaction);
+        if (!bulkhead.tryAcquirePermission()) {
+            LOGGER.warn("Spine {} bulkhead full, rejecting request", interaction);
+            throw new ServiceUnavailableException("Too many concurrent Spine " + interaction + " requests", BULKHEAD_RETRY_AFTER);
+        }
+        return bulkhead;
+    }
+
+    private CircuitBreaker acquireCircuitBreaker(SpineInteraction interaction) {
+        var circuitBreaker = circuitBreakers.get(interaction);
+        if (!circuitBreaker.tryAcquirePermission()) {
+            throw new ServiceUnavailableException("Spine " + interaction + " requests are failing, not sending more for now",
+                openStateDuration);
+        }
+        return circuitBreaker;
+    }
+
+    private static void onError(CircuitBreaker circuitBreaker, long start, Throwable e) {
+        if (isConnectionFailure(e)) {
+            circuitBreaker.onError(System.nanoTime() - start, NANOSECONDS, e);
+        } else {
+            circuitBreaker.onSuccess(System.nanoTime() - start, NANOSECONDS);
+        }
+    }
+
+    private static void onResponse(CircuitBreaker circuitBreaker, SpineInteraction interaction, long start, Response<?> response) {
+        if (response != null && UNAVAILABLE_STATUSES.contains(response.getStatusCode())) {
+            circuitBreaker.onError(System.nanoTime() - start, NANOSECONDS,
+                new UnexpectedSpineResponseException("Spine " + interaction + " unavailable: " + response.getStatusCode()));
+        } else {
+            circuitBreaker.onSuccess(System.nanoTime() - start, NANOSECONDS);
+        }
+    }
+
+    /**
+     * Connection, pool and socket timeouts of the Apache client are IOExceptions, the reactive client's are netty
+     * channel or timeout exceptions.
+     */
+    private static boolean isConnectionFailure(Throwable e) {
+        return ExceptionUtils.indexOfType(e, IOException.class) >= 0
+            || ExceptionUtils.indexOfType(e, ChannelException.class) >= 0
+            || ExceptionUtils.indexOfType(e, TimeoutException.class) >= 0;
+    }
+}
@@ -0,0 +1,72 @@
+package uk.nhs.adaptors.scr.clients.spine;
+
+import com.github.mustachejava.Mustache;
+import com.google.common.base.Utf8;
+import org.apache.http.entity.AbstractHttpEntity;
+import uk.nhs.adaptors.scr.utils.TemplateUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Request body rendered from a template into the reused buffer of {@link TemplateUtils#fillTemplate}, so a rendering
+ * error is thrown when the entity is created rather than while it is sent. It is sent with a Content-Length, encoded
+ * to UTF-8 block by block as it is written instead of copied into a byte array first.
+ */
+public class TemplateHttpEntity extends AbstractHttpEntity {
+
+    private static final int BUFFER_SIZE = 2 * 1024;
+
+    private final String body;
+    private final long contentLength;
+
+    public TemplateHttpEntity(Mustache template, Object content) {
+        body = TemplateUtils.fillTemplate(template, content);
+        contentLength = Utf8.encodedLength(body);
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public long getContentLength() {
+        return contentLength;
+    }
+
+    @Override
+    public InputStream getContent() {
+        return new ByteArrayInputStream(body.getBytes(UTF_8));
+    }
+
+    /**
+     * Writer.write(String) would copy the whole body into a char array first, it is copied a block at a time instead.
+     */
+    @Override
+    public void writeTo(OutputStream outStream) throws IOException {
+        var writer = new OutputStreamWriter(outStream, UTF_8);
+        var chars = new char[BUFFER_SIZE];
+        for (int start = 0; start < body.length(); start += chars.length) {
+            var end = Math.min(body.length(), start + chars.length);
+            body.getChars(start, end, chars, 0);
+            writer.write(chars, 0, end - start);
+        }
+        writer.flush();
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return body;
+    }
+}
@@ -4,32 +4,71 @@ import ca.uhn.fhir.context.FhirContext;
 import ca.uhn.fhir.parser.IParser;
 import ca.uhn.fhir.parser.StrictErrorHandler;
 import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import uk.nhs.adaptors.scr.exceptions.FhirValidationException;
 import uk.nhs.adaptors.scr.logging.LogExecutionTime;
+import uk.nhs.adaptors.scr.utils.Pool;
 
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * HAPI parsers are not thread-safe and setting an option on a shared one affects every request using it, so there is a
+ * {@link Pool} of parsers per mode (strict parse, compact encode, pretty encode), each configured once. All of them share
+ * one FhirContext, which is the expensive part to create.
+ */
 @Component
 public class FhirParser {
 
-    private final IParser jsonParser;
+    private final Pool<IParser> strictParsers;
+    private final Pool<IParser> compactEncoders;
+    private final Pool<IParser> prettyEncoders;
 
+    /**
+     * Creates its own FhirContext, for use outside the Spring context (tests, benchmarks).
+     */
     public FhirParser() {
-        FhirContext ctx = FhirContext.forR4();
-        ctx.newJsonParser();
-        ctx.setParserErrorHandler(new StrictErrorHandler());
-        jsonParser = ctx.newJsonParser();
+        this(createFhirContext());
+    }
+
+    @Autowired
+    public FhirParser(FhirContext fhirContext) {
+        strictParsers = new Pool<>(() -> fhirContext.newJsonParser()
+            .setParserErrorHandler(new StrictErrorHandler()));
+        compactEncoders = new Pool<>(() -> fhirContext.newJsonParser()
+            .setPrettyPrint(false));
+        prettyEncoders = new Pool<>(() -> fhirContext.newJsonParser()
+            .setPrettyPrint(true));
+    }
+
+    /**
+     * Deferred model scanning is deliberately not enabled, in HAPI 5.4 it fails when two threads first use a type at once.
+     */
+    public static FhirContext createFhirContext() {
+        return FhirContext.forR4();
     }
 
     @LogExecutionTime
     public <T extends IBaseResource> T parseResource(String body, Class<T> klass) {
         try {
-            return jsonParser.parseResource(klass, body);
+            return strictParsers.apply(parser -> parser.parseResource(klass, body));
         } catch (Exception ex) {
             throw new FhirValidationException(ex.getMessage());
         }
     }
 
     public String encodeToJson(IBaseResource resource) {
-        return jsonParser.setPrettyPrint(true).encodeResourceToString(resource);
+        return prettyEncoders.apply(encoder -> encoder.encodeResourceToString(resource));
+    }
+
+    /**
+     * Writes the resource straight to the writer instead of building the whole JSON as a String first.
+     */
+    public void encodeToJson(IBaseResource resource, Writer writer, boolean prettyPrint) throws IOException {
+        (prettyPrint ? prettyEncoders : compactEncoders).apply(encoder -> {
+            encoder.encodeResourceToWriter(resource, writer);
+            return null;
+        });
     }
 }
@@ -0,0 +1,87 @@
+package uk.nhs.adaptors.scr.components;
+
+import com.google.common.io.CountingOutputStream;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static uk.nhs.adaptors.scr.controllers.FhirMediaTypes.APPLICATION_FHIR_JSON;
+
+/**
+ * Writes FHIR resources returned by controllers straight to the response body. Output is compact unless the request has
+ * _pretty=true. Response sizes are published as fhir.response.size.
+ */
+@Component
+public class FhirResourceHttpMessageConverter extends AbstractHttpMessageConverter<IBaseResource> {
+
+    private static final String PRETTY_PARAM = "_pretty";
+    private static final String RESOURCE_TYPE_TAG = "resourceType";
+
+    private final FhirParser fhirParser;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public FhirResourceHttpMessageConverter(FhirParser fhirParser, MeterRegistry meterRegistry) {
+        super(UTF_8, APPLICATION_FHIR_JSON, APPLICATION_JSON);
+        this.fhirParser = fhirParser;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return IBaseResource.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected IBaseResource readInternal(Class<? extends IBaseResource> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("FHIR request bodies are read as String", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(IBaseResource resource, HttpOutputMessage outputMessage) throws IOException {
+        var resourceType = resource.fhirType();
+        var body = new CountingOutputStream(outputMessage.getBody());
+        var writer = new OutputStreamWriter(body, UTF_8);
+
+        var sample = Timer.start(meterRegistry);
+        fhirParser.encodeToJson(resource, writer, isPrettyPrintRequested());
+        writer.flush();
+        sample.stop(Timer.builder("fhir.response.encoding")
+            .description("Time spent encoding and writing FHIR responses")
+            .tag(RESOURCE_TYPE_TAG, resourceType)
+            .register(meterRegistry));
+
+        DistributionSummary.builder("fhir.response.size")
+            .description("Size of FHIR response bodies")
+            .baseUnit("bytes")
+            .tag(RESOURCE_TYPE_TAG, resourceType)
+            .register(meterRegistry)
+            .record(body.getCount());
+    }
+
+    private static boolean isPrettyPrintRequested() {
+        var requestAttributes = RequestContextHolder.getRequestAttributes();
+        return requestAttributes instanceof ServletRequestAttributes
+            && Boolean.parseBoolean(((ServletRequestAttributes) requestAttributes).getRequest().getParameter(PRETTY_PARAM));
+    }
+}
@@ -3,7 +3,6 @@ package uk.nhs.adaptors.scr.components;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.hl7.fhir.r4.model.OperationOutcome;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
@@ -21,29 +20,31 @@ import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.servlet.NoHandlerFoundException;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
-import uk.nhs.adaptors.scr.exceptions.OperationOutcomeError;
+import uk.nhs.adaptors.scr.exceptions.ServiceUnavailableException;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.validation.ConstraintViolationException;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
 import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static java.util.stream.Collectors.joining;
-import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 import static org.hl7.fhir.r4.model.OperationOutcome.IssueSeverity.ERROR;
-import static org.hl7.fhir.r4.model.OperationOutcome.IssueType.EXCEPTION;
 import static org.hl7.fhir.r4.model.OperationOutcome.IssueType.NOTFOUND;
 import static org.hl7.fhir.r4.model.OperationOutcome.IssueType.NOTSUPPORTED;
 import static org.hl7.fhir.r4.model.OperationOutcome.IssueType.VALUE;
 import static org.springframework.http.HttpHeaders.ALLOW;
 import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.HttpHeaders.RETRY_AFTER;
 import static org.springframework.http.HttpMethod.GET;
 import static org.springframework.http.HttpMethod.POST;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
-import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
 import static uk.nhs.adaptors.scr.controllers.FhirMediaTypes.APPLICATION_FHIR_JSON_VALUE;
 import static uk.nhs.adaptors.scr.utils.OperationOutcomeUtils.createOperationOutcome;
+import static uk.nhs.adaptors.scr.utils.OperationOutcomeUtils.getStatusCode;
+import static uk.nhs.adaptors.scr.utils.OperationOutcomeUtils.removeMethodNamePrefix;
 
 @ControllerAdvice
 @RestController
@@ -51,16 +52,15 @@ import static uk.nhs.adaptors.scr.utils.OperationOutcomeUtils.createOperationOut
 public class OperationOutcomeExceptionHandler extends ResponseEntityExceptionHandler {
 
     private static final Map<String, List<HttpMethod>> ALLOWED_METHODS = Map.of(
+        "/", List.of(POST),
         "/Bundle", List.of(GET, POST),
+        "/$bulkUpload", List.of(POST),
         "/DocumentReference", List.of(GET),
         "/$setPermission", List.of(POST),
         "/healthcheck", List.of(GET),
         "/AuditEvent", List.of(POST)
     );
 
-    @Autowired
-    private FhirParser fhirParser;
-
     @Override
     protected ResponseEntity<Object> handleNoHandlerFoundException(
         NoHandlerFoundException ex, HttpHeaders requestHeaders, HttpStatus status, WebRequest request) {
@@ -123,27 +123,15 @@ public class OperationOutcomeExceptionHandler extends ResponseEntityExceptionHan
         return errorResponse(new HttpHeaders(), BAD_REQUEST, operationOutcome);
     }
 
-    private String removeMethodNamePrefix(String message) {
-        if (isNotEmpty(message) && message.contains(":")) {
-            return message.substring(message.indexOf(":") + 1).trim();
-        }
-        return message;
-    }
-
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleAllExceptions(Exception ex) {
         LOGGER.error("Error occurred: {}", ex.getMessage());
-        OperationOutcome operationOutcome;
-        HttpStatus httpStatus;
-        if (ex instanceof OperationOutcomeError) {
-            OperationOutcomeError error = (OperationOutcomeError) ex;
-            operationOutcome = error.getOperationOutcome();
-            httpStatus = error.getStatusCode();
-        } else {
-            operationOutcome = createOperationOutcome(EXCEPTION, ERROR, ex.getMessage());
-            httpStatus = INTERNAL_SERVER_ERROR;
+        var headers = new HttpHeaders();
+        if (ex instanceof ServiceUnavailableException) {
+            ((ServiceUnavailableException) ex).getRetryAfter()
+                .ifPresent(retryAfter -> headers.set(RETRY_AFTER, String.valueOf(retryAfterSeconds(retryAfter))));
         }
-        return errorResponse(new HttpHeaders(), httpStatus, operationOutcome);
+        return errorResponse(headers, getStatusCode(ex), createOperationOutcome(ex));
     }
 
     @Override
@@ -152,10 +140,13 @@ public class OperationOutcomeExceptionHandler extends ResponseEntityExceptionHan
         return handleAllExceptions(ex);
     }
 
+    private static long retryAfterSeconds(Duration retryAfter) {
+        return Math.max(1, (retryAfter.toMillis() + SECONDS.toMillis(1) - 1) / SECONDS.toMillis(1));
+    }
+
     private ResponseEntity<Object> errorResponse(HttpHeaders headers, HttpStatus status,
                                                  OperationOutcome operationOutcome) {
         headers.put(CONTENT_TYPE, singletonList(APPLICATION_FHIR_JSON_VALUE));
-        String content = fhirParser.encodeToJson(operationOutcome);
-        return new ResponseEntity<>(content, headers, status);
+        return new ResponseEntity<>(operationOutcome, headers, status);
     }
 }
@@ -1,5 +1,6 @@
 package uk.nhs.adaptors.scr.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.http.HeaderElement;
@@ -16,7 +17,6 @@ import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClients;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.message.BasicHeaderElementIterator;
-import org.apache.http.ssl.SSLContexts;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -25,6 +25,9 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
+import javax.net.ssl.SSLContext;
+import java.security.NoSuchAlgorithmException;
+
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.apache.http.protocol.HTTP.CONN_KEEP_ALIVE;
 
@@ -37,23 +40,44 @@ public class ApacheHttpClientConfig {
     private static final int CLOSE_IDLE_CONNECTIONS_INTERVAL = 20000;
     private static final int TASK_SCHEDULER_POOL_SIZE = 5;
 
+    private static final String POOL_NAME = "spine";
+    private static final String DEFAULT_SSL_CONTEXT = "Default";
+
     private final SpineConfiguration spineConfiguration;
     private final SpineConnectionPoolConfig connectionPoolConfig;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * A new instance of the default context, with the key and trust material of the javax.net.ssl.* properties but a
+     * session cache of its own, so its size and timeout don't apply to SDS, the Identity Service or other TLS clients.
+     * Shared by both Spine clients, so a TLS session set up by either can be resumed by the other and by later
+     * connections, saving a full handshake.
+     */
+    @Bean
+    public SSLContext spineSslContext() throws NoSuchAlgorithmException {
+        var sslContext = SSLContext.getInstance(DEFAULT_SSL_CONTEXT);
+        var sessionContext = sslContext.getClientSessionContext();
+        sessionContext.setSessionCacheSize(connectionPoolConfig.getTlsSessionCacheSize());
+        sessionContext.setSessionTimeout((int) MILLISECONDS.toSeconds(connectionPoolConfig.getTlsSessionTimeout()));
+        return sslContext;
+    }
 
     @Bean
-    public PoolingHttpClientConnectionManager poolingConnectionManager() {
-        Registry<ConnectionSocketFactory> socketFactoryRegistry = getConnectionSocketFactoryRegistry();
+    public PoolingHttpClientConnectionManager poolingConnectionManager(SSLContext spineSslContext) {
+        Registry<ConnectionSocketFactory> socketFactoryRegistry = getConnectionSocketFactoryRegistry(spineSslContext);
 
-        PoolingHttpClientConnectionManager poolingConnectionManager = new PoolingHttpClientConnectionManager(socketFactoryRegistry);
+        PoolingHttpClientConnectionManager poolingConnectionManager =
+            new MeteredConnectionManager(socketFactoryRegistry, meterRegistry, POOL_NAME);
         poolingConnectionManager.setMaxTotal(connectionPoolConfig.getMaxTotalConnections());
         poolingConnectionManager.setDefaultMaxPerRoute(connectionPoolConfig.getMaxTotalConnections());
         return poolingConnectionManager;
     }
 
-    private Registry<ConnectionSocketFactory> getConnectionSocketFactoryRegistry() {
+    private Registry<ConnectionSocketFactory> getConnectionSocketFactoryRegistry(SSLContext sslContext) {
         RegistryBuilder<ConnectionSocketFactory> builder = RegistryBuilder.create();
         if (spineConfiguration.isTlsEnabled()) {
-            builder.register("https", new SSLConnectionSocketFactory(SSLContexts.createSystemDefault()));
+            builder.register("https", new MeteredSslConnectionSocketFactory(sslContext,
+                SSLConnectionSocketFactory.getDefaultHostnameVerifier(), meterRegistry, POOL_NAME));
         } else {
             builder.register("http", PlainConnectionSocketFactory.getSocketFactory());
         }
@@ -79,8 +103,11 @@ public class ApacheHttpClientConfig {
         };
     }
 
+    /**
+     * Closes expired and idle connections, then opens new ones up to the minimum idle connections.
+     */
     @Bean
-    public Runnable idleConnectionMonitor(PoolingHttpClientConnectionManager pool) {
+    public Runnable idleConnectionMonitor(PoolingHttpClientConnectionManager pool, SpineConnectionWarmUp spineConnectionWarmUp) {
         return new Runnable() {
             @Override
             @Scheduled(fixedDelay = CLOSE_IDLE_CONNECTIONS_INTERVAL)
@@ -88,6 +115,7 @@ public class ApacheHttpClientConfig {
                 if (pool != null) {
                     pool.closeExpiredConnections();
                     pool.closeIdleConnections(connectionPoolConfig.getIdleConnectionWaitTime(), MILLISECONDS);
+                    spineConnectionWarmUp.keepMinIdleConnections();
                 }
             }
         };
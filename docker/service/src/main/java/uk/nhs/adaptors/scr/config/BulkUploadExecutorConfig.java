@@ -0,0 +1,30 @@
+package uk.nhs.adaptors.scr.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class BulkUploadExecutorConfig {
+
+    private final ScrConfiguration scrConfiguration;
+
+    /**
+     * Maps and sends the summaries of bulk uploads. Threads are only held until Spine accepts a summary, polling for its
+     * result is done by the Spine polling scheduler.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor bulkUploadExecutor() {
+        int threads = Math.max(scrConfiguration.getBulkUploadConcurrency(), 1);
+
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("bulkUpload");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setTaskDecorator(new MdcTaskDecorator());
+        return executor;
+    }
+}
@@ -0,0 +1,29 @@
+package uk.nhs.adaptors.scr.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adaptive limit of the requests each FHIR controller handles at the same time, see {@link ConcurrencyLimitInterceptor}.
+ */
+@Component
+@Configuration
+@ConfigurationProperties(prefix = "scr.concurrency-limit")
+@Getter
+@Setter
+public class ConcurrencyLimitConfiguration {
+    private boolean enabled;
+    private Algorithm algorithm = Algorithm.GRADIENT;
+    private int initialLimit;
+    private int minLimit;
+    private int maxLimit;
+    private int rejectionStatus;
+
+    public enum Algorithm {
+        GRADIENT,
+        VEGAS
+    }
+}
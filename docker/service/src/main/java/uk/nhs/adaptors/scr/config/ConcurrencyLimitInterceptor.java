@@ -0,0 +1,192 @@
+package uk.nhs.adaptors.scr.config;
+
+import com.netflix.concurrency.limits.Limit;
+import com.netflix.concurrency.limits.Limiter;
+import com.netflix.concurrency.limits.limit.Gradient2Limit;
+import com.netflix.concurrency.limits.limit.VegasLimit;
+import com.netflix.concurrency.limits.limiter.SimpleLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import uk.nhs.adaptors.scr.exceptions.ConcurrencyLimitExceededException;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static org.springframework.http.HttpStatus.GATEWAY_TIMEOUT;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+
+/**
+ * Limits the requests each controller handles at the same time. The limit adapts to the latency of the requests, it
+ * drops when latency rises above the latency seen at low load and grows back as it falls, so excess requests are rejected
+ * at once with an OperationOutcome instead of queueing until clients time out.
+ * <p>
+ * A request holds its place until its response is complete, for DeferredResult handlers that is when the result is set.
+ * Gateway timeouts count as drops, bringing the limit down faster. 503 responses, such as those of an open Spine circuit
+ * breaker, are left out of the latency samples.
+ * <p>
+ * A handler can give up its place earlier with {@link #releaser}. An upload does once Spine has accepted it, so the time
+ * spent polling for Spine's processing result does not pull the limit down. Bulk uploads and batches hold one place for
+ * the whole request.
+ */
+@Slf4j
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String LEASE_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".lease";
+    private static final String LIMIT_METRIC = "http.server.concurrency.limit";
+    private static final String IN_FLIGHT_METRIC = "http.server.concurrency.inflight";
+    private static final String REJECTED_METRIC = "http.server.concurrency.rejected";
+    private static final String CONTROLLER_TAG = "controller";
+
+    private final Map<Class<?>, SimpleLimiter<Object>> limiters = new HashMap<>();
+    private final Map<Class<?>, Counter> rejections = new HashMap<>();
+    private final HttpStatus rejectionStatus;
+
+    public ConcurrencyLimitInterceptor(ConcurrencyLimitConfiguration configuration, Collection<Class<?>> controllers,
+                                       MeterRegistry meterRegistry) {
+        rejectionStatus = HttpStatus.valueOf(configuration.getRejectionStatus());
+        for (var controller : controllers) {
+            var limiter = SimpleLimiter.newBuilder()
+                .named(controller.getSimpleName())
+                .limit(limit(configuration))
+                .build();
+            limiters.put(controller, limiter);
+
+            var controllerName = controller.getSimpleName();
+            Gauge.builder(LIMIT_METRIC, limiter, SimpleLimiter::getLimit)
+                .description("Requests the controller currently handles at the same time before rejecting more")
+                .tag(CONTROLLER_TAG, controllerName)
+                .register(meterRegistry);
+            Gauge.builder(IN_FLIGHT_METRIC, limiter, SimpleLimiter::getInflight)
+                .tag(CONTROLLER_TAG, controllerName)
+                .register(meterRegistry);
+            rejections.put(controller, Counter.builder(REJECTED_METRIC)
+                .description("Requests rejected over the controller's concurrency limit")
+                .tag(CONTROLLER_TAG, controllerName)
+                .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST || !(handler instanceof HandlerMethod)) {
+            return true;
+        }
+        var controller = ((HandlerMethod) handler).getBeanType();
+        var limiter = limiters.get(controller);
+        if (limiter == null) {
+            return true;
+        }
+
+        var listener = limiter.acquire(null);
+        if (listener.isEmpty()) {
+            rejections.get(controller).increment();
+            LOGGER.debug("{} concurrency limit of {} reached", controller.getSimpleName(), limiter.getLimit());
+            throw new ConcurrencyLimitExceededException("Too many requests in progress, try again later", rejectionStatus);
+        }
+        request.setAttribute(LEASE_ATTRIBUTE, new Lease(listener.get()));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        var lease = (Lease) request.getAttribute(LEASE_ATTRIBUTE);
+        if (lease != null) {
+            request.getAsyncContext().addListener(lease);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        var lease = (Lease) request.getAttribute(LEASE_ATTRIBUTE);
+        if (lease != null && !request.isAsyncStarted()) {
+            lease.release(response.getStatus());
+        }
+    }
+
+    /**
+     * Releases the request's place, recording a successful sample, when run. Does nothing for requests that are not
+     * limited, or whose place has been released already.
+     */
+    public static Runnable releaser(HttpServletRequest request) {
+        var lease = (Lease) request.getAttribute(LEASE_ATTRIBUTE);
+        return lease == null ? () -> { } : () -> lease.release(OK.value());
+    }
+
+    private static Limit limit(ConcurrencyLimitConfiguration configuration) {
+        switch (configuration.getAlgorithm()) {
+            case VEGAS:
+                return VegasLimit.newBuilder()
+                    .initialLimit(configuration.getInitialLimit())
+                    .maxConcurrency(configuration.getMaxLimit())
+                    .build();
+            case GRADIENT:
+            default:
+                return Gradient2Limit.newBuilder()
+                    .initialLimit(configuration.getInitialLimit())
+                    .minLimit(configuration.getMinLimit())
+                    .maxConcurrency(configuration.getMaxLimit())
+                    .build();
+        }
+    }
+
+    /**
+     * Releases the limiter's place once, on whichever of the final dispatch or the end of async processing comes first.
+     */
+    private static final class Lease implements AsyncListener {
+        private final Limiter.Listener listener;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Lease(Limiter.Listener listener) {
+            this.listener = listener;
+        }
+
+        void release(int status) {
+            if (status == GATEWAY_TIMEOUT.value()) {
+                finish(Limiter.Listener::onDropped);
+            } else if (status == SERVICE_UNAVAILABLE.value()) {
+                finish(Limiter.Listener::onIgnore);
+            } else {
+                finish(Limiter.Listener::onSuccess);
+            }
+        }
+
+        private void finish(Consumer<Limiter.Listener> outcome) {
+            if (released.compareAndSet(false, true)) {
+                outcome.accept(listener);
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release(((HttpServletResponse) event.getSuppliedResponse()).getStatus());
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            finish(Limiter.Listener::onDropped);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            finish(Limiter.Listener::onIgnore);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
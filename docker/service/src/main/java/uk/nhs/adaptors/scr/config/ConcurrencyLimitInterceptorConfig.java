@@ -0,0 +1,39 @@
+package uk.nhs.adaptors.scr.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import uk.nhs.adaptors.scr.controllers.fhir.AcsController;
+import uk.nhs.adaptors.scr.controllers.fhir.AlertController;
+import uk.nhs.adaptors.scr.controllers.fhir.BatchController;
+import uk.nhs.adaptors.scr.controllers.fhir.BulkUploadScrController;
+import uk.nhs.adaptors.scr.controllers.fhir.GetScrController;
+import uk.nhs.adaptors.scr.controllers.fhir.SendScrController;
+
+import java.util.List;
+
+@Configuration
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class ConcurrencyLimitInterceptorConfig implements WebMvcConfigurer {
+
+    private static final List<Class<?>> LIMITED_CONTROLLERS = List.of(
+        GetScrController.class,
+        SendScrController.class,
+        AcsController.class,
+        AlertController.class,
+        BatchController.class,
+        BulkUploadScrController.class);
+
+    private final ConcurrencyLimitConfiguration concurrencyLimitConfiguration;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (concurrencyLimitConfiguration.isEnabled()) {
+            registry.addInterceptor(new ConcurrencyLimitInterceptor(concurrencyLimitConfiguration, LIMITED_CONTROLLERS, meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package uk.nhs.adaptors.scr.config;
+
+import ca.uhn.fhir.context.FhirContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import uk.nhs.adaptors.scr.components.FhirParser;
+
+@Configuration
+public class FhirContextConfig {
+
+    /**
+     * The only FhirContext in the application, building one scans the whole FHIR model.
+     */
+    @Bean
+    public FhirContext fhirContext() {
+        return FhirParser.createFhirContext();
+    }
+}
@@ -0,0 +1,56 @@
+package uk.nhs.adaptors.scr.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.RequiredArgsConstructor;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+@Configuration
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class IdentityServiceClientConfig {
+
+    private static final long IDLE_CONNECTION_TIMEOUT = 30;
+
+    private final IdentityServiceConfiguration identityServiceConfiguration;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Pooled keep-alive connections to the Identity Service, closed together with the context.
+     */
+    @Bean
+    public HttpComponentsClientHttpRequestFactory identityServiceRequestFactory() {
+        var connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(identityServiceConfiguration.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(identityServiceConfiguration.getMaxConnections());
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "identityService").bindTo(meterRegistry);
+
+        var requestConfig = RequestConfig.custom()
+            .setConnectTimeout(identityServiceConfiguration.getConnectionTimeout())
+            .setConnectionRequestTimeout(identityServiceConfiguration.getConnectionTimeout())
+            .setSocketTimeout(identityServiceConfiguration.getSocketTimeout())
+            .build();
+
+        var httpClient = HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(requestConfig)
+            .evictExpiredConnections()
+            .evictIdleConnections(IDLE_CONNECTION_TIMEOUT, SECONDS)
+            .build();
+
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    @Bean
+    public RestTemplate identityServiceRestTemplate(HttpComponentsClientHttpRequestFactory identityServiceRequestFactory) {
+        return new RestTemplate(identityServiceRequestFactory);
+    }
+}
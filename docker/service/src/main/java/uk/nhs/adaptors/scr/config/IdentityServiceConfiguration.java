@@ -12,4 +12,10 @@ import org.springframework.stereotype.Component;
 public class IdentityServiceConfiguration {
     private String userInfoEndpoint;
     private String baseUrl;
+    private int maxConnections;
+    private int connectionTimeout;
+    private int socketTimeout;
+    private long userInfoCacheTtl;
+    private long userInfoCacheSize;
+    private long userInfoNegativeCacheTtl;
 }
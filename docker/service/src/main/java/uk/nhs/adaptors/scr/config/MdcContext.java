@@ -0,0 +1,50 @@
+package uk.nhs.adaptors.scr.config;
+
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Runs work on another thread with the MDC (CorrelationId etc.) captured from the thread that handed it over, restoring the
+ * thread's own MDC afterwards.
+ */
+public final class MdcContext {
+
+    private MdcContext() {
+    }
+
+    public static void run(Map<String, String> contextMap, Runnable action) {
+        call(contextMap, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public static <T> T call(Map<String, String> contextMap, Supplier<T> action) {
+        return callChecked(contextMap, action::get);
+    }
+
+    public static <T, E extends Exception> T callChecked(Map<String, String> contextMap, CheckedSupplier<T, E> action) throws E {
+        var previous = MDC.getCopyOfContextMap();
+        setContextMap(contextMap);
+        try {
+            return action.get();
+        } finally {
+            setContextMap(previous);
+        }
+    }
+
+    private static void setContextMap(Map<String, String> contextMap) {
+        if (contextMap == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(contextMap);
+        }
+    }
+
+    @FunctionalInterface
+    public interface CheckedSupplier<T, E extends Exception> {
+        T get() throws E;
+    }
+}
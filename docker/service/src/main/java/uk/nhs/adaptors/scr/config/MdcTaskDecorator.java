@@ -0,0 +1,16 @@
+package uk.nhs.adaptors.scr.config;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Runs tasks with the MDC (CorrelationId etc.) of the thread that submitted them.
+ */
+public class MdcTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        var mdcContextMap = MDC.getCopyOfContextMap();
+        return () -> MdcContext.run(mdcContextMap, runnable);
+    }
+}
@@ -0,0 +1,119 @@
+package uk.nhs.adaptors.scr.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.config.Registry;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Connection pool publishing, besides the pool totals, the leased, available, pending and max connections of each route
+ * and how long requests waited to lease a connection. A route's gauges and lease timers are registered when it is first
+ * used.
+ */
+public class MeteredConnectionManager extends PoolingHttpClientConnectionManager {
+
+    private static final String ROUTE_CONNECTIONS_METRIC = "httpcomponents.httpclient.pool.route.connections";
+    private static final String ROUTE_PENDING_METRIC = "httpcomponents.httpclient.pool.route.pending";
+    private static final String ROUTE_MAX_METRIC = "httpcomponents.httpclient.pool.route.max";
+    private static final String LEASE_METRIC = "httpcomponents.httpclient.pool.lease";
+    private static final String POOL_TAG = "httpclient";
+    private static final String ROUTE_TAG = "route";
+
+    private final MeterRegistry meterRegistry;
+    private final String poolName;
+    private final Map<HttpRoute, LeaseTimers> leaseTimers = new ConcurrentHashMap<>();
+
+    public MeteredConnectionManager(Registry<ConnectionSocketFactory> socketFactoryRegistry, MeterRegistry meterRegistry,
+                                    String poolName) {
+        super(socketFactoryRegistry);
+        this.meterRegistry = meterRegistry;
+        this.poolName = poolName;
+        new PoolingHttpClientConnectionManagerMetricsBinder(this, poolName).bindTo(meterRegistry);
+    }
+
+    @Override
+    public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+        var timers = leaseTimers.computeIfAbsent(route, this::bindRoute);
+        var connectionRequest = super.requestConnection(route, state);
+        return new ConnectionRequest() {
+            @Override
+            public HttpClientConnection get(long timeout, TimeUnit timeUnit)
+                throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                var start = System.nanoTime();
+                var timer = timers.error;
+                try {
+                    var connection = connectionRequest.get(timeout, timeUnit);
+                    timer = timers.success;
+                    return connection;
+                } catch (ConnectionPoolTimeoutException e) {
+                    timer = timers.timeout;
+                    throw e;
+                } finally {
+                    timer.record(System.nanoTime() - start, NANOSECONDS);
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return connectionRequest.cancel();
+            }
+        };
+    }
+
+    private LeaseTimers bindRoute(HttpRoute route) {
+        var tags = routeTags(route);
+        routeGauge(ROUTE_CONNECTIONS_METRIC, tags.and("state", "leased"), route, PoolStats::getLeased);
+        routeGauge(ROUTE_CONNECTIONS_METRIC, tags.and("state", "available"), route, PoolStats::getAvailable);
+        routeGauge(ROUTE_PENDING_METRIC, tags, route, PoolStats::getPending);
+        routeGauge(ROUTE_MAX_METRIC, tags, route, PoolStats::getMax);
+        return new LeaseTimers(leaseTimer(tags, "success"), leaseTimer(tags, "timeout"), leaseTimer(tags, "error"));
+    }
+
+    private Timer leaseTimer(Tags tags, String outcome) {
+        return Timer.builder(LEASE_METRIC)
+            .description("Time waited to lease a pooled connection")
+            .tags(tags)
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private void routeGauge(String name, Tags tags, HttpRoute route, ToIntFunction<PoolStats> stat) {
+        Gauge.builder(name, this, pool -> stat.applyAsInt(pool.getStats(route)))
+            .tags(tags)
+            .register(meterRegistry);
+    }
+
+    private Tags routeTags(HttpRoute route) {
+        return Tags.of(POOL_TAG, poolName, ROUTE_TAG, route.getTargetHost().toURI());
+    }
+
+    private static final class LeaseTimers {
+        private final Timer success;
+        private final Timer timeout;
+        private final Timer error;
+
+        private LeaseTimers(Timer success, Timer timeout, Timer error) {
+            this.success = success;
+            this.timeout = timeout;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package uk.nhs.adaptors.scr.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.protocol.HttpContext;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocket;
+import java.io.IOException;
+import java.net.Socket;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * TLS socket factory timing each handshake in a httpcomponents.httpclient.tls.handshake timer, tagged full, resumed
+ * (the session was taken from the client session cache) or failed. The timer count is the number of handshakes.
+ * <p>
+ * Only TLS 1.2 resumptions are told apart, they reuse the cached session. The JDK gives TLS 1.3 resumptions a new
+ * session object, they are counted as full.
+ */
+public class MeteredSslConnectionSocketFactory extends SSLConnectionSocketFactory {
+
+    private static final String HANDSHAKE_METRIC = "httpcomponents.httpclient.tls.handshake";
+
+    private final Timer fullHandshakes;
+    private final Timer resumedHandshakes;
+    private final Timer failedHandshakes;
+
+    public MeteredSslConnectionSocketFactory(SSLContext sslContext, HostnameVerifier hostnameVerifier, MeterRegistry meterRegistry,
+                                             String poolName) {
+        super(sslContext, hostnameVerifier);
+        fullHandshakes = timer(meterRegistry, poolName, "full");
+        resumedHandshakes = timer(meterRegistry, poolName, "resumed");
+        failedHandshakes = timer(meterRegistry, poolName, "failed");
+    }
+
+    /**
+     * The handshake, and the host name check after it, happen while the socket is layered.
+     */
+    @Override
+    public Socket createLayeredSocket(Socket socket, String target, int port, HttpContext context) throws IOException {
+        var startMillis = System.currentTimeMillis();
+        var start = System.nanoTime();
+        SSLSocket sslSocket;
+        try {
+            sslSocket = (SSLSocket) super.createLayeredSocket(socket, target, port, context);
+        } catch (IOException | RuntimeException e) {
+            failedHandshakes.record(System.nanoTime() - start, NANOSECONDS);
+            throw e;
+        }
+        var resumed = sslSocket.getSession().getCreationTime() < startMillis;
+        (resumed ? resumedHandshakes : fullHandshakes).record(System.nanoTime() - start, NANOSECONDS);
+        return sslSocket;
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String poolName, String handshake) {
+        return Timer.builder(HANDSHAKE_METRIC)
+            .description("Time taken by the TLS handshakes of new pooled connections")
+            .tag("httpclient", poolName)
+            .tag("handshake", handshake)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,38 @@
+package uk.nhs.adaptors.scr.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class MvcAsyncExecutorConfig implements WebMvcConfigurer {
+
+    private final ScrConfiguration scrConfiguration;
+
+    /**
+     * Runs Spring MVC async tasks and the blocking part of SCR uploads (parsing, mapping, the permission check and the
+     * Spine POST) off the request thread, with the request's MDC. A thread per task, as Spring MVC's default executor,
+     * so an upload never waits for a thread and its timeout covers all of it. With scr.virtualThreads the threads are
+     * virtual.
+     */
+    @Bean
+    public AsyncTaskExecutor mvcAsyncExecutor() {
+        if (scrConfiguration.isVirtualThreads()) {
+            return VirtualThreads.executor("mvcAsync-");
+        }
+        var executor = new SimpleAsyncTaskExecutor("mvcAsync-");
+        executor.setTaskDecorator(new MdcTaskDecorator());
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcAsyncExecutor());
+    }
+}
@@ -17,4 +17,21 @@ public class ScrConfiguration {
     private String baseUrl;
     private String serviceBasePath;
     private long sandboxDelay;
+    private MappingEngine mappingEngine = MappingEngine.DOM;
+    private int sectionMappingThreads;
+    private long sectionMappingTimeout;
+    private int mappingThreads;
+    private long eventListQueryCacheTtl;
+    private long eventListQueryCacheSize;
+    private int bulkUploadConcurrency;
+    private int bulkUploadMaxEntries;
+    private int batchConcurrency;
+    private int batchMaxEntries;
+    private double executionTimeLogSampleRate;
+    private boolean virtualThreads;
+
+    public enum MappingEngine {
+        DOM,
+        STAX
+    }
 }
@@ -1,16 +1,21 @@
 package uk.nhs.adaptors.scr.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
 import uk.nhs.adaptors.scr.clients.identity.IdentityServiceClient;
 import uk.nhs.adaptors.scr.clients.identity.IdentityServiceContract;
 import uk.nhs.adaptors.scr.clients.identity.SandboxIdentityServiceClient;
+import uk.nhs.adaptors.scr.clients.identity.UserInfoCache;
 import uk.nhs.adaptors.scr.clients.spine.SandboxSpineClient;
 import uk.nhs.adaptors.scr.clients.spine.SpineClient;
 import uk.nhs.adaptors.scr.clients.spine.SpineClientContract;
 import uk.nhs.adaptors.scr.clients.spine.SpineHttpClient;
+import uk.nhs.adaptors.scr.clients.spine.SpinePollingScheduler;
+import uk.nhs.adaptors.scr.clients.spine.SpineResilience;
 import uk.nhs.adaptors.scr.clients.spine.SpineStringResponseHandler;
 import uk.nhs.adaptors.scr.clients.spine.SpineXmlResponseHandler;
 import uk.nhs.adaptors.scr.utils.XmlUtils;
@@ -24,8 +29,13 @@ public class ScrSpringConfiguration {
     private final SpineXmlResponseHandler xmlResponseHandler;
     private final SpineStringResponseHandler stringResponseHandler;
     private final SpineHttpClient spineHttpClient;
+    private final SpinePollingScheduler spinePollingScheduler;
+    private final SpineResilience spineResilience;
     private final SpineConfiguration spineConfiguration;
     private final IdentityServiceConfiguration identityServiceConfiguration;
+    private final RestTemplate identityServiceRestTemplate;
+    private final UserInfoCache userInfoCache;
+    private final MeterRegistry meterRegistry;
     private final XmlUtils xmlUtils;
 
     @Bean
@@ -33,7 +43,8 @@ public class ScrSpringConfiguration {
         if (scrConfiguration.getSandboxMode()) {
             return new SandboxSpineClient(scrConfiguration, xmlUtils);
         } else {
-            return new SpineClient(spineConfiguration, spineHttpClient, stringResponseHandler, xmlResponseHandler);
+            return new SpineClient(spineConfiguration, spineHttpClient, stringResponseHandler, xmlResponseHandler,
+                spinePollingScheduler, spineResilience);
         }
     }
 
@@ -42,7 +53,8 @@ public class ScrSpringConfiguration {
         if (scrConfiguration.getSandboxMode()) {
             return new SandboxIdentityServiceClient();
         } else {
-            return new IdentityServiceClient(identityServiceConfiguration);
+            return new IdentityServiceClient(identityServiceConfiguration, identityServiceRestTemplate, userInfoCache,
+                meterRegistry);
         }
     }
 }
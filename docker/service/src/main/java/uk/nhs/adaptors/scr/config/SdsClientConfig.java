@@ -0,0 +1,42 @@
+package uk.nhs.adaptors.scr.config;
+
+import io.netty.channel.ChannelOption;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+@Configuration
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class SdsClientConfig {
+
+    private static final Duration MAX_IDLE_TIME = Duration.ofSeconds(30);
+
+    private final SdsConfiguration sdsConfiguration;
+
+    /**
+     * One WebClient (and connection pool) shared by all SDS requests instead of one per request.
+     */
+    @Bean
+    public WebClient sdsWebClient(WebClient.Builder webClientBuilder) {
+        var connectionProvider = ConnectionProvider.builder("sds")
+            .maxConnections(sdsConfiguration.getMaxConnections())
+            .pendingAcquireTimeout(Duration.ofMillis(sdsConfiguration.getConnectionTimeout()))
+            .maxIdleTime(MAX_IDLE_TIME)
+            .build();
+
+        var httpClient = HttpClient.create(connectionProvider)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, sdsConfiguration.getConnectionTimeout())
+            .responseTimeout(Duration.ofMillis(sdsConfiguration.getResponseTimeout()));
+
+        return webClientBuilder
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .build();
+    }
+}
@@ -13,5 +13,11 @@ import org.springframework.stereotype.Component;
 public class SdsConfiguration {
 
     private String baseUrl;
+    private int maxConnections;
+    private int connectionTimeout;
+    private long responseTimeout;
+    private long roleCodeCacheTtl;
+    private long roleCodeCacheSize;
+    private long roleCodeNegativeCacheTtl;
 
 }
@@ -0,0 +1,37 @@
+package uk.nhs.adaptors.scr.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class SectionMappingExecutorConfig {
+
+    private static final int QUEUE_CAPACITY_PER_THREAD = 32;
+
+    private final ScrConfiguration scrConfiguration;
+
+    /**
+     * CPU sized pool for mapping SCR sections. When the queue is full the request thread maps the section itself.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor sectionMappingExecutor() {
+        int threads = scrConfiguration.getSectionMappingThreads() > 0
+            ? scrConfiguration.getSectionMappingThreads()
+            : Runtime.getRuntime().availableProcessors();
+
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("sectionMapping");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads * QUEUE_CAPACITY_PER_THREAD);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setTaskDecorator(new MdcTaskDecorator());
+        return executor;
+    }
+}
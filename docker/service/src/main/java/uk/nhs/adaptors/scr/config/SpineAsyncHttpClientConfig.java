@@ -0,0 +1,88 @@
+package uk.nhs.adaptors.scr.config;
+
+import io.netty.channel.ChannelOption;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.ClientAuth;
+import io.netty.handler.ssl.IdentityCipherSuiteFilter;
+import io.netty.handler.ssl.JdkSslContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import javax.net.ssl.SSLContext;
+import java.time.Duration;
+
+import static io.netty.handler.ssl.ApplicationProtocolConfig.Protocol.ALPN;
+import static io.netty.handler.ssl.ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT;
+import static io.netty.handler.ssl.ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE;
+
+@Configuration
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class SpineAsyncHttpClientConfig {
+
+    private static final String POOL_NAME = "spine-async";
+    private static final int QUEUE_CAPACITY_PER_THREAD = 256;
+
+    private final SpineConfiguration spineConfiguration;
+    private final SpineConnectionPoolConfig connectionPoolConfig;
+    private final ScrConfiguration scrConfiguration;
+    private final SSLContext spineSslContext;
+
+    /**
+     * Non-blocking client behind SpineHttpClient.sendRequestAsync, with the timeouts and size of the Spine connection pool
+     * and a pool of its own. Over TLS it offers HTTP/2 and falls back to HTTP/1.1 when Spine does not pick it, requests to
+     * an HTTP/2 peer share connections instead of taking one each. Requests waiting for a connection are not capped
+     * here, the Spine bulkheads already limit them. Its metrics include the TLS handshake times
+     * (reactor.netty.http.client.tls.handshake.time), the uri tag is the pool name as polling URIs are unique.
+     */
+    @Bean
+    public HttpClient spineAsyncHttpClient() {
+        var connectionProvider = ConnectionProvider.builder(POOL_NAME)
+            .maxConnections(connectionPoolConfig.getMaxTotalConnections())
+            .pendingAcquireMaxCount(-1)
+            .pendingAcquireTimeout(Duration.ofMillis(connectionPoolConfig.getRequestTimeout()))
+            .maxIdleTime(Duration.ofMillis(connectionPoolConfig.getIdleConnectionWaitTime()))
+            .metrics(true)
+            .build();
+
+        var httpClient = HttpClient.create(connectionProvider)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectionPoolConfig.getConnectionTimeout())
+            .responseTimeout(Duration.ofMillis(connectionPoolConfig.getSocketTimeout()))
+            .metrics(true, uri -> POOL_NAME);
+        if (spineConfiguration.isTlsEnabled()) {
+            var http2 = connectionPoolConfig.isHttp2Enabled();
+            var sslContext = new JdkSslContext(spineSslContext, true, null, IdentityCipherSuiteFilter.INSTANCE,
+                http2 ? applicationProtocols() : null, ClientAuth.NONE, null, false);
+            httpClient = httpClient.secure(spec -> spec.sslContext(sslContext));
+            if (http2) {
+                httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+            }
+        }
+        return httpClient;
+    }
+
+    /**
+     * CPU sized scheduler parsing and mapping Spine responses off the connection threads. The queue takes the bursts of
+     * coalesced queries, whose callers all get the response at once. When it is full mappings are rejected instead of
+     * queueing without bound.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler scrMappingScheduler() {
+        int threads = scrConfiguration.getMappingThreads() > 0
+            ? scrConfiguration.getMappingThreads()
+            : Runtime.getRuntime().availableProcessors();
+        return Schedulers.newBoundedElastic(threads, threads * QUEUE_CAPACITY_PER_THREAD, "scrMapping");
+    }
+
+    private static ApplicationProtocolConfig applicationProtocols() {
+        return new ApplicationProtocolConfig(ALPN, NO_ADVERTISE, ACCEPT,
+            ApplicationProtocolNames.HTTP_2, ApplicationProtocolNames.HTTP_1_1);
+    }
+}
@@ -24,4 +24,5 @@ public class SpineConfiguration {
     private long scrResultRepeatTimeout;
     @NotNull
     private long scrResultTimeout;
+    private int pollingThreads;
 }
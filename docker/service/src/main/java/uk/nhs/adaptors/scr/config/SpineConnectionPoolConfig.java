@@ -18,4 +18,8 @@ public class SpineConnectionPoolConfig {
     private int requestTimeout;
     private int socketTimeout;
     private int idleConnectionWaitTime;
+    private boolean http2Enabled;
+    private int minIdleConnections;
+    private int tlsSessionCacheSize;
+    private long tlsSessionTimeout;
 }
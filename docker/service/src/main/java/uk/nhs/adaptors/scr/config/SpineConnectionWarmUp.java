@@ -0,0 +1,140 @@
+package uk.nhs.adaptors.scr.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpException;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.client.utils.URIUtils;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.DefaultRoutePlanner;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import reactor.netty.http.client.HttpClient;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Opens spine.connectionPool.minIdleConnections connections to Spine, TLS handshake included, before the application
+ * reports ready, so the first requests after a deploy do not pay for them. The idle connection monitor calls
+ * {@link #keepMinIdleConnections} after closing idle connections, so a quiet node keeps its warm connections.
+ * <p>
+ * Only the Apache client's pool, used by uploads, ACS and alerts, is filled. Reactor Netty has no way of opening pooled
+ * connections without sending a request, so the searches' async client only has its event loops, DNS resolver and TLS
+ * warmed up and connects on its first requests.
+ * <p>
+ * Failing to connect is logged and does not stop the application from starting, Spine may just be down for now.
+ */
+@Component
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@Slf4j
+public class SpineConnectionWarmUp implements ApplicationRunner {
+
+    private final SpineConfiguration spineConfiguration;
+    private final SpineConnectionPoolConfig connectionPoolConfig;
+    private final PoolingHttpClientConnectionManager poolingConnectionManager;
+    private final HttpClient spineAsyncHttpClient;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // event loops, DNS resolver and TLS of the async client, its connections are opened by the first searches
+        spineAsyncHttpClient.warmup().block();
+
+        var start = System.currentTimeMillis();
+        var opened = keepMinIdleConnections();
+        if (opened > 0) {
+            LOGGER.info("Opened {} Spine connections in {}ms", opened, System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * Opens connections to each Spine route until it has the minimum available, as far as the pool's limits allow.
+     *
+     * @return the number of connections opened
+     */
+    public int keepMinIdleConnections() {
+        var minIdleConnections = connectionPoolConfig.getMinIdleConnections();
+        if (minIdleConnections <= 0) {
+            return 0;
+        }
+        int opened = 0;
+        for (var route : routes()) {
+            var stats = poolingConnectionManager.getStats(route);
+            var free = stats.getMax() - stats.getLeased() - stats.getAvailable();
+            var missing = Math.min(minIdleConnections - stats.getAvailable(), free);
+            if (missing > 0) {
+                opened += openConnections(route, missing);
+            }
+        }
+        return opened;
+    }
+
+    /**
+     * Every connection is leased until all are open, leasing them one at a time would reuse the first. A connection whose
+     * connect failed is bound to its socket and still looks open, so it is shut down before going back to the pool.
+     */
+    private int openConnections(HttpRoute route, int count) {
+        var context = HttpClientContext.create();
+        List<HttpClientConnection> connected = new ArrayList<>(count);
+        HttpClientConnection failed = null;
+        try {
+            for (int i = 0; i < count; i++) {
+                var connection = poolingConnectionManager.requestConnection(route, null)
+                    .get(connectionPoolConfig.getRequestTimeout(), MILLISECONDS);
+                failed = connection;
+                if (!connection.isOpen()) {
+                    poolingConnectionManager.connect(connection, route, connectionPoolConfig.getConnectionTimeout(), context);
+                    poolingConnectionManager.routeComplete(connection, route, context);
+                    // binds the socket streams, the pool's stale check reads from them before any request does
+                    connection.flush();
+                }
+                connected.add(connection);
+                failed = null;
+            }
+        } catch (IOException | ExecutionException e) {
+            LOGGER.warn("Unable to open Spine connection to {}: {}", route.getTargetHost(), e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (failed != null) {
+            shutdown(failed);
+            poolingConnectionManager.releaseConnection(failed, null, 0, MILLISECONDS);
+        }
+        var keepAliveTime = connectionPoolConfig.getDefaultKeepAliveTime();
+        connected.forEach(connection -> poolingConnectionManager.releaseConnection(connection, null, keepAliveTime, MILLISECONDS));
+        return connected.size();
+    }
+
+    private static void shutdown(HttpClientConnection connection) {
+        try {
+            connection.shutdown();
+        } catch (IOException e) {
+            LOGGER.debug("Unable to shut down Spine connection", e);
+        }
+    }
+
+    /**
+     * All Spine endpoints are on the one host, the route is planned as the Apache client plans it for requests.
+     */
+    private List<HttpRoute> routes() {
+        var uri = URI.create(spineConfiguration.getUrl());
+        try {
+            return List.of(new DefaultRoutePlanner(null)
+                .determineRoute(URIUtils.extractHost(uri), new HttpGet(uri), HttpClientContext.create()));
+        } catch (HttpException e) {
+            LOGGER.warn("Unable to plan the route to Spine {}: {}", uri, e.getMessage());
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package uk.nhs.adaptors.scr.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class SpinePollingSchedulerConfig {
+
+    private static final int DEFAULT_POLLING_THREADS = 4;
+
+    private final SpineConfiguration spineConfiguration;
+    private final ScrConfiguration scrConfiguration;
+
+    /**
+     * Sends the Spine polling requests. Threads are only busy while a request is in flight, waiting for the next poll is
+     * a scheduled task.
+     */
+    @Bean
+    public ThreadPoolTaskScheduler spinePollingTaskScheduler() {
+        var scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadNamePrefix("spinePolling");
+        scheduler.setPoolSize(spineConfiguration.getPollingThreads() > 0
+            ? spineConfiguration.getPollingThreads()
+            : DEFAULT_POLLING_THREADS);
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    /**
+     * Sends the polls once they are due. The scheduler's own threads send them, unless scr.virtualThreads hands each
+     * poll to a virtual thread and leaves the scheduler threads only timing them.
+     */
+    @Bean
+    public TaskExecutor spinePollingExecutor() {
+        return scrConfiguration.isVirtualThreads() ? VirtualThreads.executor("spinePolling-") : new SyncTaskExecutor();
+    }
+}
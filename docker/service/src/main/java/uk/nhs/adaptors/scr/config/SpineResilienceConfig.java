@@ -0,0 +1,26 @@
+package uk.nhs.adaptors.scr.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.stereotype.Component;
+
+/**
+ * Thresholds of the circuit breaker and bulkhead each Spine interaction has. Times are in ms, rates in percent.
+ */
+@Component
+@Configuration
+@ConfigurationProperties(prefix = "spine.resilience")
+@Getter
+@Setter
+public class SpineResilienceConfig {
+    private int failureRateThreshold;
+    private int slowCallRateThreshold;
+    private long slowCallDurationThreshold;
+    private int slidingWindowSize;
+    private int minimumNumberOfCalls;
+    private long openStateDuration;
+    private int halfOpenStateCalls;
+    private int maxConcurrentCalls;
+}
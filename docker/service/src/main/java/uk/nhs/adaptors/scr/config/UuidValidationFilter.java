@@ -59,6 +59,6 @@ public class UuidValidationFilter extends OncePerRequestFilter {
             .setDetails(new CodeableConcept()
                 .setText("Invalid " + headerName + ". Should be a UUIDv4 matching \"" + UUID_REGEX + "\""));
 
-        response.getWriter().write(fhirParser.encodeToJson(operationOutcome));
+        fhirParser.encodeToJson(operationOutcome, response.getWriter(), false);
     }
 }
@@ -0,0 +1,47 @@
+package uk.nhs.adaptors.scr.config;
+
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Virtual threads (JDK 21+) looked up at runtime, the service is built for Java 11.
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * @return a factory of virtual threads named namePrefix0, namePrefix1 etc., empty when the JDK has no virtual threads
+     */
+    public static Optional<ThreadFactory> threadFactory(String namePrefix) {
+        try {
+            var builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            var builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            return Optional.of((ThreadFactory) builderType.getMethod("factory").invoke(builder));
+        } catch (ReflectiveOperationException e) {
+            return Optional.empty();
+        }
+    }
+
+    public static boolean isSupported() {
+        return threadFactory("probe").isPresent();
+    }
+
+    /**
+     * Runs each task on a new virtual thread, with the MDC of the thread that submitted it.
+     *
+     * @throws IllegalStateException when the JDK has no virtual threads
+     */
+    public static SimpleAsyncTaskExecutor executor(String namePrefix) {
+        var threadFactory = threadFactory(namePrefix)
+            .orElseThrow(() -> new IllegalStateException("scr.virtualThreads needs JDK 21 or later, running on "
+                + Runtime.version()));
+        var executor = new SimpleAsyncTaskExecutor(threadFactory);
+        executor.setTaskDecorator(new MdcTaskDecorator());
+        return executor;
+    }
+}
@@ -0,0 +1,27 @@
+package uk.nhs.adaptors.scr.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * With scr.virtualThreads, Tomcat handles each request on a virtual thread of its own (and so do Spring MVC async
+ * tasks, see MvcAsyncExecutorConfig), so requests blocked on Spine, SDS or the Identity Service do not hold one of a
+ * fixed number of platform threads. Concurrency is then bounded by the Spine connection pool, bulkheads and the
+ * controller concurrency limits. Whether that lets a node handle more load has not been measured, compare with the
+ * load test's load.virtualThreads option on JDK 21 before turning it on.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "scr", name = "virtualThreads", havingValue = "true")
+@Slf4j
+public class VirtualThreadsConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadsProtocolHandlerCustomizer() {
+        var executor = VirtualThreads.executor("tomcat-");
+        LOGGER.info("Handling requests on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+}
@@ -2,7 +2,6 @@ package uk.nhs.adaptors.scr.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.context.annotation.RequestScope;
 
 import javax.xml.xpath.XPathFactory;
 
@@ -10,7 +9,6 @@ import javax.xml.xpath.XPathFactory;
 public class XPathFactoryConfiguration {
 
     @Bean
-    @RequestScope
     public XPathFactory xpathFactory() {
         return XPathFactory.newInstance();
     }
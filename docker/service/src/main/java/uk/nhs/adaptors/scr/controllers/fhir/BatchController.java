@@ -0,0 +1,166 @@
+package uk.nhs.adaptors.scr.controllers.fhir;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hl7.fhir.r4.model.Bundle;
+import org.hl7.fhir.r4.model.Bundle.BundleEntryComponent;
+import org.hl7.fhir.r4.model.Bundle.BundleEntryRequestComponent;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import uk.nhs.adaptors.scr.components.FhirParser;
+import uk.nhs.adaptors.scr.config.MdcContext;
+import uk.nhs.adaptors.scr.config.ScrConfiguration;
+import uk.nhs.adaptors.scr.exceptions.BadRequestException;
+import uk.nhs.adaptors.scr.logging.LogExecutionTime;
+
+import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apache.commons.lang3.StringUtils.isEmpty;
+import static org.hl7.fhir.r4.model.Bundle.BundleType.BATCH;
+import static org.hl7.fhir.r4.model.Bundle.BundleType.BATCHRESPONSE;
+import static org.hl7.fhir.r4.model.Bundle.HTTPVerb.GET;
+import static org.springframework.http.HttpStatus.OK;
+import static uk.nhs.adaptors.scr.consts.ScrHttpHeaders.CLIENT_IP;
+import static uk.nhs.adaptors.scr.consts.ScrHttpHeaders.NHSD_ASID;
+import static uk.nhs.adaptors.scr.controllers.FhirMediaTypes.APPLICATION_FHIR_JSON_VALUE;
+import static uk.nhs.adaptors.scr.utils.OperationOutcomeUtils.createOperationOutcome;
+import static uk.nhs.adaptors.scr.utils.OperationOutcomeUtils.getStatusCode;
+
+/**
+ * FHIR batch of GET /DocumentReference and GET /Bundle searches. The searches of one batch run concurrently, at most
+ * scr.batchConcurrency at a time, and each gets its own status (and OperationOutcome when it failed) in the batch-response.
+ * As the searches outside batches, they hold no thread while waiting for Spine and are mapped on the bounded mapping
+ * scheduler, a search it rejects gets a 503 entry.
+ */
+@RestController
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@Slf4j
+public class BatchController {
+
+    private static final String DOCUMENT_REFERENCE = "DocumentReference";
+    private static final String BUNDLE = "Bundle";
+
+    private final FhirParser fhirParser;
+    private final GetScrController getScrController;
+    private final ScrConfiguration scrConfiguration;
+
+    @PostMapping(path = "/",
+        consumes = {APPLICATION_FHIR_JSON_VALUE},
+        produces = {APPLICATION_FHIR_JSON_VALUE})
+    @LogExecutionTime
+    public Mono<Bundle> batch(@RequestHeader(NHSD_ASID) @NotNull String nhsdAsid,
+                              @RequestHeader(CLIENT_IP) @NotNull String clientIp,
+                              @RequestBody String body) {
+        var requests = parseBatch(body);
+        int concurrency = Math.min(Math.max(scrConfiguration.getBatchConcurrency(), 1), requests.size());
+        LOGGER.info("Received batch request with {} entries, running {} at a time", requests.size(), concurrency);
+
+        var mdc = MDC.getCopyOfContextMap();
+        return Flux.fromIterable(requests)
+            .flatMapSequential(request -> search(request, nhsdAsid, clientIp, mdc), concurrency)
+            .collectList()
+            .map(entries -> {
+                var batchResponse = new Bundle().setType(BATCHRESPONSE);
+                entries.forEach(batchResponse::addEntry);
+                return batchResponse;
+            });
+    }
+
+    private List<BundleEntryRequestComponent> parseBatch(String body) {
+        var batch = fhirParser.parseResource(body, Bundle.class);
+        if (batch.getType() != BATCH) {
+            throw new BadRequestException("Bundle.type must be batch");
+        }
+        if (!batch.hasEntry()) {
+            throw new BadRequestException("Batch has no entries");
+        }
+        if (batch.getEntry().size() > scrConfiguration.getBatchMaxEntries()) {
+            throw new BadRequestException(String.format("At most %d entries can be sent in one batch",
+                scrConfiguration.getBatchMaxEntries()));
+        }
+
+        var requests = new ArrayList<BundleEntryRequestComponent>(batch.getEntry().size());
+        batch.getEntry().forEach(entry -> requests.add(entry.getRequest()));
+        return requests;
+    }
+
+    private Mono<BundleEntryComponent> search(BundleEntryRequestComponent request, String nhsdAsid, String clientIp,
+                                              Map<String, String> mdc) {
+        return Mono.defer(() -> search(request.getMethod(), request.getUrl(), nhsdAsid, clientIp))
+            .map(resource -> {
+                var entry = new BundleEntryComponent().setResource(resource);
+                entry.getResponse().setStatus(OK.value() + " " + OK.getReasonPhrase());
+                return entry;
+            })
+            .onErrorResume(Exception.class, e -> {
+                MdcContext.run(mdc, () -> LOGGER.error("Batch entry {} failed: {}", request.getUrl(), e.getMessage()));
+                var entry = new BundleEntryComponent();
+                var status = getStatusCode(e);
+                entry.getResponse()
+                    .setStatus(status.value() + " " + status.getReasonPhrase())
+                    .setOutcome(createOperationOutcome(e));
+                return Mono.just(entry);
+            });
+    }
+
+    private Mono<Bundle> search(Bundle.HTTPVerb method, String url, String nhsdAsid, String clientIp) {
+        if (method != GET || isEmpty(url)) {
+            throw new BadRequestException("Batch entries must be GET requests with a url");
+        }
+
+        var uri = UriComponentsBuilder.fromUriString(url).build();
+        var path = uri.getPathSegments();
+        var resourceType = path.isEmpty() ? "" : path.get(path.size() - 1);
+        var params = uri.getQueryParams();
+
+        switch (resourceType) {
+            case DOCUMENT_REFERENCE:
+                return getScrController.searchScrId(nhsdAsid, clientIp,
+                    getRequiredParam(params, "patient"),
+                    getParam(params, "type"),
+                    getParam(params, "_sort"),
+                    getCount(params));
+            case BUNDLE:
+                return getScrController.searchScr(nhsdAsid, clientIp,
+                    getRequiredParam(params, "composition.identifier"),
+                    getRequiredParam(params, "composition.subject:Patient.identifier"));
+            default:
+                throw new BadRequestException(String.format("Unsupported batch entry: GET %s", url));
+        }
+    }
+
+    private static String getParam(MultiValueMap<String, String> params, String name) {
+        var value = params.getFirst(name);
+        return value == null ? null : UriUtils.decode(value, UTF_8);
+    }
+
+    private static String getRequiredParam(MultiValueMap<String, String> params, String name) {
+        var value = getParam(params, name);
+        if (value == null) {
+            throw new BadRequestException(String.format("Required request parameter '%s' is not present", name));
+        }
+        return value;
+    }
+
+    private static Integer getCount(MultiValueMap<String, String> params) {
+        var count = getParam(params, "_count");
+        try {
+            return count == null ? null : Integer.valueOf(count);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException(String.format("Invalid value - %s in field '_count'", count));
+        }
+    }
+}
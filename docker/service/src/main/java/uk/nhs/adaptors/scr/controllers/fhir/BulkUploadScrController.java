@@ -0,0 +1,97 @@
+package uk.nhs.adaptors.scr.controllers.fhir;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hl7.fhir.r4.model.Bundle;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import uk.nhs.adaptors.scr.config.ScrConfiguration;
+import uk.nhs.adaptors.scr.config.SpineConfiguration;
+import uk.nhs.adaptors.scr.logging.LogExecutionTime;
+import uk.nhs.adaptors.scr.models.RequestData;
+import uk.nhs.adaptors.scr.services.BulkUploadScrService;
+
+import javax.validation.constraints.NotNull;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.function.Supplier;
+
+import static uk.nhs.adaptors.scr.consts.ScrHttpHeaders.CLIENT_IP;
+import static uk.nhs.adaptors.scr.consts.ScrHttpHeaders.NHSD_ASID;
+import static uk.nhs.adaptors.scr.consts.ScrHttpHeaders.NHSD_IDENTITY;
+import static uk.nhs.adaptors.scr.consts.ScrHttpHeaders.NHSD_SESSION_URID;
+import static uk.nhs.adaptors.scr.controllers.FhirMediaTypes.APPLICATION_FHIR_JSON_VALUE;
+import static uk.nhs.adaptors.scr.controllers.FhirMediaTypes.APPLICATION_FHIR_NDJSON_VALUE;
+
+@RestController
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@Slf4j
+public class BulkUploadScrController {
+    private final BulkUploadScrService bulkUploadScrService;
+    private final SpineConfiguration spineConfiguration;
+    private final ScrConfiguration scrConfiguration;
+
+    @PostMapping(
+        path = "/$bulkUpload",
+        consumes = {APPLICATION_FHIR_JSON_VALUE},
+        produces = {APPLICATION_FHIR_JSON_VALUE})
+    @LogExecutionTime
+    public DeferredResult<ResponseEntity<?>> bulkUploadBatch(
+        @RequestHeader(NHSD_ASID) @NotNull String nhsdAsid,
+        @RequestHeader(CLIENT_IP) @NotNull String clientIp,
+        @RequestHeader(NHSD_IDENTITY) @NotNull String nhsdIdentity,
+        @RequestHeader(NHSD_SESSION_URID) @NotNull String nhsdSessionUrid,
+        @RequestBody String body) {
+        LOGGER.info("Received bulk Upload SCR batch request");
+        var documents = bulkUploadScrService.parseBatch(body);
+        return uploadScrs(documents.iterator(), documents.size(), nhsdAsid, clientIp, nhsdIdentity, nhsdSessionUrid);
+    }
+
+    @PostMapping(
+        path = "/$bulkUpload",
+        consumes = {APPLICATION_FHIR_NDJSON_VALUE},
+        produces = {APPLICATION_FHIR_JSON_VALUE})
+    @LogExecutionTime
+    public DeferredResult<ResponseEntity<?>> bulkUploadNdjson(
+        @RequestHeader(NHSD_ASID) @NotNull String nhsdAsid,
+        @RequestHeader(CLIENT_IP) @NotNull String clientIp,
+        @RequestHeader(NHSD_IDENTITY) @NotNull String nhsdIdentity,
+        @RequestHeader(NHSD_SESSION_URID) @NotNull String nhsdSessionUrid,
+        InputStream body) {
+        LOGGER.info("Received bulk Upload SCR NDJSON request");
+        return uploadScrs(bulkUploadScrService.parseNdjson(body), scrConfiguration.getBulkUploadMaxEntries(),
+            nhsdAsid, clientIp, nhsdIdentity, nhsdSessionUrid);
+    }
+
+    private DeferredResult<ResponseEntity<?>> uploadScrs(Iterator<Supplier<Bundle>> documents, int maxEntries, String nhsdAsid,
+                                                         String clientIp, String nhsdIdentity, String nhsdSessionUrid) {
+        var requestData = new RequestData()
+            .setNhsdAsid(nhsdAsid)
+            .setClientIp(clientIp)
+            .setNhsdIdentity(nhsdIdentity)
+            .setNhsdSessionUrid(nhsdSessionUrid);
+
+        // every window of uploads may take up to the single upload timeout, NDJSON lines are only counted as they are read
+        int windowSize = bulkUploadScrService.getWindowSize(maxEntries);
+        int windows = (maxEntries + windowSize - 1) / windowSize;
+        var result = new DeferredResult<ResponseEntity<?>>(spineConfiguration.getScrResultTimeout() * windows);
+
+        var upload = bulkUploadScrService.uploadScrs(documents, requestData);
+        result.onTimeout(() -> result.setResult(ResponseEntity.ok(upload.stop())));
+        upload.getResult()
+            .whenComplete((batchResponse, error) -> {
+                if (error == null) {
+                    result.setResult(ResponseEntity.ok(batchResponse));
+                } else {
+                    result.setErrorResult(error);
+                }
+            });
+
+        return result;
+    }
+}
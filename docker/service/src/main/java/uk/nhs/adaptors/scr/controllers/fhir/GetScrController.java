@@ -9,7 +9,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import uk.nhs.adaptors.scr.components.FhirParser;
+import reactor.core.publisher.Mono;
 import uk.nhs.adaptors.scr.controllers.validation.scr.PatientId;
 import uk.nhs.adaptors.scr.controllers.validation.scr.RecordCount;
 import uk.nhs.adaptors.scr.controllers.validation.scr.SortMethod;
@@ -38,7 +38,6 @@ public class GetScrController {
     private static final String COMPOSITION_PATIENT_ID_PREFIX =
         "composition.subject:Patient.identifier=https://fhir.nhs.uk/Id/nhs-number|";
 
-    private final FhirParser fhirParser;
     private final GetScrService getScrService;
     private final SdsService sdsService;
 
@@ -46,17 +45,27 @@ public class GetScrController {
         produces = {APPLICATION_FHIR_JSON_VALUE})
     @SuppressWarnings("checkstyle:parameternumber")
     @LogExecutionTime
-    public String getScrId(@RequestHeader(NHSD_ASID) @NotNull String nhsdAsid,
-                           @RequestHeader(CLIENT_IP) @NotNull String clientIp,
-                           @RequestParam("patient") @NotNull @PatientId String patient,
-                           @RequestParam(required = false) @TypeCode String type,
-                           @RequestParam(name = "_sort", required = false) @SortMethod String sort,
-                           @RequestParam(name = "_count", required = false) @RecordCount Integer count) {
+    public Mono<Bundle> getScrId(@RequestHeader(NHSD_ASID) @NotNull String nhsdAsid,
+                                 @RequestHeader(CLIENT_IP) @NotNull String clientIp,
+                                 @RequestParam("patient") @NotNull @PatientId String patient,
+                                 @RequestParam(required = false) @TypeCode String type,
+                                 @RequestParam(name = "_sort", required = false) @SortMethod String sort,
+                                 @RequestParam(name = "_count", required = false) @RecordCount Integer count) {
         LOGGER.info("Received GET SCR ID request");
-        String nhsNumber = extractNhsNumber(patient);
-        Bundle bundle = getScrService.getScrId(nhsNumber, nhsdAsid, clientIp);
+        return searchScrId(nhsdAsid, clientIp, patient, type, sort, count);
+    }
 
-        return fhirParser.encodeToJson(bundle);
+    /**
+     * GET /DocumentReference search, also used for batch entries. Parameters are validated when called through the bean.
+     */
+    @SuppressWarnings("checkstyle:parameternumber")
+    public Mono<Bundle> searchScrId(@NotNull String nhsdAsid,
+                                    @NotNull String clientIp,
+                                    @NotNull @PatientId String patient,
+                                    @TypeCode String type,
+                                    @SortMethod String sort,
+                                    @RecordCount Integer count) {
+        return getScrService.getScrIdReactive(extractNhsNumber(patient), nhsdAsid, clientIp);
     }
 
     private String extractNhsNumber(String patientId) {
@@ -66,17 +75,24 @@ public class GetScrController {
     @GetMapping(path = "/Bundle",
         produces = {APPLICATION_FHIR_JSON_VALUE})
     @LogExecutionTime
-    public String getScr(
+    public Mono<Bundle> getScr(
         @RequestHeader("Nhsd-Asid") @NotNull String nhsdAsid,
         @RequestHeader("client-ip") @NotNull String clientIp,
         @RequestParam("composition.identifier") @NotNull String compositionId,
         @RequestParam("composition.subject:Patient.identifier") @NotNull @PatientId String nhsNumber
     ) {
         LOGGER.info("Received GET SCR request");
+        return searchScr(nhsdAsid, clientIp, compositionId, nhsNumber);
+    }
 
-        var bundle = getScrService.getScr(extractNhsNumber(nhsNumber), compositionId, nhsdAsid, clientIp);
-
-        return fhirParser.encodeToJson(bundle);
+    /**
+     * GET /Bundle search, also used for batch entries. Parameters are validated when called through the bean.
+     */
+    public Mono<Bundle> searchScr(@NotNull String nhsdAsid,
+                                  @NotNull String clientIp,
+                                  @NotNull String compositionId,
+                                  @NotNull @PatientId String nhsNumber) {
+        return getScrService.getScrReactive(extractNhsNumber(nhsNumber), compositionId, nhsdAsid, clientIp);
     }
 
     /*
@@ -2,14 +2,15 @@ package uk.nhs.adaptors.scr.controllers.fhir;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.context.request.async.DeferredResult;
+import uk.nhs.adaptors.scr.config.ConcurrencyLimitInterceptor;
 import uk.nhs.adaptors.scr.config.ScrConfiguration;
 import uk.nhs.adaptors.scr.config.SpineConfiguration;
 import uk.nhs.adaptors.scr.exceptions.ScrTimeoutException;
@@ -17,8 +18,11 @@ import uk.nhs.adaptors.scr.logging.LogExecutionTime;
 import uk.nhs.adaptors.scr.models.RequestData;
 import uk.nhs.adaptors.scr.services.UploadScrService;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.constraints.NotNull;
-import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
 
 import static org.springframework.http.HttpStatus.CREATED;
 import static uk.nhs.adaptors.scr.consts.ScrHttpHeaders.CLIENT_IP;
@@ -34,18 +38,20 @@ public class SendScrController {
     private final UploadScrService uploadScrService;
     private final SpineConfiguration spineConfiguration;
     private final ScrConfiguration scrConfiguration;
+    private final AsyncTaskExecutor mvcAsyncExecutor;
 
     @PostMapping(
         path = "/Bundle",
         consumes = {APPLICATION_FHIR_JSON_VALUE},
         produces = {APPLICATION_FHIR_JSON_VALUE})
     @LogExecutionTime
-    public WebAsyncTask<ResponseEntity<?>> sendScr(
+    public DeferredResult<ResponseEntity<?>> sendScr(
         @RequestHeader(NHSD_ASID) @NotNull String nhsdAsid,
         @RequestHeader(CLIENT_IP) @NotNull String clientIp,
         @RequestHeader(NHSD_IDENTITY) @NotNull String nhsdIdentity,
         @RequestHeader(NHSD_SESSION_URID) @NotNull String nhsdSessionUrid,
-        @RequestBody String body) {
+        @RequestBody String body,
+        HttpServletRequest request) {
         LOGGER.info("Received Upload SCR request");
         LOGGER.debug("Using cfg: asid-from={} party-from={} asid-to={} party-to={} client-ip={} NHSD-Identity-UUID={} NHSD-Session-URID={}",
             nhsdAsid,
@@ -63,20 +69,23 @@ public class SendScrController {
             .setNhsdIdentity(nhsdIdentity)
             .setNhsdSessionUrid(nhsdSessionUrid);
 
-        var mdcContextMap = MDC.getCopyOfContextMap();
-        Callable<ResponseEntity<?>> callable = () -> {
-            MDC.setContextMap(mdcContextMap);
-            uploadScrService.uploadScr(requestData);
-            return ResponseEntity
-                .status(CREATED)
-                .build();
-        };
+        var result = new DeferredResult<ResponseEntity<?>>(spineConfiguration.getScrResultTimeout());
+        result.onTimeout(() -> result.setErrorResult(new ScrTimeoutException()));
 
-        var task = new WebAsyncTask<>(spineConfiguration.getScrResultTimeout(), callable);
-        task.onTimeout(() -> {
-            throw new ScrTimeoutException();
-        });
+        // the request thread is released at once, the timeout covers parsing, mapping and the Spine POST too
+        var releaseConcurrencyLimit = ConcurrencyLimitInterceptor.releaser(request);
+        CompletableFuture.supplyAsync(() -> uploadScrService.uploadScr(requestData, releaseConcurrencyLimit), mvcAsyncExecutor)
+            .thenCompose(Function.identity())
+            .whenComplete((ignored, error) -> {
+                if (error == null) {
+                    result.setResult(ResponseEntity
+                        .status(CREATED)
+                        .build());
+                } else {
+                    result.setErrorResult(error instanceof CompletionException ? error.getCause() : error);
+                }
+            });
 
-        return task;
+        return result;
     }
 }
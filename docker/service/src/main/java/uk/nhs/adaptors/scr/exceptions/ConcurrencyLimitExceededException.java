@@ -0,0 +1,37 @@
+package uk.nhs.adaptors.scr.exceptions;
+
+import org.hl7.fhir.r4.model.CodeableConcept;
+import org.hl7.fhir.r4.model.OperationOutcome;
+import org.springframework.http.HttpStatus;
+
+import static org.hl7.fhir.r4.model.OperationOutcome.IssueSeverity.ERROR;
+import static org.hl7.fhir.r4.model.OperationOutcome.IssueType.THROTTLED;
+import static org.hl7.fhir.r4.model.OperationOutcome.IssueType.TRANSIENT;
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
+
+public class ConcurrencyLimitExceededException extends ScrBaseException implements OperationOutcomeError {
+
+    private final HttpStatus statusCode;
+
+    public ConcurrencyLimitExceededException(String message, HttpStatus statusCode) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    @Override
+    public OperationOutcome getOperationOutcome() {
+        var operationOutcome = new OperationOutcome();
+
+        operationOutcome.addIssue()
+            .setSeverity(ERROR)
+            .setCode(statusCode == TOO_MANY_REQUESTS ? THROTTLED : TRANSIENT)
+            .setDetails(new CodeableConcept().setText(getMessage()));
+
+        return operationOutcome;
+    }
+
+    @Override
+    public HttpStatus getStatusCode() {
+        return statusCode;
+    }
+}
@@ -0,0 +1,7 @@
+package uk.nhs.adaptors.scr.exceptions;
+
+public class SectionMappingTimeoutException extends InternalErrorException {
+    public SectionMappingTimeoutException(long timeout) {
+        super("SCR sections were not mapped within " + timeout + "ms");
+    }
+}
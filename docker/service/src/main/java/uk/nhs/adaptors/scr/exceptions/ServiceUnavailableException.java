@@ -4,13 +4,30 @@ import org.hl7.fhir.r4.model.CodeableConcept;
 import org.hl7.fhir.r4.model.OperationOutcome;
 import org.springframework.http.HttpStatus;
 
+import java.time.Duration;
+import java.util.Optional;
+
 import static org.hl7.fhir.r4.model.OperationOutcome.IssueSeverity.ERROR;
 import static org.hl7.fhir.r4.model.OperationOutcome.IssueType.TRANSIENT;
 import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
 
 public class ServiceUnavailableException extends ScrBaseException implements OperationOutcomeError {
+    private final Duration retryAfter;
+
     public ServiceUnavailableException(String message) {
+        this(message, null);
+    }
+
+    public ServiceUnavailableException(String message, Duration retryAfter) {
         super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * How long the client should wait before trying again, sent as the Retry-After header.
+     */
+    public Optional<Duration> getRetryAfter() {
+        return Optional.ofNullable(retryAfter);
     }
 
     @Override
@@ -1,4 +1,15 @@
 package uk.nhs.adaptors.scr.logging;
 
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Times calls to the method in the method.execution metric, see {@link LoggingAspect}. Only calls from other beans are
+ * timed, as they go through the Spring proxy.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
 public @interface LogExecutionTime {
 }
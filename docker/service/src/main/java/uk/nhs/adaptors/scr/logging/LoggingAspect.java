@@ -1,31 +1,101 @@
 package uk.nhs.adaptors.scr.logging;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
-import org.springframework.util.StopWatch;
+import reactor.core.publisher.Mono;
+import uk.nhs.adaptors.scr.config.ScrConfiguration;
 
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Records the execution time of each {@link LogExecutionTime} method in a method.execution timer with a percentile
+ * histogram, tagged with the class, method and outcome (success or error). Methods returning a CompletionStage or Mono are
+ * timed until it completes, cancelled Monos are not recorded. The time of a share of the calls
+ * (scr.executionTimeLogSampleRate) is also logged.
+ */
 @Aspect
 @Component
 @Slf4j
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
 public class LoggingAspect {
+
+    private static final String EXECUTION_TIME_METRIC = "method.execution";
+    private static final String SUCCESS = "success";
+    private static final String ERROR = "error";
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final Map<Method, MethodTimers> timers = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final ScrConfiguration scrConfiguration;
+
     @Around("@annotation(uk.nhs.adaptors.scr.logging.LogExecutionTime)")
     public Object methodTimeLogger(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
-        MethodSignature methodSignature = (MethodSignature) proceedingJoinPoint.getSignature();
+        var method = ((MethodSignature) proceedingJoinPoint.getSignature()).getMethod();
+        var methodTimers = timers.computeIfAbsent(method, MethodTimers::new);
 
-        String className = methodSignature.getDeclaringType().getSimpleName();
-        String methodName = methodSignature.getName();
+        var start = System.nanoTime();
+        Object result;
+        try {
+            result = proceedingJoinPoint.proceed();
+        } catch (Throwable e) {
+            methodTimers.record(start, false);
+            throw e;
+        }
 
-        StopWatch stopWatch = new StopWatch(className + "->" + methodName);
-        stopWatch.start(methodName);
-        Object result = proceedingJoinPoint.proceed();
-        stopWatch.stop();
-        if (LOGGER.isInfoEnabled()) {
-            LOGGER.info(String.format("Execution time of %s: %f seconds", stopWatch.getId(), stopWatch.getTotalTimeSeconds()));
+        if (result instanceof CompletionStage) {
+            ((CompletionStage<?>) result).whenComplete((value, error) -> methodTimers.record(start, error == null));
+        } else if (result instanceof Mono) {
+            return ((Mono<?>) result)
+                .doOnSuccess(value -> methodTimers.record(start, true))
+                .doOnError(error -> methodTimers.record(start, false));
+        } else {
+            methodTimers.record(start, true);
         }
         return result;
     }
+
+    private final class MethodTimers {
+        private final String name;
+        private final Timer success;
+        private final Timer error;
+
+        MethodTimers(Method method) {
+            var className = method.getDeclaringClass().getSimpleName();
+            name = className + "->" + method.getName();
+            success = timer(className, method.getName(), SUCCESS);
+            error = timer(className, method.getName(), ERROR);
+        }
+
+        void record(long start, boolean succeeded) {
+            var duration = System.nanoTime() - start;
+            (succeeded ? success : error).record(duration, NANOSECONDS);
+            if (LOGGER.isInfoEnabled() && ThreadLocalRandom.current().nextDouble() < scrConfiguration.getExecutionTimeLogSampleRate()) {
+                LOGGER.info(String.format("Execution time of %s: %f seconds", name, duration / NANOS_PER_SECOND));
+            }
+        }
+
+        private Timer timer(String className, String methodName, String outcome) {
+            return Timer.builder(EXECUTION_TIME_METRIC)
+                .description("Execution time of methods annotated with @LogExecutionTime")
+                .tag("class", className)
+                .tag("method", methodName)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        }
+    }
 }
@@ -2,13 +2,16 @@ package uk.nhs.adaptors.scr.mappings.from.fhir;
 
 import com.github.mustachejava.Mustache;
 import lombok.RequiredArgsConstructor;
+import org.apache.http.HttpEntity;
 import org.hl7.fhir.r4.model.Bundle;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import uk.nhs.adaptors.scr.clients.spine.TemplateHttpEntity;
 import uk.nhs.adaptors.scr.config.ScrConfiguration;
 import uk.nhs.adaptors.scr.exceptions.FhirMappingException;
 import uk.nhs.adaptors.scr.logging.LogExecutionTime;
 import uk.nhs.adaptors.scr.models.GpSummary;
+import uk.nhs.adaptors.scr.utils.BundleIndex;
 import uk.nhs.adaptors.scr.utils.TemplateUtils;
 
 @Component
@@ -22,15 +25,39 @@ public class BundleMapper {
 
     @LogExecutionTime
     public String map(Bundle bundle, String nhsdAsid) {
+        var gpSummary = mapGpSummary(bundle, nhsdAsid);
+        try {
+            return TemplateUtils.fillTemplate(REPC_RM150007UK05_TEMPLATE, gpSummary);
+        } catch (Exception ex) {
+            throw new FhirMappingException(ex.getMessage());
+        }
+    }
+
+    /**
+     * As {@link #map(Bundle, String)}, but the message is not copied again into a String or byte array before it is sent.
+     */
+    @LogExecutionTime
+    public HttpEntity mapToHttpEntity(Bundle bundle, String nhsdAsid) {
+        var gpSummary = mapGpSummary(bundle, nhsdAsid);
+        try {
+            return new TemplateHttpEntity(REPC_RM150007UK05_TEMPLATE, gpSummary);
+        } catch (Exception ex) {
+            throw new FhirMappingException(ex.getMessage());
+        }
+    }
+
+    private GpSummary mapGpSummary(Bundle bundle, String nhsdAsid) {
         try {
             GpSummary gpSummary = GpSummary.fromBundle(bundle, nhsdAsid);
             gpSummary.setPartyIdFrom(scrConfiguration.getPartyIdFrom());
             gpSummary.setPartyIdTo(scrConfiguration.getPartyIdTo());
             gpSummary.setNhsdAsidTo(scrConfiguration.getNhsdAsidTo());
-            return TemplateUtils.fillTemplate(REPC_RM150007UK05_TEMPLATE, gpSummary);
+            return gpSummary;
 
         } catch (Exception ex) {
             throw new FhirMappingException(ex.getMessage());
+        } finally {
+            BundleIndex.clear(bundle);
         }
     }
 }
@@ -9,18 +9,14 @@ import uk.nhs.adaptors.scr.models.xml.PatientCarerCorrespondence;
 import uk.nhs.adaptors.scr.models.xml.ProvisionOfAdviceAndInformation;
 
 import java.util.List;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import static uk.nhs.adaptors.scr.utils.FhirHelper.getDomainResourceList;
 
 public class CommunicationMapper {
-    private static final Predicate<Communication> IS_PATIENT_CARER_CORRESPONDENCE =
-        communication -> "163181000000107".equals(communication.getCategoryFirstRep().getCodingFirstRep().getCode());
-    private static final Predicate<Communication> IS_PROVISION_OF_ADVICE_AND_INFORMATION =
-        communication -> "163101000000102".equals(communication.getCategoryFirstRep().getCodingFirstRep().getCode());
-    private static final Predicate<Communication> IS_CARE_PROFESSIONAL_DOCUMENTATION =
-        communication -> "163171000000105".equals(communication.getCategoryFirstRep().getCodingFirstRep().getCode());
+    private static final String PATIENT_CARER_CORRESPONDENCE_CODE = "163181000000107";
+    private static final String PROVISION_OF_ADVICE_AND_INFORMATION_CODE = "163101000000102";
+    private static final String CARE_PROFESSIONAL_DOCUMENTATION_CODE = "163171000000105";
 
     public static void mapCommunications(GpSummary gpSummary, Bundle bundle) {
         validate(bundle);
@@ -38,8 +34,7 @@ public class CommunicationMapper {
      */
     private static List<PatientCarerCorrespondence> mapPatientAndCarersCorrespondence(Bundle bundle) {
         var patientAndCarersCorrespondenceMapper = new PatientAndCarersCorrespondenceMapper();
-        return getDomainResourceList(bundle, Communication.class).stream()
-            .filter(IS_PATIENT_CARER_CORRESPONDENCE)
+        return getDomainResourceList(bundle, Communication.class, PATIENT_CARER_CORRESPONDENCE_CODE).stream()
             .map(communication -> patientAndCarersCorrespondenceMapper.mapPatientCarerCorrespondence(communication))
             .collect(Collectors.toList());
     }
@@ -51,8 +46,7 @@ public class CommunicationMapper {
      */
     private static List<ProvisionOfAdviceAndInformation> mapProvisionOfAdviceAndInformation(Bundle bundle) {
         var provisionOfAdviceAndInformationMapper = new ProvisionOfAdviceAndInfoMapper();
-        return getDomainResourceList(bundle, Communication.class).stream()
-            .filter(IS_PROVISION_OF_ADVICE_AND_INFORMATION)
+        return getDomainResourceList(bundle, Communication.class, PROVISION_OF_ADVICE_AND_INFORMATION_CODE).stream()
             .map(communication -> provisionOfAdviceAndInformationMapper.mapProvisionOfAdviceInfo(communication))
             .collect(Collectors.toList());
     }
@@ -64,8 +58,7 @@ public class CommunicationMapper {
      */
     private static List<CareProfessionalDocumentation> mapCareProfessionalDocumentation(Bundle bundle) {
         var careProfessionalDocumentationMapper = new CareProfessionalDocumentationMapper();
-        return getDomainResourceList(bundle, Communication.class).stream()
-            .filter(IS_CARE_PROFESSIONAL_DOCUMENTATION)
+        return getDomainResourceList(bundle, Communication.class, CARE_PROFESSIONAL_DOCUMENTATION_CODE).stream()
             .map(communication -> careProfessionalDocumentationMapper.map(communication))
             .collect(Collectors.toList());
     }
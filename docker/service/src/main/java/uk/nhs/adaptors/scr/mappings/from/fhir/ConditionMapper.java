@@ -16,7 +16,6 @@ import uk.nhs.adaptors.scr.models.xml.Problem;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import static uk.nhs.adaptors.scr.mappings.from.fhir.ParticipantAgentMapper.mapAuthor;
@@ -30,10 +29,8 @@ import static uk.nhs.adaptors.scr.utils.FhirHelper.getResourceByReference;
 public class ConditionMapper {
 
     private static final String PARTICIPATION_TYPE_SYSTEM = "http://terminology.hl7.org/CodeSystem/v3-ParticipationType";
-    private static final Predicate<Condition> IS_DIAGNOSES =
-        condition -> "163001000000103".equals(condition.getCategoryFirstRep().getCodingFirstRep().getCode());
-    private static final Predicate<Condition> IS_PROBLEM =
-        condition -> "162991000000102".equals(condition.getCategoryFirstRep().getCodingFirstRep().getCode());
+    private static final String DIAGNOSES_CODE = "163001000000103";
+    private static final String PROBLEM_CODE = "162991000000102";
 
     public static void mapConditions(GpSummary gpSummary, Bundle bundle) {
         validate(bundle);
@@ -64,16 +61,14 @@ public class ConditionMapper {
     }
 
     private static List<Diagnosis> mapDiagnoses(Bundle bundle) {
-        return getDomainResourceList(bundle, Condition.class).stream()
-            .filter(IS_DIAGNOSES)
+        return getDomainResourceList(bundle, Condition.class, DIAGNOSES_CODE).stream()
             .map(condition -> mapDiagnosis(condition, bundle))
             .collect(Collectors.toList());
     }
 
     private static List<Problem> mapProblems(Bundle bundle) {
         var mapper = new ProblemMapper();
-        return getDomainResourceList(bundle, Condition.class).stream()
-            .filter(IS_PROBLEM)
+        return getDomainResourceList(bundle, Condition.class, PROBLEM_CODE).stream()
             .map(condition -> mapper.mapProblem(condition))
             .collect(Collectors.toList());
     }
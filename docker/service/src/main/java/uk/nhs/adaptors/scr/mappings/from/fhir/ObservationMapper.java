@@ -18,7 +18,6 @@ import uk.nhs.adaptors.scr.models.xml.RiskToPatient;
 import uk.nhs.adaptors.scr.models.xml.SocialOrPersonalCircumstance;
 
 import java.util.List;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import static uk.nhs.adaptors.scr.mappings.from.fhir.ParticipantAgentMapper.mapAuthor1;
@@ -32,18 +31,12 @@ import static uk.nhs.adaptors.scr.utils.FhirHelper.getResourceByReference;
 @Slf4j
 public class ObservationMapper {
     private static final String PARTICIPATION_TYPE_SYSTEM = "http://terminology.hl7.org/CodeSystem/v3-ParticipationType";
-    private static final Predicate<Observation> IS_CLINICAL_OBSERVATION_AND_FINDING =
-        observation -> "163131000000108".equals(observation.getCategoryFirstRep().getCodingFirstRep().getCode());
-    private static final Predicate<Observation> IS_INVESTIGATION_RESULT =
-        observation -> "163141000000104".equals(observation.getCategoryFirstRep().getCodingFirstRep().getCode());
-    private static final Predicate<Observation> IS_RISK_TO_PATIENT =
-        observation -> "163231000000100".equals(observation.getCategoryFirstRep().getCodingFirstRep().getCode());
-    private static final Predicate<Observation> IS_SOCIAL_OR_PERSONAL_CIRCUMSTANCES =
-        observation -> "163021000000107".equals(observation.getCategoryFirstRep().getCodingFirstRep().getCode());
-    private static final Predicate<Observation> IS_FAMILY_HISTORY =
-        observation -> "163051000000102".equals(observation.getCategoryFirstRep().getCodingFirstRep().getCode());
-    private static final Predicate<Observation> IS_LIFESTYLE =
-        observation -> "163021000000107".equals(observation.getCategoryFirstRep().getCodingFirstRep().getCode());
+    private static final String CLINICAL_OBSERVATION_AND_FINDING_CODE = "163131000000108";
+    private static final String INVESTIGATION_RESULT_CODE = "163141000000104";
+    private static final String RISK_TO_PATIENT_CODE = "163231000000100";
+    private static final String SOCIAL_OR_PERSONAL_CIRCUMSTANCES_CODE = "163021000000107";
+    private static final String FAMILY_HISTORY_CODE = "163051000000102";
+    private static final String LIFESTYLE_CODE = "163021000000107";
 
     public static void mapObservations(GpSummary gpSummary, Bundle bundle) {
         validate(bundle);
@@ -80,47 +73,41 @@ public class ObservationMapper {
     }
 
     private static List<Finding> mapClinicalObservationsAndFindings(Bundle bundle) {
-        return getDomainResourceList(bundle, Observation.class).stream()
-            .filter(IS_CLINICAL_OBSERVATION_AND_FINDING)
+        return getDomainResourceList(bundle, Observation.class, CLINICAL_OBSERVATION_AND_FINDING_CODE).stream()
             .map(observation -> mapFinding(observation, bundle))
             .collect(Collectors.toList());
     }
 
     private static List<Finding> mapInvestigationResults(Bundle bundle) {
-        return getDomainResourceList(bundle, Observation.class).stream()
-            .filter(IS_INVESTIGATION_RESULT)
+        return getDomainResourceList(bundle, Observation.class, INVESTIGATION_RESULT_CODE).stream()
             .map(observation -> mapFinding(observation, bundle))
             .collect(Collectors.toList());
     }
 
     private static List<RiskToPatient> mapRisksToPatient(Bundle bundle) {
         var mapper = new RiskToPatientMapper();
-        return getDomainResourceList(bundle, Observation.class).stream()
-            .filter(IS_RISK_TO_PATIENT)
+        return getDomainResourceList(bundle, Observation.class, RISK_TO_PATIENT_CODE).stream()
             .map(observation -> mapper.map(observation))
             .collect(Collectors.toList());
     }
 
     private static List<SocialOrPersonalCircumstance> mapSocialOrPersonalCircumstances(Bundle bundle) {
         var mapper = new SocialOrPersonalCircumstanceMapper();
-        return getDomainResourceList(bundle, Observation.class).stream()
-            .filter(IS_SOCIAL_OR_PERSONAL_CIRCUMSTANCES)
+        return getDomainResourceList(bundle, Observation.class, SOCIAL_OR_PERSONAL_CIRCUMSTANCES_CODE).stream()
             .map(observation -> mapper.map(observation))
             .collect(Collectors.toList());
     }
 
     private static List<FamilyHistory> mapFamilyHistories(Bundle bundle) {
         var mapper = new FamilyHistoryMapper();
-        return getDomainResourceList(bundle, Observation.class).stream()
-            .filter(IS_FAMILY_HISTORY)
+        return getDomainResourceList(bundle, Observation.class, FAMILY_HISTORY_CODE).stream()
             .map(observation -> mapper.map(observation))
             .collect(Collectors.toList());
     }
 
     private static List<Lifestyle> mapLifestyles(Bundle bundle) {
         var mapper = new LifestyleMapper();
-        return getDomainResourceList(bundle, Observation.class).stream()
-            .filter(IS_LIFESTYLE)
+        return getDomainResourceList(bundle, Observation.class, LIFESTYLE_CODE).stream()
             .map(observation -> mapper.map(observation))
             .collect(Collectors.toList());
     }
@@ -7,14 +7,12 @@ import uk.nhs.adaptors.scr.models.GpSummary;
 import uk.nhs.adaptors.scr.models.xml.Treatment;
 
 import java.util.List;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import static uk.nhs.adaptors.scr.utils.FhirHelper.getDomainResourceList;
 
 public class ProcedureMapper {
-    private static final Predicate<Procedure> IS_TREATMENT =
-        procedure -> "163071000000106".equals(procedure.getCategory().getCodingFirstRep().getCode());
+    private static final String TREATMENT_CODE = "163071000000106";
 
     public static void mapProcedures(GpSummary gpSummary, Bundle bundle) {
         validate(bundle);
@@ -24,8 +22,7 @@ public class ProcedureMapper {
 
     private static List<Treatment> mapTreatments(Bundle bundle) {
         var treatmentMapper = new TreatmentMapper();
-        return getDomainResourceList(bundle, Procedure.class).stream()
-            .filter(IS_TREATMENT)
+        return getDomainResourceList(bundle, Procedure.class, TREATMENT_CODE).stream()
             .map(procedure -> treatmentMapper.mapTreatment(procedure))
             .collect(Collectors.toList());
     }
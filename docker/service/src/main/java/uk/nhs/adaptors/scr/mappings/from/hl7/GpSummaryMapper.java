@@ -84,8 +84,12 @@ public class GpSummaryMapper implements XmlToFhirMapper {
     private final HtmlParser htmlParser;
     private final XmlUtils xmlUtils;
 
-    @SneakyThrows
     public List<Resource> map(Node document) {
+        return map(document, sectionReferences(document));
+    }
+
+    @SneakyThrows
+    public List<Resource> map(Node document, Map<String, List<String>> references) {
         var gpSummaryId =
                 xmlUtils.getValueByXPath(document, GP_SUMMARY_ID_XPATH);
         var gpSummaryCodeCode =
@@ -143,8 +147,6 @@ public class GpSummaryMapper implements XmlToFhirMapper {
                         .setSystem(SNOMED_SYSTEM)
                         .setDisplay(pertinentRootCreTypeCodeDisplayName)));
 
-        Map<String, List<String>> references = sectionReferences(document);
-
         presentationTextValue
                 .map(htmlParser::parse)
                 .map(Collection::stream)
@@ -166,7 +168,7 @@ public class GpSummaryMapper implements XmlToFhirMapper {
         return resources;
     }
 
-    private Map<String, List<String>> sectionReferences(Node document) {
+    public Map<String, List<String>> sectionReferences(Node document) {
         Map<String, List<String>> references = new HashMap<>();
         for (Node pertinentNode : xmlUtils.getNodesByXPath(document, PERTINENT_CRET_BASE_PATH)) {
             for (Node component : xmlUtils.getNodesByXPath(pertinentNode, COMPONENT_XPATH)) {
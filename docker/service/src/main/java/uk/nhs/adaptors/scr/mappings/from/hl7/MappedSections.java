@@ -0,0 +1,92 @@
+package uk.nhs.adaptors.scr.mappings.from.hl7;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.hl7.fhir.r4.model.Resource;
+import org.w3c.dom.Document;
+import uk.nhs.adaptors.scr.exceptions.SectionMappingTimeoutException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * pertinentInformation2 sections of a QUPC_IN210000UK04 response, mapped separately from the rest of the document.
+ * All sections share one timeout, counted from when the response starts being split into sections. When it runs out the
+ * sections still being mapped are cancelled and the request fails, rather than a stuck mapper holding the waiting thread.
+ */
+public class MappedSections {
+
+    /**
+     * Response document without the pertinentInformation2 sections.
+     */
+    @Getter
+    private final Document document;
+    private final int mappers;
+    private final long timeout;
+    private final long deadline;
+    private final List<Future<SectionResources>> sections = new ArrayList<>();
+
+    MappedSections(Document document, int mappers, long timeout) {
+        this.document = document;
+        this.mappers = mappers;
+        this.timeout = timeout;
+        this.deadline = System.nanoTime() + MILLISECONDS.toNanos(timeout);
+    }
+
+    void add(Future<SectionResources> section) {
+        sections.add(section);
+    }
+
+    /**
+     * GP summary section references of all sections, in document order.
+     */
+    public Map<String, List<String>> getSectionReferences() {
+        return sections.stream()
+            .map(this::join)
+            .flatMap(section -> section.getReferences().entrySet().stream())
+            .collect(Collectors.groupingBy(Map.Entry::getKey,
+                Collectors.flatMapping(entry -> entry.getValue().stream(), Collectors.toList())));
+    }
+
+    /**
+     * Section resources in the order a single pass over the whole document gives: grouped by mapper, then by section.
+     */
+    public List<Resource> getSectionResources() {
+        var mapped = sections.stream()
+            .map(this::join)
+            .collect(Collectors.toList());
+        return IntStream.range(0, mappers)
+            .mapToObj(mapper -> mapped.stream().flatMap(section -> section.getResources().get(mapper).stream()))
+            .flatMap(it -> it)
+            .collect(Collectors.toList());
+    }
+
+    @SneakyThrows
+    private SectionResources join(Future<SectionResources> section) {
+        try {
+            return section.get(deadline - System.nanoTime(), NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (TimeoutException e) {
+            sections.forEach(it -> it.cancel(true));
+            throw new SectionMappingTimeoutException(timeout);
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    static class SectionResources {
+        private final Map<String, List<String>> references;
+        private final List<List<? extends Resource>> resources;
+    }
+}
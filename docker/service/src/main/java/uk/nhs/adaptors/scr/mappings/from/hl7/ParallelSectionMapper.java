@@ -0,0 +1,100 @@
+package uk.nhs.adaptors.scr.mappings.from.hl7;
+
+import lombok.RequiredArgsConstructor;
+import org.hl7.fhir.r4.model.Resource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+import uk.nhs.adaptors.scr.config.ScrConfiguration;
+import uk.nhs.adaptors.scr.mappings.from.hl7.MappedSections.SectionResources;
+
+import javax.xml.parsers.DocumentBuilder;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import static uk.nhs.adaptors.scr.utils.DocumentBuilderUtil.documentBuilder;
+
+/**
+ * Maps each pertinentInformation2 section on its own copy of the section, so that sections can be mapped concurrently
+ * without the mappers detaching nodes from a shared document. All section mappers run on a section in order,
+ * so a pertinentCREType picked up by one mapper is still hidden from the following ones.
+ */
+@Component
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class ParallelSectionMapper {
+
+    static final String SECTION_ELEMENT = "pertinentInformation2";
+
+    private final GpSummaryMapper gpSummaryMapper;
+    private final AsyncTaskExecutor sectionMappingExecutor;
+    private final ScrConfiguration scrConfiguration;
+
+    /**
+     * Copies the document into one without sections and one document per section, and starts mapping the sections.
+     * The given document is not modified.
+     */
+    public MappedSections map(Document document, List<XmlToFhirMapper> sectionMappers) {
+        var documentBuilder = documentBuilder();
+        var sections = newSections(documentBuilder.newDocument(), sectionMappers.size());
+        copyWithoutSections(document, sections.getDocument(), sections, sectionMappers, documentBuilder);
+        return sections;
+    }
+
+    MappedSections newSections(Document document, int mappers) {
+        return new MappedSections(document, mappers, scrConfiguration.getSectionMappingTimeout());
+    }
+
+    void submit(MappedSections sections, Document section, List<XmlToFhirMapper> sectionMappers) {
+        sections.add(sectionMappingExecutor.submit(() -> mapSection(section, sectionMappers)));
+    }
+
+    static boolean isSection(String elementName) {
+        return SECTION_ELEMENT.equals(elementName);
+    }
+
+    /**
+     * Empty copies of the node and its ancestors, the section is appended to the last one.
+     */
+    static Node copyAncestors(Document section, Node node) {
+        var ancestors = new LinkedList<Node>();
+        for (Node it = node; it != null && it.getNodeType() == Node.ELEMENT_NODE; it = it.getParentNode()) {
+            ancestors.addFirst(it);
+        }
+        Node parent = section;
+        for (Node ancestor : ancestors) {
+            parent = parent.appendChild(section.importNode(ancestor, false));
+        }
+        return parent;
+    }
+
+    private void copyWithoutSections(Node source, Node target, MappedSections sections, List<XmlToFhirMapper> sectionMappers,
+                                     DocumentBuilder documentBuilder) {
+        var document = sections.getDocument();
+        for (Node child = source.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() == Node.DOCUMENT_TYPE_NODE) {
+                continue;
+            }
+            if (child.getNodeType() == Node.ELEMENT_NODE && isSection(child.getNodeName())) {
+                var section = documentBuilder.newDocument();
+                copyAncestors(section, source).appendChild(section.importNode(child, true));
+                submit(sections, section, sectionMappers);
+            } else {
+                var copy = target.appendChild(document.importNode(child, false));
+                copyWithoutSections(child, copy, sections, sectionMappers, documentBuilder);
+            }
+        }
+    }
+
+    private SectionResources mapSection(Document section, List<XmlToFhirMapper> sectionMappers) {
+        var references = gpSummaryMapper.sectionReferences(section);
+        List<List<? extends Resource>> resources = new ArrayList<>(sectionMappers.size());
+        for (XmlToFhirMapper mapper : sectionMappers) {
+            resources.add(mapper.map(section));
+        }
+        return new SectionResources(references, resources);
+    }
+}
@@ -0,0 +1,159 @@
+package uk.nhs.adaptors.scr.mappings.from.hl7;
+
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.Text;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static javax.xml.stream.XMLStreamConstants.CDATA;
+import static javax.xml.stream.XMLStreamConstants.CHARACTERS;
+import static javax.xml.stream.XMLStreamConstants.COMMENT;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.PROCESSING_INSTRUCTION;
+import static javax.xml.stream.XMLStreamConstants.SPACE;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+import static uk.nhs.adaptors.scr.mappings.from.hl7.ParallelSectionMapper.copyAncestors;
+import static uk.nhs.adaptors.scr.mappings.from.hl7.ParallelSectionMapper.isSection;
+import static uk.nhs.adaptors.scr.utils.DocumentBuilderUtil.documentBuilder;
+
+/**
+ * Reads a QUPC_IN210000UK04 response in a single pass. Every pertinentInformation2 subtree is built as a small document
+ * (keeping its ancestor elements, so the mappers' XPaths still match) and handed to the section mappers as soon as it is read.
+ * Everything else is kept in a DOM without the sections, which is used for the header, patient and GP summary mapping.
+ */
+@Component
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class StaxScrMapper {
+
+    private static final String REPORT_CDATA_EVENT = "http://java.sun.com/xml/stream/properties/report-cdata-event";
+    private static final XMLInputFactory XML_INPUT_FACTORY = xmlInputFactory();
+
+    private final ParallelSectionMapper parallelSectionMapper;
+
+    /**
+     * @param headerCheck called with the DOM read so far before the first section is mapped, or with the whole DOM when
+     *                    there are no sections. Spine puts its detected issues in the ControlActEvent ahead of the SCR, so
+     *                    an error response is rejected before any section mapper runs.
+     */
+    @SneakyThrows
+    public MappedSections map(InputStream body, List<XmlToFhirMapper> sectionMappers, Consumer<Document> headerCheck) {
+        var reader = XML_INPUT_FACTORY.createXMLStreamReader(body);
+        try {
+            var documentBuilder = documentBuilder();
+            var sections = parallelSectionMapper.newSections(documentBuilder.newDocument(), sectionMappers.size());
+            var document = sections.getDocument();
+            Node parent = document;
+            boolean headerChecked = false;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == START_ELEMENT && isSection(reader.getLocalName())) {
+                    if (!headerChecked) {
+                        headerCheck.accept(document);
+                        headerChecked = true;
+                    }
+                    parallelSectionMapper.submit(sections, readSection(reader, parent, documentBuilder), sectionMappers);
+                } else if (event == START_ELEMENT) {
+                    parent = parent.appendChild(createElement(document, reader));
+                } else if (event == END_ELEMENT) {
+                    parent = parent.getParentNode();
+                } else {
+                    appendContent(document, parent, reader, event);
+                }
+            }
+            if (!headerChecked) {
+                headerCheck.accept(document);
+            }
+            return sections;
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static Document readSection(XMLStreamReader reader, Node parent, DocumentBuilder documentBuilder)
+        throws XMLStreamException {
+        var section = documentBuilder.newDocument();
+        Node current = copyAncestors(section, parent).appendChild(createElement(section, reader));
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == START_ELEMENT) {
+                current = current.appendChild(createElement(section, reader));
+                depth++;
+            } else if (event == END_ELEMENT) {
+                current = current.getParentNode();
+                depth--;
+            } else {
+                appendContent(section, current, reader, event);
+            }
+        }
+        return section;
+    }
+
+    // mirrors the non namespace aware DOM built by DocumentBuilderUtil, so XPaths behave exactly the same
+    private static Element createElement(Document document, XMLStreamReader reader) {
+        var element = document.createElement(qualifiedName(reader.getPrefix(), reader.getLocalName()));
+        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+            var prefix = reader.getNamespacePrefix(i);
+            element.setAttribute(StringUtils.isEmpty(prefix) ? "xmlns" : "xmlns:" + prefix, reader.getNamespaceURI(i));
+        }
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            element.setAttribute(
+                qualifiedName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)), reader.getAttributeValue(i));
+        }
+        return element;
+    }
+
+    private static String qualifiedName(String prefix, String localName) {
+        return StringUtils.isEmpty(prefix) ? localName : prefix + ":" + localName;
+    }
+
+    private static void appendContent(Document document, Node parent, XMLStreamReader reader, int event) {
+        switch (event) {
+            case CHARACTERS:
+            case SPACE:
+                if (parent.getNodeType() == Node.DOCUMENT_NODE) {
+                    return;
+                }
+                var lastChild = parent.getLastChild();
+                if (lastChild != null && lastChild.getNodeType() == Node.TEXT_NODE) {
+                    ((Text) lastChild).appendData(reader.getText());
+                } else {
+                    parent.appendChild(document.createTextNode(reader.getText()));
+                }
+                return;
+            case CDATA:
+                parent.appendChild(document.createCDATASection(reader.getText()));
+                return;
+            case COMMENT:
+                parent.appendChild(document.createComment(reader.getText()));
+                return;
+            case PROCESSING_INSTRUCTION:
+                parent.appendChild(document.createProcessingInstruction(reader.getPITarget(), reader.getPIData()));
+                return;
+            default:
+        }
+    }
+
+    private static XMLInputFactory xmlInputFactory() {
+        var factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        if (factory.isPropertySupported(REPORT_CDATA_EVENT)) {
+            factory.setProperty(REPORT_CDATA_EVENT, true);
+        }
+        return factory;
+    }
+}
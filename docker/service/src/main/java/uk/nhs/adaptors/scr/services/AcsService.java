@@ -51,6 +51,7 @@ public class AcsService {
     private final IdentityServiceContract identityService;
     private final SpineResponseParser spineResponseParser;
     private final SpineDetectedIssuesHandler spineDetectedIssuesHandler;
+    private final EventListQueryCache eventListQueryCache;
 
     private static final Mustache SET_RESOURCE_PERMISSIONS_TEMPLATE =
         loadTemplate("SET_RESOURCE_PERMISSIONS_INUK01.mustache");
@@ -65,7 +66,13 @@ public class AcsService {
             requestData.getNhsdIdentity());
 
         String acsRequest = prepareAcsRequest(parameter, requestData, userInfoPair.getLeft(), userInfoPair.getRight());
-        Response<Document> response = spineClient.sendAcsData(acsRequest, requestData.getNhsdAsid());
+        Response<Document> response;
+        try {
+            response = spineClient.sendAcsData(acsRequest, requestData.getNhsdAsid());
+        } finally {
+            // cached event list query results hold the consent being changed
+            eventListQueryCache.invalidate(getNhsNumber(parameter));
+        }
         spineDetectedIssuesHandler.handleDetectedIssues(spineResponseParser.getDetectedIssues(response.getBody()));
     }
 
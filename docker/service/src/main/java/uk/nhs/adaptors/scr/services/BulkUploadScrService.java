@@ -0,0 +1,260 @@
+package uk.nhs.adaptors.scr.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hl7.fhir.r4.model.Bundle;
+import org.hl7.fhir.r4.model.Bundle.BundleEntryComponent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import uk.nhs.adaptors.scr.components.FhirParser;
+import uk.nhs.adaptors.scr.config.ScrConfiguration;
+import uk.nhs.adaptors.scr.exceptions.BadRequestException;
+import uk.nhs.adaptors.scr.exceptions.ScrTimeoutException;
+import uk.nhs.adaptors.scr.models.RequestData;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static org.hl7.fhir.r4.model.Bundle.BundleType.BATCH;
+import static org.hl7.fhir.r4.model.Bundle.BundleType.BATCHRESPONSE;
+import static org.springframework.http.HttpStatus.CREATED;
+import static uk.nhs.adaptors.scr.utils.OperationOutcomeUtils.createOperationOutcome;
+import static uk.nhs.adaptors.scr.utils.OperationOutcomeUtils.getStatusCode;
+
+/**
+ * Uploads many GP summaries for one client. Each summary goes through the same steps as POST /Bundle, at most
+ * scr.bulkUploadConcurrency of them are in progress (including polling Spine for the result) at any time.
+ * A failed summary does not affect the others, its error is returned in its batch-response entry.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class BulkUploadScrService {
+
+    private final FhirParser fhirParser;
+    private final UploadScrService uploadScrService;
+    private final ScrConfiguration scrConfiguration;
+    private final ThreadPoolTaskExecutor bulkUploadExecutor;
+
+    /**
+     * One document Bundle per non-blank line. Lines are read from the request body as uploads start, and each is parsed only
+     * when its own upload starts, so at most the lines in progress are held in memory.
+     */
+    public Iterator<Supplier<Bundle>> parseNdjson(InputStream body) {
+        var documents = new NdjsonDocuments(body);
+        if (!documents.hasNext()) {
+            throw new BadRequestException("No SCRs to upload");
+        }
+        return documents;
+    }
+
+    /**
+     * A FHIR batch Bundle with a document Bundle in each entry.
+     */
+    public List<Supplier<Bundle>> parseBatch(String body) {
+        var batch = fhirParser.parseResource(body, Bundle.class);
+        if (batch.getType() != BATCH) {
+            throw new BadRequestException("Bundle.type must be batch");
+        }
+        checkEntryCount(batch.getEntry().size());
+        return batch.getEntry().stream()
+            .map(BundleEntryComponent::getResource)
+            .map(resource -> (Supplier<Bundle>) () -> {
+                if (!(resource instanceof Bundle)) {
+                    throw new BadRequestException("Batch entry resource must be a document Bundle");
+                }
+                return (Bundle) resource;
+            })
+            .collect(toList());
+    }
+
+    public int getWindowSize(int entries) {
+        return Math.min(Math.max(scrConfiguration.getBulkUploadConcurrency(), 1), Math.max(entries, 1));
+    }
+
+    public BulkUpload uploadScrs(Iterator<Supplier<Bundle>> documents, RequestData requestData) {
+        int windowSize = Math.max(scrConfiguration.getBulkUploadConcurrency(), 1);
+        LOGGER.info("Uploading SCRs, {} at a time", windowSize);
+        var upload = new BulkUpload(documents, requestData, windowSize);
+        for (int i = 0; i < windowSize; i++) {
+            bulkUploadExecutor.execute(upload::uploadNext);
+        }
+        return upload;
+    }
+
+    /**
+     * The uploads of one request, each window slot starts the next document once its previous one is done.
+     */
+    public final class BulkUpload {
+        private final Iterator<Supplier<Bundle>> documents;
+        private final RequestData requestData;
+        private final AtomicInteger uploading;
+        private final List<CompletableFuture<BundleEntryComponent>> entries = new ArrayList<>();
+        private final CompletableFuture<Bundle> result = new CompletableFuture<>();
+        private boolean stopped;
+
+        private BulkUpload(Iterator<Supplier<Bundle>> documents, RequestData requestData, int windowSize) {
+            this.documents = documents;
+            this.requestData = requestData;
+            this.uploading = new AtomicInteger(windowSize);
+        }
+
+        /**
+         * @return batch-response Bundle with one entry per document, in request order, once all are uploaded
+         */
+        public CompletableFuture<Bundle> getResult() {
+            return result;
+        }
+
+        /**
+         * Starts no more uploads and returns the batch-response as it is now. Finished entries keep their status, the ones
+         * still in progress or not started get a 504 OperationOutcome; those in progress may still be accepted by Spine.
+         */
+        public synchronized Bundle stop() {
+            stopped = true;
+            while (documents.hasNext()) {
+                documents.next();
+                entries.add(new CompletableFuture<>());
+            }
+            entries.forEach(entry -> entry.complete(errorEntry(new ScrTimeoutException())));
+            return batchResponse();
+        }
+
+        private void uploadNext() {
+            int index;
+            Supplier<Bundle> document;
+            synchronized (this) {
+                if (stopped || !documents.hasNext()) {
+                    if (uploading.decrementAndGet() == 0) {
+                        result.complete(batchResponse());
+                    }
+                    return;
+                }
+                document = documents.next();
+                index = entries.size();
+                entries.add(new CompletableFuture<>());
+            }
+
+            upload(document).whenComplete((ignored, error) -> {
+                if (error != null) {
+                    LOGGER.error("Bulk upload entry {} failed: {}", index, getCause(error).getMessage());
+                }
+                getEntry(index).complete(error == null ? successEntry() : errorEntry(getCause(error)));
+                bulkUploadExecutor.execute(this::uploadNext);
+            });
+        }
+
+        private CompletableFuture<Void> upload(Supplier<Bundle> document) {
+            try {
+                return uploadScrService.uploadScr(requestData, document.get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        private synchronized CompletableFuture<BundleEntryComponent> getEntry(int index) {
+            return entries.get(index);
+        }
+
+        private synchronized Bundle batchResponse() {
+            var batchResponse = new Bundle().setType(BATCHRESPONSE);
+            entries.forEach(entry -> batchResponse.addEntry(entry.join()));
+            return batchResponse;
+        }
+    }
+
+    private static BundleEntryComponent successEntry() {
+        var entry = new BundleEntryComponent();
+        entry.getResponse().setStatus(CREATED.value() + " " + CREATED.getReasonPhrase());
+        return entry;
+    }
+
+    private static Throwable getCause(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private static BundleEntryComponent errorEntry(Throwable cause) {
+        var status = getStatusCode(cause);
+        var entry = new BundleEntryComponent();
+        entry.getResponse()
+            .setStatus(status.value() + " " + status.getReasonPhrase())
+            .setOutcome(createOperationOutcome(cause));
+        return entry;
+    }
+
+    /**
+     * Reads one line ahead, so the client gets a 400 straight away for an empty body. Lines past scr.bulkUploadMaxEntries
+     * are not read, the first of them is rejected in its entry.
+     */
+    private final class NdjsonDocuments implements Iterator<Supplier<Bundle>> {
+        private final BufferedReader reader;
+        private String line;
+        private int count;
+
+        private NdjsonDocuments(InputStream body) {
+            this.reader = new BufferedReader(new InputStreamReader(body, UTF_8));
+            this.line = readLine();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return line != null;
+        }
+
+        @Override
+        public Supplier<Bundle> next() {
+            if (line == null) {
+                throw new NoSuchElementException();
+            }
+            var document = line;
+            if (++count > scrConfiguration.getBulkUploadMaxEntries()) {
+                line = null;
+                return () -> {
+                    throw tooManyEntries();
+                };
+            }
+            line = readLine();
+            return () -> fhirParser.parseResource(document, Bundle.class);
+        }
+
+        private String readLine() {
+            try {
+                String next;
+                do {
+                    next = reader.readLine();
+                } while (next != null && next.isBlank());
+                return next;
+            } catch (IOException e) {
+                LOGGER.error("Could not read bulk upload request body: {}", e.getMessage());
+                return null;
+            }
+        }
+    }
+
+    private void checkEntryCount(int entries) {
+        if (entries == 0) {
+            throw new BadRequestException("No SCRs to upload");
+        }
+        if (entries > scrConfiguration.getBulkUploadMaxEntries()) {
+            throw tooManyEntries();
+        }
+    }
+
+    private BadRequestException tooManyEntries() {
+        return new BadRequestException(String.format("At most %d SCRs can be uploaded in one request",
+            scrConfiguration.getBulkUploadMaxEntries()));
+    }
+}
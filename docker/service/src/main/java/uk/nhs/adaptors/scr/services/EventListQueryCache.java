@@ -0,0 +1,119 @@
+package uk.nhs.adaptors.scr.services;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import lombok.SneakyThrows;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import uk.nhs.adaptors.scr.config.ScrConfiguration;
+import uk.nhs.adaptors.scr.models.EventListQueryResponse;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Keeps recent event list query results so GET /DocumentReference followed by GET /Bundle (or an upload) for the same patient
+ * only queries Spine once. Only results without detected issues are cached. Entries for a patient are dropped when their
+ * record or consent is changed through this node, other nodes keep theirs until the TTL expires.
+ * <p>
+ * A query still in flight when the patient is invalidated would put the result from before the change back in the cache.
+ * Every entry therefore records the invalidation generation of its patient from when its query started, and entries
+ * from an older generation are treated as missing. Generations are kept per stripe of NHS numbers, so patients sharing a
+ * stripe only lose each other's entries.
+ */
+@Component
+@Slf4j
+public class EventListQueryCache {
+
+    private static final String CACHE_NAME = "eventListQuery";
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final Cache<Key, Entry> cache;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    @Autowired
+    public EventListQueryCache(ScrConfiguration scrConfiguration, MeterRegistry meterRegistry) {
+        cache = CacheBuilder.newBuilder()
+            .maximumSize(scrConfiguration.getEventListQueryCacheSize())
+            .expireAfterWrite(Math.max(scrConfiguration.getEventListQueryCacheTtl(), 0), MILLISECONDS)
+            .recordStats()
+            .build();
+        GuavaCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public EventListQueryResponse get(String nhsNumber, String nhsdAsid, Supplier<EventListQueryResponse> loader) {
+        var key = new Key(nhsNumber, nhsdAsid);
+        var generation = generation(nhsNumber);
+        var entry = load(key, generation, loader);
+        if (entry.getGeneration() < generation) {
+            // loaded before the patient was invalidated
+            cache.asMap().remove(key, entry);
+            entry = load(key, generation, loader);
+        }
+        return entry.getResponse();
+    }
+
+    @SneakyThrows
+    private Entry load(Key key, long generation, Supplier<EventListQueryResponse> loader) {
+        try {
+            return cache.get(key, () -> new Entry(generation, loader.get()));
+        } catch (UncheckedExecutionException | ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Non-blocking variant. Unlike {@link #get} concurrent misses each subscribe to their loader, identical Spine requests are
+     * shared by {@link SpineQueryCoalescer#executeReactive}.
+     */
+    public Mono<EventListQueryResponse> getReactive(String nhsNumber, String nhsdAsid, Supplier<Mono<EventListQueryResponse>> loader) {
+        var key = new Key(nhsNumber, nhsdAsid);
+        return Mono.defer(() -> {
+            var generation = generation(nhsNumber);
+            var cached = cache.getIfPresent(key);
+            if (cached != null && cached.getGeneration() >= generation) {
+                return Mono.just(cached.getResponse());
+            }
+            return loader.get().doOnNext(response -> {
+                if (generation(nhsNumber) == generation) {
+                    cache.put(key, new Entry(generation, response));
+                }
+            });
+        });
+    }
+
+    public void invalidate(String nhsNumber) {
+        LOGGER.debug("Invalidating cached event list query results");
+        generations.incrementAndGet(stripe(nhsNumber));
+        cache.asMap().keySet().removeIf(key -> key.getNhsNumber().equals(nhsNumber));
+    }
+
+    private long generation(String nhsNumber) {
+        return generations.get(stripe(nhsNumber));
+    }
+
+    private static int stripe(String nhsNumber) {
+        return Math.floorMod(nhsNumber.hashCode(), GENERATION_STRIPES);
+    }
+
+    @Value
+    private static class Key {
+        String nhsNumber;
+        String nhsdAsid;
+    }
+
+    @Value
+    private static class Entry {
+        long generation;
+        EventListQueryResponse response;
+    }
+}
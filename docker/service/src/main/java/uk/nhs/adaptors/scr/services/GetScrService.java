@@ -22,10 +22,14 @@ import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.w3c.dom.Document;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 import uk.nhs.adaptors.scr.clients.spine.SpineClientContract;
 import uk.nhs.adaptors.scr.clients.spine.SpineHttpClient.Response;
+import uk.nhs.adaptors.scr.config.MdcContext;
 import uk.nhs.adaptors.scr.config.ScrConfiguration;
 import uk.nhs.adaptors.scr.config.SpineConfiguration;
+import uk.nhs.adaptors.scr.exceptions.ServiceUnavailableException;
 import uk.nhs.adaptors.scr.logging.LogExecutionTime;
 import uk.nhs.adaptors.scr.mappings.from.hl7.CareEventsMapper;
 import uk.nhs.adaptors.scr.mappings.from.hl7.DiagnosisMapper;
@@ -35,6 +39,7 @@ import uk.nhs.adaptors.scr.mappings.from.hl7.GpSummaryMapper;
 import uk.nhs.adaptors.scr.mappings.from.hl7.InteractionMapper;
 import uk.nhs.adaptors.scr.mappings.from.hl7.InvestigationsMapper;
 import uk.nhs.adaptors.scr.mappings.from.hl7.LifestylesMapper;
+import uk.nhs.adaptors.scr.mappings.from.hl7.ParallelSectionMapper;
 import uk.nhs.adaptors.scr.mappings.from.hl7.PatientAndCarerCorrespondenceMapper;
 import uk.nhs.adaptors.scr.mappings.from.hl7.PersonalPreferencesMapper;
 import uk.nhs.adaptors.scr.mappings.from.hl7.ProblemsMapper;
@@ -42,14 +47,23 @@ import uk.nhs.adaptors.scr.mappings.from.hl7.ProvisionsOfAdviceAndInfoMapper;
 import uk.nhs.adaptors.scr.mappings.from.hl7.RecordTargetMapper;
 import uk.nhs.adaptors.scr.mappings.from.hl7.RisksToPatientMapper;
 import uk.nhs.adaptors.scr.mappings.from.hl7.SocialOrPersonalCircumstancesMapper;
+import uk.nhs.adaptors.scr.mappings.from.hl7.StaxScrMapper;
 import uk.nhs.adaptors.scr.mappings.from.hl7.TreatmentsMapper;
+import uk.nhs.adaptors.scr.mappings.from.hl7.XmlToFhirMapper;
 import uk.nhs.adaptors.scr.models.EventListQueryParams;
 import uk.nhs.adaptors.scr.models.EventListQueryResponse;
 import uk.nhs.adaptors.scr.models.EventListQueryResponseParser;
 import uk.nhs.adaptors.scr.models.EventQueryParams;
 import uk.nhs.adaptors.scr.utils.TemplateUtils;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.Duration;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import static java.time.OffsetDateTime.now;
@@ -58,7 +72,9 @@ import static java.util.Arrays.asList;
 import static org.hl7.fhir.r4.model.Bundle.BundleType.SEARCHSET;
 import static org.hl7.fhir.r4.model.Bundle.SearchEntryMode.MATCH;
 import static org.hl7.fhir.r4.model.Enumerations.DocumentReferenceStatus.CURRENT;
+import static uk.nhs.adaptors.scr.config.ScrConfiguration.MappingEngine.STAX;
 import static uk.nhs.adaptors.scr.mappings.from.hl7.HtmlParser.serialize;
+import static uk.nhs.adaptors.scr.utils.DocumentBuilderUtil.parseDocument;
 import static uk.nhs.adaptors.scr.utils.FhirHelper.randomUUID;
 import static uk.nhs.adaptors.scr.utils.TemplateUtils.loadTemplate;
 
@@ -70,6 +86,9 @@ public class GetScrService {
     private static final Mustache QUPC_IN180000SM04_TEMPLATE = loadTemplate("QUPC_IN180000SM04.mustache");
     private static final Mustache QUPC_IN190000UK04_TEMPLATE = loadTemplate("QUPC_IN190000UK04.mustache");
     private static final String CORRELATION_ID_MDC_KEY = "CorrelationId";
+    private static final String EVENT_LIST_QUERY = "QUPC_IN180000SM04";
+    private static final String EVENT_QUERY = "QUPC_IN190000UK04";
+    private static final Duration MAPPING_RETRY_AFTER = Duration.ofSeconds(1);
 
     private static final String ACS_SYSTEM = "https://fhir.nhs.uk/CodeSystem/SCR-ACSPermission";
     private static final String NHS_ID_SYSTEM = "https://fhir.nhs.uk/Id/nhs-number";
@@ -109,17 +128,26 @@ public class GetScrService {
     private final RisksToPatientMapper risksToPatientMapper;
     private final SocialOrPersonalCircumstancesMapper socialOrPersonalCircumstancesMapper;
     private final TreatmentsMapper treatmentsMapper;
+
+    private final ParallelSectionMapper parallelSectionMapper;
+    private final StaxScrMapper staxScrMapper;
     private final EventListQueryResponseParser eventListQueryResponseParser;
+    private final EventListQueryCache eventListQueryCache;
+    private final SpineQueryCoalescer spineQueryCoalescer;
     private final SpineResponseParser spineResponseParser;
     private final SpineDetectedIssuesHandler spineDetectedIssuesHandler;
+    private final Scheduler scrMappingScheduler;
 
+    /**
+     * GET /DocumentReference search, no thread is held while waiting for Spine.
+     */
     @LogExecutionTime
-    public Bundle getScrId(String nhsNumber, String nhsdAsid, String clientIp) {
-        Document scrIdXml = getScrIdRawXml(nhsNumber, nhsdAsid, clientIp);
-        checkDetectedIssues(scrIdXml);
-
-        EventListQueryResponse response = eventListQueryResponseParser.parseXml(scrIdXml);
+    public Mono<Bundle> getScrIdReactive(String nhsNumber, String nhsdAsid, String clientIp) {
+        return getEventListQueryResponseReactive(nhsNumber, nhsdAsid, clientIp)
+            .map(response -> buildScrIdBundle(nhsNumber, response));
+    }
 
+    private Bundle buildScrIdBundle(String nhsNumber, EventListQueryResponse response) {
         Bundle bundle = buildBundle();
         if (StringUtils.isNotEmpty(response.getLatestScrId())) {
             bundle.setTotal(1);
@@ -151,49 +179,89 @@ public class GetScrService {
         return bundle;
     }
 
+    /**
+     * GET /Bundle search. Both Spine queries are sent without holding a thread, the responses are parsed and mapped
+     * on the bounded mapping scheduler.
+     */
     @LogExecutionTime
-    public Bundle getScr(String nhsNumber, String compositionId, String nhsdAsid, String clientIp) {
-        Document scrIdXml = getScrIdRawXml(nhsNumber, nhsdAsid, clientIp);
-        checkDetectedIssues(scrIdXml);
-        EventListQueryResponse response = eventListQueryResponseParser.parseXml(scrIdXml);
-
-        if (StringUtils.equals(response.getLatestScrId(), compositionId)) {
-            Document document = getScrRawXml(response.getLatestScrId(), nhsNumber, nhsdAsid, clientIp);
-            logXml("Received SCR XML: {}", document);
-            checkDetectedIssues(document);
-
-            var bundle = interactionMapper.map(document);
-            Patient patient = recordTargetMapper.mapPatient(document);
-
-            Stream.of(
-                    gpSummaryMapper, // important that this is mapped first to get core patient data
-                    careEventsMapper,
-                    diagnosisMapper,
-                    familyHistoriesMapper,
-                    findingsMapper,
-                    investigationsMapper,
-                    lifestylesMapper,
-                    patientAndCarerCorrespondenceMapper,
-                    personalPreferencesMapper,
-                    problemsMapper,
-                    provisionsOfAdviceAndInfoMapper,
-                    risksToPatientMapper,
-                    socialOrPersonalCircumstancesMapper,
-                    treatmentsMapper)
-                    .map(mapper -> mapper.map(document))
-                    .flatMap(resources -> resources.stream())
-                    .peek(it -> setPatientReferences(it, patient))
-                    .map(resource -> getBundleEntryComponent(resource))
-                    .forEach(bundle::addEntry);
-
-            bundle.addEntry(getBundleEntryComponent(patient));
-            bundle.setTotal(bundle.getEntry().size());
-
-            return bundle;
+    public Mono<Bundle> getScrReactive(String nhsNumber, String compositionId, String nhsdAsid, String clientIp) {
+        var mdc = MDC.getCopyOfContextMap();
+        return getEventListQueryResponseReactive(nhsNumber, nhsdAsid, clientIp)
+            .flatMap(response -> {
+                if (!StringUtils.equals(response.getLatestScrId(), compositionId)) {
+                    return onMappingScheduler(mdc, interactionMapper::mapToEmpty);
+                }
+                return MdcContext.call(mdc, () -> getScrRawXmlReactive(response.getLatestScrId(), nhsNumber, nhsdAsid, clientIp))
+                    .flatMap(scrXml -> onMappingScheduler(mdc, () -> mapScr(scrXml)));
+            });
+    }
 
-        } else {
-            return interactionMapper.mapToEmpty();
+    private Bundle mapScr(byte[] scrXml) {
+        if (scrConfiguration.getMappingEngine() == STAX) {
+            return mapStreamedScr(new ByteArrayInputStream(scrXml));
         }
+        return mapScr(parseDocument(new ByteArrayInputStream(scrXml)));
+    }
+
+    private Bundle mapScr(Document document) {
+        logXml("Received SCR XML: {}", document);
+        checkDetectedIssues(document);
+
+        var bundle = interactionMapper.map(document);
+        Patient patient = recordTargetMapper.mapPatient(document);
+
+        var sections = parallelSectionMapper.map(document, getSectionMappers());
+        // important that GP summary is mapped first to get core patient data
+        var gpSummary = gpSummaryMapper.map(sections.getDocument(), gpSummaryMapper.sectionReferences(document));
+        var resources = Stream.concat(gpSummary.stream(), sections.getSectionResources().stream());
+
+        return addEntries(bundle, resources, patient);
+    }
+
+    private Bundle mapStreamedScr(InputStream scrXml) {
+        var sections = staxScrMapper.map(scrXml, getSectionMappers(), header -> {
+            logXml("Received SCR XML (up to the first pertinentInformation2 section): {}", header);
+            checkDetectedIssues(header);
+        });
+        Document document = sections.getDocument();
+
+        var bundle = interactionMapper.map(document);
+        Patient patient = recordTargetMapper.mapPatient(document);
+
+        var resources = Stream.concat(
+            gpSummaryMapper.map(document, sections.getSectionReferences()).stream(),
+            sections.getSectionResources().stream());
+
+        return addEntries(bundle, resources, patient);
+    }
+
+    private Bundle addEntries(Bundle bundle, Stream<? extends Resource> resources, Patient patient) {
+        resources
+            .peek(it -> setPatientReferences(it, patient))
+            .map(resource -> getBundleEntryComponent(resource))
+            .forEach(bundle::addEntry);
+
+        bundle.addEntry(getBundleEntryComponent(patient));
+        bundle.setTotal(bundle.getEntry().size());
+
+        return bundle;
+    }
+
+    private List<XmlToFhirMapper> getSectionMappers() {
+        return List.of(
+            careEventsMapper,
+            diagnosisMapper,
+            familyHistoriesMapper,
+            findingsMapper,
+            investigationsMapper,
+            lifestylesMapper,
+            patientAndCarerCorrespondenceMapper,
+            personalPreferencesMapper,
+            problemsMapper,
+            provisionsOfAdviceAndInfoMapper,
+            risksToPatientMapper,
+            socialOrPersonalCircumstancesMapper,
+            treatmentsMapper);
     }
 
     private BundleEntryComponent getBundleEntryComponent(Resource resource) {
@@ -212,18 +280,62 @@ public class GetScrService {
         }
     }
 
+    /**
+     * Sends the event list query, or reuses a recent result for the same NHS number and ASID.
+     * Throws the mapped exception when Spine returns detected issues.
+     */
     @LogExecutionTime
-    public Document getScrIdRawXml(String nhsNumber, String nhsdAsid, String clientIp) {
+    public EventListQueryResponse getEventListQueryResponse(String nhsNumber, String nhsdAsid, String clientIp) {
+        var key = new SpineQueryCoalescer.Key(EVENT_LIST_QUERY, nhsNumber, null, nhsdAsid);
+        return eventListQueryCache.get(nhsNumber, nhsdAsid, () -> spineQueryCoalescer.execute(key, () -> {
+            Document scrIdXml = getScrIdRawXml(nhsNumber, nhsdAsid, clientIp);
+            checkDetectedIssues(scrIdXml);
+            return eventListQueryResponseParser.parseXml(scrIdXml);
+        }));
+    }
+
+    /**
+     * Non-blocking {@link #getEventListQueryResponse}, the response is parsed on the mapping scheduler.
+     */
+    private Mono<EventListQueryResponse> getEventListQueryResponseReactive(String nhsNumber, String nhsdAsid, String clientIp) {
+        var mdc = MDC.getCopyOfContextMap();
+        var key = new SpineQueryCoalescer.Key(EVENT_LIST_QUERY, nhsNumber, null, nhsdAsid);
+        return eventListQueryCache.getReactive(nhsNumber, nhsdAsid, () -> spineQueryCoalescer.executeReactive(key, () ->
+            spineClient.sendGetScrIdReactive(prepareEventListQueryRequest(nhsNumber, nhsdAsid, clientIp), nhsdAsid)
+                .flatMap(result -> onMappingScheduler(mdc, () -> {
+                    Document scrIdXml = parseDocument(new ByteArrayInputStream(result.getBody()));
+                    logXml("Received SCR ID XML: {}", scrIdXml);
+                    checkDetectedIssues(scrIdXml);
+                    return eventListQueryResponseParser.parseXml(scrIdXml);
+                }))));
+    }
+
+    private Document getScrIdRawXml(String nhsNumber, String nhsdAsid, String clientIp) {
         String requestBody = prepareEventListQueryRequest(nhsNumber, nhsdAsid, clientIp);
         Response<Document> result = spineClient.sendGetScrId(requestBody, nhsdAsid);
         logXml("Received SCR ID XML: {}", result.getBody());
         return result.getBody();
     }
 
-    private Document getScrRawXml(String psisEventId, String nhsNumber, String nhsdAsid, String clientIp) {
+    /**
+     * The request is prepared when called, subscribers may run without the caller's MDC.
+     */
+    private Mono<byte[]> getScrRawXmlReactive(String psisEventId, String nhsNumber, String nhsdAsid, String clientIp) {
+        var key = new SpineQueryCoalescer.Key(EVENT_QUERY, nhsNumber, psisEventId, nhsdAsid);
         String requestBody = prepareEventQueryRequest(psisEventId, nhsNumber, nhsdAsid, clientIp);
-        Response<Document> result = spineClient.sendGetScr(requestBody, nhsdAsid);
-        return result.getBody();
+        return spineQueryCoalescer.executeReactive(key, () -> spineClient.sendGetScrReactive(requestBody, nhsdAsid)
+            .map(Response::getBody));
+    }
+
+    /**
+     * Runs CPU bound parsing and mapping on the bounded mapping scheduler with the caller's MDC. When the scheduler's queue
+     * is full the request fails with a 503 rather than queueing more work.
+     */
+    private <T> Mono<T> onMappingScheduler(Map<String, String> mdc, Supplier<T> mapping) {
+        return Mono.fromSupplier(() -> MdcContext.call(mdc, mapping))
+            .subscribeOn(scrMappingScheduler)
+            .onErrorMap(RejectedExecutionException.class,
+                e -> new ServiceUnavailableException("Too many SCR responses being mapped, try again later", MAPPING_RETRY_AFTER));
     }
 
     private void checkDetectedIssues(Document document) {
@@ -0,0 +1,56 @@
+package uk.nhs.adaptors.scr.services;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import uk.nhs.adaptors.scr.config.SdsConfiguration;
+
+import java.util.Optional;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Keeps SDS job role codes per NHSD session URID. URIDs SDS has no role code for are kept for a shorter time so a newly
+ * assigned role is picked up sooner.
+ */
+@Component
+public class SdsRoleCodeCache {
+
+    private final Cache<String, String> roleCodes;
+    private final Cache<String, String> missingRoleCodes;
+
+    @Autowired
+    public SdsRoleCodeCache(SdsConfiguration sdsConfiguration, MeterRegistry meterRegistry) {
+        roleCodes = CacheBuilder.newBuilder()
+            .maximumSize(sdsConfiguration.getRoleCodeCacheSize())
+            .expireAfterWrite(Math.max(sdsConfiguration.getRoleCodeCacheTtl(), 0), MILLISECONDS)
+            .recordStats()
+            .build();
+        missingRoleCodes = CacheBuilder.newBuilder()
+            .maximumSize(sdsConfiguration.getRoleCodeCacheSize())
+            .expireAfterWrite(Math.max(sdsConfiguration.getRoleCodeNegativeCacheTtl(), 0), MILLISECONDS)
+            .recordStats()
+            .build();
+        GuavaCacheMetrics.monitor(meterRegistry, roleCodes, "sdsRoleCode");
+        GuavaCacheMetrics.monitor(meterRegistry, missingRoleCodes, "sdsMissingRoleCode");
+    }
+
+    public Optional<String> get(String nhsdSessionUrid) {
+        var roleCode = roleCodes.getIfPresent(nhsdSessionUrid);
+        if (roleCode == null) {
+            roleCode = missingRoleCodes.getIfPresent(nhsdSessionUrid);
+        }
+        return Optional.ofNullable(roleCode);
+    }
+
+    public void put(String nhsdSessionUrid, String roleCode) {
+        if (roleCode.isEmpty()) {
+            missingRoleCodes.put(nhsdSessionUrid, roleCode);
+        } else {
+            roleCodes.put(nhsdSessionUrid, roleCode);
+        }
+    }
+}
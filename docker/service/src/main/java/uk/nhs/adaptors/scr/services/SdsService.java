@@ -2,14 +2,17 @@ package uk.nhs.adaptors.scr.services;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.http.client.utils.URIBuilder;
 import org.hl7.fhir.r4.model.Bundle;
 import org.hl7.fhir.r4.model.PractitionerRole;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
 import uk.nhs.adaptors.scr.clients.sds.SdsClient;
 import uk.nhs.adaptors.scr.config.SdsConfiguration;
 
+import java.net.URI;
 import java.net.URISyntaxException;
 
 @Component
@@ -20,21 +23,46 @@ public class SdsService {
     private static final String USER_ROLE_ID_FHIR_IDENTIFIER = "https://fhir.nhs.uk/Id/nhsJobRoleCode";
     private final SdsConfiguration sdsConfiguration;
     private final SdsClient sdsClient;
+    private final SdsRoleCodeCache sdsRoleCodeCache;
 
     public String getUserRoleCode(String nhsdSessionUrid) throws URISyntaxException {
+        var cached = sdsRoleCodeCache.get(nhsdSessionUrid);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        var response = sdsClient.sendGet(buildUri(nhsdSessionUrid));
+
+        var roleCode = getCodeFromBundle(response);
+        sdsRoleCodeCache.put(nhsdSessionUrid, roleCode);
+        return roleCode;
+    }
+
+    /**
+     * Non-blocking variant of {@link #getUserRoleCode(String)} for callers combining it with other requests.
+     */
+    public Mono<String> getUserRoleCodeAsync(String nhsdSessionUrid) {
+        var cached = sdsRoleCodeCache.get(nhsdSessionUrid);
+        if (cached.isPresent()) {
+            return Mono.just(cached.get());
+        }
+
+        return Mono.fromCallable(() -> buildUri(nhsdSessionUrid))
+            .flatMap(sdsClient::get)
+            .map(this::getCodeFromBundle)
+            .defaultIfEmpty("")
+            .doOnNext(roleCode -> sdsRoleCodeCache.put(nhsdSessionUrid, roleCode));
+    }
 
+    private URI buildUri(String nhsdSessionUrid) throws URISyntaxException {
         var baseUrl = sdsConfiguration.getBaseUrl();
 
         var userRoleId = USER_ROLE_ID_FHIR_IDENTIFIER + "|" + nhsdSessionUrid;
 
-        var uri = new URIBuilder(baseUrl + "/PractitionerRole")
+        return new URIBuilder(baseUrl + "/PractitionerRole")
             .setScheme("http")
             .addParameter("user-role-id", userRoleId)
             .build();
-
-        var response = sdsClient.sendGet(uri);
-
-        return getCodeFromBundle(response);
     }
 
     private String getCodeFromBundle(Bundle bundle) {
@@ -61,6 +89,6 @@ public class SdsService {
             return "";
         }
 
-        return roleCode.getCodingFirstRep().getCode();
+        return StringUtils.defaultString(roleCode.getCodingFirstRep().getCode());
     }
 }
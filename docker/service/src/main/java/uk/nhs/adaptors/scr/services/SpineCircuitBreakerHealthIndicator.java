@@ -0,0 +1,34 @@
+package uk.nhs.adaptors.scr.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+import uk.nhs.adaptors.scr.clients.spine.SpineResilience;
+
+import java.util.Map;
+
+/**
+ * Reports the state and failure rates of each Spine interaction's circuit breaker. Stays UP while breakers are open,
+ * taking the node out of service would not bring Spine back.
+ */
+@Component
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class SpineCircuitBreakerHealthIndicator implements HealthIndicator {
+
+    private final SpineResilience spineResilience;
+
+    @Override
+    public Health health() {
+        var health = Health.up();
+        spineResilience.getCircuitBreakers().forEach((interaction, circuitBreaker) -> {
+            var metrics = circuitBreaker.getMetrics();
+            health.withDetail(interaction.name(), Map.of(
+                "state", circuitBreaker.getState(),
+                "failureRate", metrics.getFailureRate(),
+                "slowCallRate", metrics.getSlowCallRate()));
+        });
+        return health.build();
+    }
+}
@@ -0,0 +1,118 @@
+package uk.nhs.adaptors.scr.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import static uk.nhs.adaptors.scr.config.ConversationIdFilter.CORRELATION_ID_MDC_KEY;
+
+/**
+ * Lets concurrent identical Spine queries share one request. The first caller sends it, callers arriving while it is in flight
+ * wait for its result (or exception) instead of sending their own. Nothing is kept once the request has completed.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class SpineQueryCoalescer {
+
+    private static final String COALESCED_METRIC = "spine.queries.coalesced";
+    private static final String INTERACTION_TAG = "interaction";
+
+    private final ConcurrentMap<Key, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * The shared result is handed to every caller, so it must not be modified.
+     */
+    @SneakyThrows
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Key key, Supplier<T> query) {
+        var request = new InFlight(MDC.get(CORRELATION_ID_MDC_KEY));
+        var existing = inFlight.putIfAbsent(key, request);
+        if (existing != null) {
+            onJoined(key, existing);
+            try {
+                return (T) existing.getResult().join();
+            } catch (CompletionException e) {
+                throw e.getCause();
+            }
+        }
+
+        try {
+            T result = query.get();
+            request.getResult().complete(result);
+            return result;
+        } catch (Throwable e) {
+            request.getResult().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, request);
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #execute}. The first caller's query runs to completion even when that caller cancels,
+     * so callers that joined it still get the result.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> executeReactive(Key key, Supplier<Mono<T>> query) {
+        var correlationId = MDC.get(CORRELATION_ID_MDC_KEY);
+        return Mono.defer(() -> {
+            var request = new InFlight(correlationId);
+            var existing = inFlight.putIfAbsent(key, request);
+            if (existing != null) {
+                onJoined(key, existing);
+                return Mono.fromFuture((CompletableFuture<T>) existing.getResult());
+            }
+
+            Mono.defer(query)
+                .doFinally(signal -> inFlight.remove(key, request))
+                .subscribe(request.getResult()::complete, request.getResult()::completeExceptionally,
+                    () -> request.getResult().complete(null));
+            return Mono.fromFuture((CompletableFuture<T>) request.getResult());
+        });
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    private void onJoined(Key key, InFlight existing) {
+        LOGGER.info("Joining in-flight Spine {} request sent by CorrelationId={}", key.getInteraction(),
+            existing.getCorrelationId());
+        Counter.builder(COALESCED_METRIC)
+            .description("Spine queries answered by an identical request already in flight")
+            .tag(INTERACTION_TAG, key.getInteraction())
+            .register(meterRegistry)
+            .increment();
+    }
+
+    @Value
+    public static class Key {
+        String interaction;
+        String nhsNumber;
+        String psisEventId;
+        String nhsdAsid;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class InFlight {
+        private final String correlationId;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+    }
+}
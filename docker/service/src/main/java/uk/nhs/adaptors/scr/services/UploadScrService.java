@@ -25,6 +25,7 @@ import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static java.lang.Long.parseLong;
 import static org.springframework.http.HttpHeaders.CONTENT_LOCATION;
@@ -41,14 +42,31 @@ public class UploadScrService {
     private final SpineClientContract spineClient;
     private final GetScrService getScrService;
     private final BundleMapper bundleMapper;
-    private final SpineResponseParser spineResponseParser;
-    private final SpineDetectedIssuesHandler spineDetectedIssuesHandler;
+    private final EventListQueryCache eventListQueryCache;
 
+    /**
+     * Sends the SCR to Spine and polls for its processing result. The returned future completes once the result has been
+     * received and validated, no thread is held while waiting for it. onSpineAccepted runs when Spine has accepted the
+     * SCR, before polling starts.
+     */
     @LogExecutionTime
-    public void uploadScr(RequestData requestData) {
+    public CompletableFuture<Void> uploadScr(RequestData requestData, Runnable onSpineAccepted) {
         Bundle bundle = fhirParser.parseResource(requestData.getBody(), Bundle.class);
-        var spineRequest = bundleMapper.map(bundle, requestData.getNhsdAsid());
-        checkPermission(bundle, requestData.getNhsdAsid(), requestData.getClientIp());
+        return uploadScr(requestData, bundle, onSpineAccepted);
+    }
+
+    /**
+     * As {@link #uploadScr(RequestData, Runnable)} for a document Bundle that has already been parsed, the request body is
+     * not used.
+     */
+    public CompletableFuture<Void> uploadScr(RequestData requestData, Bundle bundle) {
+        return uploadScr(requestData, bundle, () -> { });
+    }
+
+    private CompletableFuture<Void> uploadScr(RequestData requestData, Bundle bundle, Runnable onSpineAccepted) {
+        var spineRequest = bundleMapper.mapToHttpEntity(bundle, requestData.getNhsdAsid());
+        String nhsNumber = getNhsNumber(bundle);
+        checkPermission(nhsNumber, requestData.getNhsdAsid(), requestData.getClientIp());
         var response = spineClient.sendScrData(spineRequest, requestData.getNhsdAsid(),
             requestData.getNhsdIdentity(), requestData.getNhsdSessionUrid());
 
@@ -60,18 +78,18 @@ public class UploadScrService {
         } catch (Exception ex) {
             throw new UnexpectedSpineResponseException("Unable to extract required headers", ex);
         }
+        onSpineAccepted.run();
 
-        var processingResult = spineClient.getScrProcessingResult(contentLocation, retryAfter, requestData.getNhsdAsid(),
-            requestData.getNhsdIdentity(), requestData.getNhsdSessionUrid());
-        validateProcessingResult(processingResult);
+        return spineClient.getScrProcessingResult(contentLocation, retryAfter, requestData.getNhsdAsid(),
+                requestData.getNhsdIdentity(), requestData.getNhsdSessionUrid())
+            .thenAccept(this::validateProcessingResult)
+            // the record may have been stored even when polling failed or timed out
+            .whenComplete((result, error) -> eventListQueryCache.invalidate(nhsNumber));
     }
 
-    private void checkPermission(Bundle bundle, String nhsdAsid, String clientIp) {
+    private void checkPermission(String nhsNumber, String nhsdAsid, String clientIp) {
         LOGGER.info("Checking permission to store SCR");
-        String nhsNumber = getNhsNumber(bundle);
-        Document scrIdXml = getScrService.getScrIdRawXml(nhsNumber, nhsdAsid, clientIp);
-        var detectedIssues = spineResponseParser.getDetectedIssues(scrIdXml);
-        spineDetectedIssuesHandler.handleDetectedIssues(detectedIssues);
+        getScrService.getEventListQueryResponse(nhsNumber, nhsdAsid, clientIp);
     }
 
     private String getNhsNumber(Bundle bundle) {
@@ -0,0 +1,104 @@
+package uk.nhs.adaptors.scr.utils;
+
+import org.hl7.fhir.r4.model.Bundle;
+import org.hl7.fhir.r4.model.Bundle.BundleEntryComponent;
+import org.hl7.fhir.r4.model.CodeableConcept;
+import org.hl7.fhir.r4.model.Communication;
+import org.hl7.fhir.r4.model.Condition;
+import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.Procedure;
+import org.hl7.fhir.r4.model.Resource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bundle resources grouped by type, by Type/id reference and by category code, so lookups made while mapping
+ * a GP summary don't scan the whole bundle each time. Built on first use and kept in the Bundle's user data until
+ * {@link #clear(Bundle)}. It does not see changes made to the bundle afterwards, so code that changes a bundle it has
+ * already looked resources up in must clear the index first. BundleMapper clears it once the GP summary is mapped.
+ */
+public final class BundleIndex {
+
+    private static final String USER_DATA_KEY = BundleIndex.class.getName();
+
+    private final Map<Class<? extends Resource>, List<Resource>> byType = new HashMap<>();
+    private final Map<String, Resource> byReference = new HashMap<>();
+    private final Map<Class<? extends Resource>, Map<String, List<Resource>>> byCategory = new HashMap<>();
+
+    private BundleIndex(Bundle bundle) {
+        for (BundleEntryComponent entry : bundle.getEntry()) {
+            var resource = entry.getResource();
+            if (resource == null) {
+                continue;
+            }
+            var resourceType = resource.getClass();
+            byType.computeIfAbsent(resourceType, type -> new ArrayList<>()).add(resource);
+            byReference.putIfAbsent(reference(resourceType, resource.getIdElement().getIdPart()), resource);
+            getCategoryCode(resource).ifPresent(categoryCode -> byCategory
+                .computeIfAbsent(resourceType, type -> new HashMap<>())
+                .computeIfAbsent(categoryCode, code -> new ArrayList<>())
+                .add(resource));
+        }
+    }
+
+    public static BundleIndex of(Bundle bundle) {
+        var index = (BundleIndex) bundle.getUserData(USER_DATA_KEY);
+        if (index == null) {
+            index = new BundleIndex(bundle);
+            bundle.setUserData(USER_DATA_KEY, index);
+        }
+        return index;
+    }
+
+    public static void clear(Bundle bundle) {
+        bundle.setUserData(USER_DATA_KEY, null);
+    }
+
+    public <T extends Resource> List<T> getResources(Class<T> resourceType) {
+        return cast(byType.get(resourceType));
+    }
+
+    public <T extends Resource> List<T> getResources(Class<T> resourceType, String categoryCode) {
+        return cast(byCategory.getOrDefault(resourceType, Map.of()).get(categoryCode));
+    }
+
+    public <T extends Resource> Optional<T> getResource(Class<T> resourceType, String id) {
+        return Optional.ofNullable(byReference.get(reference(resourceType, id))).map(resourceType::cast);
+    }
+
+    private static String reference(Class<? extends Resource> resourceType, String id) {
+        return resourceType.getSimpleName() + "/" + id;
+    }
+
+    /**
+     * The first category code of the resource types mapped by category, read without creating empty elements on the resource.
+     */
+    private static Optional<String> getCategoryCode(Resource resource) {
+        return getCategory(resource)
+            .filter(CodeableConcept::hasCoding)
+            .map(category -> category.getCoding().get(0).getCode());
+    }
+
+    private static Optional<CodeableConcept> getCategory(Resource resource) {
+        if (resource instanceof Observation && ((Observation) resource).hasCategory()) {
+            return Optional.of(((Observation) resource).getCategory().get(0));
+        } else if (resource instanceof Condition && ((Condition) resource).hasCategory()) {
+            return Optional.of(((Condition) resource).getCategory().get(0));
+        } else if (resource instanceof Communication && ((Communication) resource).hasCategory()) {
+            return Optional.of(((Communication) resource).getCategory().get(0));
+        } else if (resource instanceof Procedure && ((Procedure) resource).hasCategory()) {
+            return Optional.of(((Procedure) resource).getCategory());
+        }
+        return Optional.empty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Resource> List<T> cast(List<Resource> resources) {
+        return resources == null ? List.of() : Collections.unmodifiableList((List<T>) resources);
+    }
+}
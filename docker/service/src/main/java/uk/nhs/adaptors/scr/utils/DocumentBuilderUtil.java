@@ -6,6 +6,7 @@ import org.xml.sax.InputSource;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.InputStream;
 import java.io.StringReader;
 
 import static javax.xml.XMLConstants.ACCESS_EXTERNAL_DTD;
@@ -26,4 +27,9 @@ public class DocumentBuilderUtil {
     public static Document parseDocument(String xml) {
         return documentBuilder().parse(new InputSource(new StringReader(xml)));
     }
+
+    @SneakyThrows
+    public static Document parseDocument(InputStream xml) {
+        return documentBuilder().parse(xml);
+    }
 }
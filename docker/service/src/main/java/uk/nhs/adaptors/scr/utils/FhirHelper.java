@@ -2,7 +2,6 @@ package uk.nhs.adaptors.scr.utils;
 
 import org.apache.commons.lang3.StringUtils;
 import org.hl7.fhir.r4.model.Bundle;
-import org.hl7.fhir.r4.model.Bundle.BundleEntryComponent;
 import org.hl7.fhir.r4.model.Identifier;
 import org.hl7.fhir.r4.model.Patient;
 import org.hl7.fhir.r4.model.Resource;
@@ -12,7 +11,6 @@ import uk.nhs.adaptors.scr.exceptions.FhirValidationException;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 public class FhirHelper {
 
@@ -20,10 +18,7 @@ public class FhirHelper {
     public static final String UUID_IDENTIFIER_SYSTEM = "https://tools.ietf.org/html/rfc4122";
 
     public static <T extends Resource> T getDomainResource(Bundle bundle, Class<T> resourceType) {
-        return bundle.getEntry().stream()
-            .map(Bundle.BundleEntryComponent::getResource)
-            .filter(resource -> resource.getClass() == resourceType)
-            .map(resourceType::cast)
+        return BundleIndex.of(bundle).getResources(resourceType).stream()
             .reduce((a, b) -> {
                 throw new FhirMappingException("There is more than 1 resource of type " + resourceType.getSimpleName());
             })
@@ -31,11 +26,14 @@ public class FhirHelper {
     }
 
     public static <T extends Resource> List<T> getDomainResourceList(Bundle bundle, Class<T> resourceType) {
-        return bundle.getEntry().stream()
-            .map(BundleEntryComponent::getResource)
-            .filter(resource -> resource.getClass() == resourceType)
-            .map(resourceType::cast)
-            .collect(Collectors.toList());
+        return BundleIndex.of(bundle).getResources(resourceType);
+    }
+
+    /**
+     * @return resources whose first category coding has the given code
+     */
+    public static <T extends Resource> List<T> getDomainResourceList(Bundle bundle, Class<T> resourceType, String categoryCode) {
+        return BundleIndex.of(bundle).getResources(resourceType, categoryCode);
     }
 
     public static <T extends Resource> Optional<T> getResourceByReference(Bundle bundle, String reference, Class<T> resourceType) {
@@ -46,12 +44,7 @@ public class FhirHelper {
         }
 
         var resourceId = reference.split("/")[1];
-        return bundle.getEntry().stream()
-            .map(BundleEntryComponent::getResource)
-            .filter(resource -> resourceType == resource.getClass())
-            .map(resourceType::cast)
-            .filter(resource -> resourceId.equals(resource.getIdElement().getIdPart()))
-            .findFirst();
+        return BundleIndex.of(bundle).getResource(resourceType, resourceId);
     }
 
     public static String randomUUID() {
@@ -4,6 +4,17 @@ import org.hl7.fhir.r4.model.CodeableConcept;
 import org.hl7.fhir.r4.model.OperationOutcome;
 import org.hl7.fhir.r4.model.OperationOutcome.IssueSeverity;
 import org.hl7.fhir.r4.model.OperationOutcome.IssueType;
+import org.springframework.http.HttpStatus;
+import uk.nhs.adaptors.scr.exceptions.OperationOutcomeError;
+
+import javax.validation.ConstraintViolationException;
+
+import static org.hl7.fhir.r4.model.OperationOutcome.IssueSeverity.ERROR;
+import static org.apache.commons.lang3.StringUtils.isNotEmpty;
+import static org.hl7.fhir.r4.model.OperationOutcome.IssueType.EXCEPTION;
+import static org.hl7.fhir.r4.model.OperationOutcome.IssueType.VALUE;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
 
 public class OperationOutcomeUtils {
     public static OperationOutcome createOperationOutcome(IssueType type, IssueSeverity severity, String message) {
@@ -14,4 +25,34 @@ public class OperationOutcomeUtils {
             .setDetails(new CodeableConcept().setText(message));
         return operationOutcome;
     }
+
+    public static OperationOutcome createOperationOutcome(Throwable error) {
+        if (error instanceof OperationOutcomeError) {
+            return ((OperationOutcomeError) error).getOperationOutcome();
+        }
+        if (error instanceof ConstraintViolationException) {
+            return createOperationOutcome(VALUE, ERROR, removeMethodNamePrefix(error.getMessage()));
+        }
+        return createOperationOutcome(EXCEPTION, ERROR, error.getMessage());
+    }
+
+    public static HttpStatus getStatusCode(Throwable error) {
+        if (error instanceof OperationOutcomeError) {
+            return ((OperationOutcomeError) error).getStatusCode();
+        }
+        if (error instanceof ConstraintViolationException) {
+            return BAD_REQUEST;
+        }
+        return INTERNAL_SERVER_ERROR;
+    }
+
+    /**
+     * Strips the "method.parameter: " prefix from validation messages.
+     */
+    public static String removeMethodNamePrefix(String message) {
+        if (isNotEmpty(message) && message.contains(":")) {
+            return message.substring(message.indexOf(":") + 1).trim();
+        }
+        return message;
+    }
 }
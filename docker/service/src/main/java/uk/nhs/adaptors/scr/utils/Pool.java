@@ -0,0 +1,55 @@
+package uk.nhs.adaptors.scr.utils;
+
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * Objects that are not thread-safe but worth reusing, lent to one caller at a time. Unlike a ThreadLocal it does not
+ * depend on threads being reused, so it keeps working when each request runs on a virtual thread of its own.
+ * A caller finding none idle creates one; at most maxIdle are kept for the next callers, the rest are dropped.
+ */
+public final class Pool<T> {
+
+    private static final int DEFAULT_MAX_IDLE = 2 * Runtime.getRuntime().availableProcessors();
+
+    private final Supplier<T> factory;
+    private final Queue<T> idle;
+
+    public Pool(Supplier<T> factory) {
+        this(factory, DEFAULT_MAX_IDLE);
+    }
+
+    public Pool(Supplier<T> factory, int maxIdle) {
+        this.factory = factory;
+        this.idle = new ArrayBlockingQueue<>(maxIdle);
+    }
+
+    /**
+     * Runs the action with an idle object, or a new one. The object is returned to the pool only if the action completes,
+     * one it failed with may have been left part way through.
+     */
+    public <R, E extends Exception> R apply(CheckedFunction<T, R, E> action) throws E {
+        var object = take();
+        var result = action.apply(object);
+        release(object);
+        return result;
+    }
+
+    /**
+     * An idle object, or a new one, for callers that decide themselves whether to {@link #release} it.
+     */
+    public T take() {
+        var object = idle.poll();
+        return object != null ? object : factory.get();
+    }
+
+    public void release(T object) {
+        idle.offer(object);
+    }
+
+    @FunctionalInterface
+    public interface CheckedFunction<T, R, E extends Exception> {
+        R apply(T object) throws E;
+    }
+}
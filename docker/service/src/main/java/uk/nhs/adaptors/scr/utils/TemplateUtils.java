@@ -5,32 +5,93 @@ import com.github.mustachejava.Mustache;
 import com.github.mustachejava.MustacheFactory;
 import lombok.SneakyThrows;
 
-import java.io.StringWriter;
+import java.io.Writer;
 
 public class TemplateUtils {
     private static final String TEMPLATES_DIRECTORY = "templates";
-    private static final String PARTIAL_DIRECTORY = "templates/partials";
+    private static final String PARTIAL_DIRECTORY = "partials/";
+    private static final int INITIAL_BUFFER_SIZE = 16 * 1024;
+    private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+
+    /**
+     * Shared by all templates, so each partial is read and compiled once, when the first template including it is loaded.
+     * Templates held in static fields are therefore compiled with all their partials at startup.
+     */
+    private static final MustacheFactory MUSTACHE_FACTORY = new DefaultMustacheFactory(TEMPLATES_DIRECTORY);
+
+    private static final Pool<StringBuilderWriter> BUFFERS = new Pool<>(() -> new StringBuilderWriter(INITIAL_BUFFER_SIZE));
 
     public static Mustache loadTemplate(String templateName) {
-        MustacheFactory mf = new DefaultMustacheFactory(TEMPLATES_DIRECTORY);
-        Mustache m = mf.compile(templateName);
-        return m;
+        return MUSTACHE_FACTORY.compile(templateName);
     }
 
     public static Mustache loadPartialTemplate(String templateName) {
-        MustacheFactory mf = new DefaultMustacheFactory(PARTIAL_DIRECTORY);
-        Mustache m = mf.compile(templateName);
-        return m;
+        return MUSTACHE_FACTORY.compile(PARTIAL_DIRECTORY + templateName);
     }
 
+    /**
+     * Renders into a pooled buffer which is reused by a later call, unless it grew beyond 1MB.
+     */
     @SneakyThrows
     public static String fillTemplate(Mustache template, Object content) {
-        StringWriter writer = new StringWriter();
-        String data = "";
+        var writer = BUFFERS.take();
+        try {
+            template.execute(writer, content).flush();
+            return writer.toString();
+        } finally {
+            if (writer.getCapacity() <= MAX_RETAINED_BUFFER_SIZE) {
+                writer.reset();
+                BUFFERS.release(writer);
+            }
+        }
+    }
 
+    @SneakyThrows
+    public static void writeTemplate(Mustache template, Object content, Writer writer) {
         template.execute(writer, content).flush();
-        data += writer.toString();
+    }
+
+    private static final class StringBuilderWriter extends Writer {
+        private final StringBuilder builder;
+
+        StringBuilderWriter(int capacity) {
+            builder = new StringBuilder(capacity);
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) {
+            builder.append(chars, offset, length);
+        }
+
+        @Override
+        public void write(String string, int offset, int length) {
+            builder.append(string, offset, offset + length);
+        }
+
+        @Override
+        public void write(int c) {
+            builder.append((char) c);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        int getCapacity() {
+            return builder.capacity();
+        }
+
+        void reset() {
+            builder.setLength(0);
+        }
 
-        return data;
+        @Override
+        public String toString() {
+            return builder.toString();
+        }
     }
 }
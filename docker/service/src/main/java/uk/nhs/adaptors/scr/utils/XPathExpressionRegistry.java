@@ -0,0 +1,73 @@
+package uk.nhs.adaptors.scr.utils;
+
+import lombok.SneakyThrows;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.xml.namespace.QName;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiles each XPath expression once per pooled {@link XPath}. Neither {@link XPath} nor {@link XPathExpression}
+ * is thread-safe, so each evaluation borrows a set of compiled expressions from a {@link Pool} that no one else uses
+ * meanwhile. A new set starts with every expression registered so far compiled, expressions first seen by a set are
+ * registered for the sets created after it.
+ */
+@Component
+public class XPathExpressionRegistry {
+
+    private final XPathFactory xPathFactory;
+    private final Pool<CompiledExpressions> compiledExpressions = new Pool<>(this::newCompiledExpressions);
+    private final Set<String> registered = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public XPathExpressionRegistry(XPathFactory xPathFactory) {
+        this.xPathFactory = xPathFactory;
+    }
+
+    public Object evaluate(Object item, String xpath, QName returnType) throws XPathExpressionException {
+        return compiledExpressions.apply(expressions -> expressions.get(xpath).evaluate(item, returnType));
+    }
+
+    public void register(String xpath) {
+        compiledExpressions.apply(expressions -> expressions.get(xpath));
+    }
+
+    private CompiledExpressions newCompiledExpressions() {
+        XPath xPath;
+        // XPathFactory is not thread-safe either
+        synchronized (xPathFactory) {
+            xPath = xPathFactory.newXPath();
+        }
+        var expressions = new CompiledExpressions(xPath);
+        registered.forEach(expressions::get);
+        return expressions;
+    }
+
+    private final class CompiledExpressions {
+        private final XPath xPath;
+        private final Map<String, XPathExpression> expressions = new HashMap<>();
+
+        private CompiledExpressions(XPath xPath) {
+            this.xPath = xPath;
+        }
+
+        @SneakyThrows
+        XPathExpression get(String xpath) {
+            var expression = expressions.get(xpath);
+            if (expression == null) {
+                expression = xPath.compile(xpath);
+                expressions.put(xpath, expression);
+                registered.add(xpath);
+            }
+            return expression;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package uk.nhs.adaptors.scr.utils;
+
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import uk.nhs.adaptors.scr.mappings.from.hl7.XmlToFhirMapper;
+
+import javax.annotation.PostConstruct;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Compiles every XPath constant declared by the HL7 to FHIR mappers on startup, so that a broken expression
+ * fails the application start rather than a request.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class XPathPrecompiler {
+
+    private final XPathExpressionRegistry xPathExpressionRegistry;
+
+    @PostConstruct
+    public void precompile() {
+        var xpaths = findXPathConstants(XmlToFhirMapper.class.getPackageName());
+        xpaths.forEach(xPathExpressionRegistry::register);
+        LOGGER.info("Precompiled {} XPath expressions", xpaths.size());
+    }
+
+    static List<String> findXPathConstants(String basePackage) {
+        var scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter((metadataReader, metadataReaderFactory) -> true);
+
+        return scanner.findCandidateComponents(basePackage).stream()
+            .map(beanDefinition -> ClassUtils.resolveClassName(beanDefinition.getBeanClassName(), null))
+            .flatMap(type -> Arrays.stream(type.getDeclaredFields()))
+            .filter(XPathPrecompiler::isXPathConstant)
+            .map(XPathPrecompiler::getValue)
+            .distinct()
+            .collect(Collectors.toList());
+    }
+
+    private static boolean isXPathConstant(Field field) {
+        var modifiers = field.getModifiers();
+        return Modifier.isStatic(modifiers) && Modifier.isFinal(modifiers)
+            && field.getType() == String.class
+            && (field.getName().endsWith("XPATH") || field.getName().endsWith("_PATH"));
+    }
+
+    @SneakyThrows
+    private static String getValue(Field field) {
+        field.setAccessible(true);
+        return (String) field.get(null);
+    }
+}
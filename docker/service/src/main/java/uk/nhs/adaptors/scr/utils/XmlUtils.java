@@ -1,6 +1,5 @@
 package uk.nhs.adaptors.scr.utils;
 
-import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,8 +8,6 @@ import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 import uk.nhs.adaptors.scr.exceptions.FhirMappingException;
 
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathFactory;
 import java.util.ArrayList;
 import java.util.List;
@@ -21,15 +18,22 @@ import static javax.xml.xpath.XPathConstants.NODESET;
 import static javax.xml.xpath.XPathConstants.STRING;
 
 @Component
-@RequiredArgsConstructor(onConstructor = @__(@Autowired))
 public class XmlUtils {
 
-    private final XPathFactory xPathFactory;
+    private final XPathExpressionRegistry expressions;
+
+    @Autowired
+    public XmlUtils(XPathExpressionRegistry expressions) {
+        this.expressions = expressions;
+    }
+
+    public XmlUtils(XPathFactory xPathFactory) {
+        this(new XPathExpressionRegistry(xPathFactory));
+    }
 
     @SneakyThrows
     public String getNodeAttributeValue(Node node, String xpath, String attributeName) {
-        XPathExpression xPathExpression = xPathFactory.newXPath().compile(xpath);
-        NodeList nodeList = ((NodeList) xPathExpression.evaluate(node, NODESET));
+        NodeList nodeList = (NodeList) expressions.evaluate(node, xpath, NODESET);
 
         return nodeList.getLength() > 0
             ? nodeList.item(0).getAttributes().getNamedItem(attributeName).getNodeValue() : null;
@@ -48,8 +52,7 @@ public class XmlUtils {
 
     @SneakyThrows
     public Optional<String> getOptionalValueByXPath(Node node, String xpath) {
-        var xPathExpression = xPathFactory.newXPath().compile(xpath);
-        return Optional.ofNullable(xPathExpression.evaluate(node, STRING))
+        return Optional.ofNullable(expressions.evaluate(node, xpath, STRING))
             .map(String.class::cast)
             .filter(StringUtils::isNotBlank);
     }
@@ -66,8 +69,7 @@ public class XmlUtils {
 
     @SneakyThrows
     public NodeList getNodeListByXPath(Node node, String xpath) {
-        var xPathExpression = xPathFactory.newXPath().compile(xpath);
-        return (NodeList) xPathExpression.evaluate(node, XPathConstants.NODESET);
+        return (NodeList) expressions.evaluate(node, xpath, NODESET);
     }
 
     public Node getNodeAndDetachFromParent(NodeList nodeList, int index) {
@@ -79,8 +81,7 @@ public class XmlUtils {
 
     @SneakyThrows
     public Node getNodeByXpath(Node root, String xpath) {
-        var xPathExpression = xPathFactory.newXPath().compile(xpath);
-        var node = (Node) xPathExpression.evaluate(root, XPathConstants.NODE);
+        var node = (Node) expressions.evaluate(root, xpath, NODE);
         node.getParentNode().removeChild(node);
 
         return node;
@@ -96,8 +97,7 @@ public class XmlUtils {
 
     @SneakyThrows
     public Optional<Node> getOptionalNodeByXpath(Node root, String xpath) {
-        var xPathExpression = xPathFactory.newXPath().compile(xpath);
-        Optional<Node> node = Optional.ofNullable(xPathExpression.evaluate(root, NODE))
+        Optional<Node> node = Optional.ofNullable(expressions.evaluate(root, xpath, NODE))
             .map(Node.class::cast)
             .filter(it -> it != null);
 
@@ -106,8 +106,7 @@ public class XmlUtils {
 
     @SneakyThrows
     public String getNodeText(Node node, String xpath) {
-        XPathExpression xPathExpression = xPathFactory.newXPath().compile(xpath);
-        NodeList nodeList = ((NodeList) xPathExpression.evaluate(node, NODESET));
+        NodeList nodeList = (NodeList) expressions.evaluate(node, xpath, NODESET);
 
         return nodeList.getLength() > 0 ? nodeList.item(0).getTextContent() : null;
     }
@@ -1,5 +1,6 @@
 package uk.nhs.adaptors.scr.clients;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.apache.http.Header;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
@@ -11,19 +12,26 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
 import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ConcurrentTaskScheduler;
 import uk.nhs.adaptors.scr.clients.spine.SpineClient;
 import uk.nhs.adaptors.scr.clients.spine.SpineHttpClient;
+import uk.nhs.adaptors.scr.clients.spine.SpinePollingScheduler;
+import uk.nhs.adaptors.scr.clients.spine.SpineResilience;
 import uk.nhs.adaptors.scr.clients.spine.SpineStringResponseHandler;
 import uk.nhs.adaptors.scr.config.ScrConfiguration;
 import uk.nhs.adaptors.scr.config.SpineConfiguration;
+import uk.nhs.adaptors.scr.config.SpineResilienceConfig;
 import uk.nhs.adaptors.scr.exceptions.NoSpineResultException;
 import uk.nhs.adaptors.scr.exceptions.UnexpectedSpineResponseException;
 import uk.nhs.adaptors.scr.models.ProcessingResult;
 
 import java.net.URI;
 import java.util.List;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 import static java.util.UUID.randomUUID;
@@ -36,6 +44,7 @@ import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static uk.nhs.adaptors.scr.clients.spine.SpineInteraction.UPLOAD_SCR_POLLING;
 
 @ExtendWith(MockitoExtension.class)
 class SpineClientTest {
@@ -60,6 +69,11 @@ class SpineClientTest {
     private SpineHttpClient spineHttpClient;
     @Mock
     private SpineStringResponseHandler stringResponseHandler;
+    @Spy
+    private SpinePollingScheduler spinePollingScheduler =
+        new SpinePollingScheduler(new ConcurrentTaskScheduler(), new SyncTaskExecutor(), new SimpleMeterRegistry());
+    @Spy
+    private SpineResilience spineResilience = new SpineResilience(resilienceConfig(), new SimpleMeterRegistry());
 
     @InjectMocks
     private SpineClient spineClient;
@@ -116,7 +130,7 @@ class SpineClientTest {
             .thenReturn(new SpineHttpClient.Response(HttpStatus.OK.value(), new Header[0], RESPONSE_BODY));
 
         var result = spineClient.getScrProcessingResult(CONTENT_LOCATION, 50, NHSD_ASID, NHSD_IDENTITY,
-            NHSD_SESSION_URID);
+            NHSD_SESSION_URID).join();
 
         var requestArgumentCaptor = ArgumentCaptor.forClass(HttpGet.class);
         verify(spineHttpClient, times(2)).sendRequest(requestArgumentCaptor.capture(), eq(stringResponseHandler));
@@ -138,7 +152,10 @@ class SpineClientTest {
                 },
                 null));
 
-        assertThatThrownBy(() -> spineClient.getScrProcessingResult(CONTENT_LOCATION, 100, NHSD_ASID, NHSD_IDENTITY, NHSD_SESSION_URID))
+        assertThatThrownBy(() -> spineClient.getScrProcessingResult(CONTENT_LOCATION, 100, NHSD_ASID, NHSD_IDENTITY, NHSD_SESSION_URID)
+            .join())
+            .isExactlyInstanceOf(CompletionException.class)
+            .getCause()
             .isExactlyInstanceOf(NoSpineResultException.class)
             .hasMessage("Spine polling yield no result");
 
@@ -147,6 +164,31 @@ class SpineClientTest {
         assertRequestUri(requestArgumentCaptor.getAllValues());
     }
 
+    @Test
+    @SuppressWarnings("checkstyle:MagicNumber")
+    void whenPollingCircuitBreakerOpenExpectPollRescheduled() {
+        when(spineConfiguration.getScrResultRepeatTimeout()).thenReturn(2000L);
+        when(spineHttpClient.sendRequest(any(), eq(stringResponseHandler)))
+            .thenReturn(new SpineHttpClient.Response(HttpStatus.OK.value(), new Header[0], RESPONSE_BODY));
+        spineResilience.getCircuitBreakers().get(UPLOAD_SCR_POLLING).transitionToOpenState();
+
+        var result = spineClient.getScrProcessingResult(CONTENT_LOCATION, 50, NHSD_ASID, NHSD_IDENTITY,
+            NHSD_SESSION_URID).join();
+
+        assertThat(result).isEqualTo(new ProcessingResult().setSoapEnvelope(SOAP_ENVELOPE).setHl7(HL7));
+        verify(spineHttpClient, times(1)).sendRequest(any(HttpGet.class), eq(stringResponseHandler));
+    }
+
+    /**
+     * An open breaker lets a request through again after 100ms.
+     */
+    @SuppressWarnings("checkstyle:MagicNumber")
+    private static SpineResilienceConfig resilienceConfig() {
+        var config = SpineResilienceTest.config();
+        config.setOpenStateDuration(100);
+        return config;
+    }
+
     private void assertRequestUri(List<HttpGet> requests) {
         assertThat(requests.stream()
             .map(HttpRequestBase::getURI)
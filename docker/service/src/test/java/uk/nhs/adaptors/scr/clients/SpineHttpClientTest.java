@@ -0,0 +1,177 @@
+package uk.nhs.adaptors.scr.clients;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import org.apache.http.client.ResponseHandler;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.HttpClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import uk.nhs.adaptors.scr.clients.spine.SpineHttpClient;
+import uk.nhs.adaptors.scr.clients.spine.SpineHttpClient.Response;
+import uk.nhs.adaptors.scr.clients.spine.SpineStringResponseHandler;
+import uk.nhs.adaptors.scr.clients.spine.SpineXmlResponseHandler;
+import uk.nhs.adaptors.scr.config.ScrConfiguration;
+import uk.nhs.adaptors.scr.config.SpineAsyncHttpClientConfig;
+import uk.nhs.adaptors.scr.config.SpineConfiguration;
+import uk.nhs.adaptors.scr.config.SpineConnectionPoolConfig;
+import uk.nhs.adaptors.scr.exceptions.ScrBaseException;
+
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.http.HttpHeaders.CONTENT_LENGTH;
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.MediaType.TEXT_XML_VALUE;
+import static uk.nhs.adaptors.scr.config.ConversationIdFilter.CORRELATION_ID_MDC_KEY;
+import static uk.nhs.adaptors.scr.consts.SpineHttpHeaders.SOAP_ACTION;
+
+class SpineHttpClientTest {
+
+    private static final String PATH = "/sync-service";
+    private static final String SOAP_ACTION_VALUE = "urn:nhs:names:services:psisquery/QUPC_IN180000SM04";
+    private static final String REQUEST_BODY = "<request/>";
+    private static final String RESPONSE_BODY = "<response><id>1</id></response>";
+    private static final int SOCKET_TIMEOUT = 500;
+    private static final int RESPONSE_COPIES = 10_000;
+    private static final int REQUEST_COPIES = 5_000;
+    private static final int DRIBBLE_CHUNKS = 20;
+    private static final int DRIBBLE_DURATION = 200;
+
+    private WireMockServer wireMockServer;
+    private SpineHttpClient spineHttpClient;
+
+    @BeforeEach
+    void setUp() throws NoSuchAlgorithmException {
+        wireMockServer = new WireMockServer(options().dynamicPort());
+        wireMockServer.start();
+
+        var poolConfig = new SpineConnectionPoolConfig();
+        poolConfig.setMaxTotalConnections(2);
+        poolConfig.setConnectionTimeout(SOCKET_TIMEOUT);
+        poolConfig.setRequestTimeout(SOCKET_TIMEOUT);
+        poolConfig.setSocketTimeout(SOCKET_TIMEOUT);
+        poolConfig.setIdleConnectionWaitTime(SOCKET_TIMEOUT);
+        var asyncClient = new SpineAsyncHttpClientConfig(new SpineConfiguration(), poolConfig, new ScrConfiguration(),
+            SSLContext.getDefault())
+            .spineAsyncHttpClient();
+        spineHttpClient = new SpineHttpClient(HttpClients.createDefault(), asyncClient);
+    }
+
+    @AfterEach
+    void tearDown() {
+        wireMockServer.stop();
+        MDC.clear();
+    }
+
+    @Test
+    void whenSendingAsyncRequestExpectHeadersAndBodySentAndResponseParsed() {
+        stubResponse(aResponse().withStatus(OK.value()).withHeader(CONTENT_TYPE, TEXT_XML_VALUE).withBody(RESPONSE_BODY));
+
+        var response = spineHttpClient.sendRequestAsync(request(), new SpineXmlResponseHandler()).join();
+
+        assertThat(response.getStatusCode()).isEqualTo(OK.value());
+        assertThat(SpineHttpClient.getHeader(response.getHeaders(), CONTENT_TYPE)).isEqualTo(TEXT_XML_VALUE);
+        assertThat(response.getBody().getElementsByTagName("id").item(0).getTextContent()).isEqualTo("1");
+        wireMockServer.verify(postRequestedFor(urlEqualTo(PATH))
+            .withHeader(SOAP_ACTION, equalTo(SOAP_ACTION_VALUE))
+            .withHeader(CONTENT_TYPE, equalTo(TEXT_XML_VALUE))
+            .withRequestBody(equalTo(REQUEST_BODY)));
+    }
+
+    @Test
+    void whenRequestBodySpansSeveralChunksExpectWholeBodySent() {
+        stubResponse(aResponse().withStatus(OK.value()).withBody(RESPONSE_BODY));
+        var body = REQUEST_BODY.repeat(REQUEST_COPIES);
+        var request = request();
+        request.setEntity(new StringEntity(body, UTF_8));
+
+        spineHttpClient.sendRequestAsync(request, new SpineStringResponseHandler()).join();
+
+        wireMockServer.verify(postRequestedFor(urlEqualTo(PATH))
+            .withHeader(CONTENT_LENGTH, equalTo(String.valueOf(body.length())))
+            .withRequestBody(equalTo(body)));
+    }
+
+    @Test
+    void whenResponseIsChunkedExpectHandlerReadsWholeBody() {
+        var body = RESPONSE_BODY.repeat(RESPONSE_COPIES);
+        stubResponse(aResponse().withStatus(OK.value()).withBody(body).withChunkedDribbleDelay(DRIBBLE_CHUNKS, DRIBBLE_DURATION));
+
+        var response = spineHttpClient.sendRequestAsync(request(), new SpineStringResponseHandler()).join();
+
+        assertThat(response.getBody()).isEqualTo(body);
+    }
+
+    @Test
+    void whenHandlingAsyncResponseExpectCallersMdc() {
+        stubResponse(aResponse().withStatus(OK.value()).withBody(RESPONSE_BODY));
+        MDC.put(CORRELATION_ID_MDC_KEY, "correlation-id");
+        var handlerCorrelationId = new AtomicReference<String>();
+
+        spineHttpClient.sendRequestAsync(request(), (ResponseHandler<Response<String>>) response -> {
+            handlerCorrelationId.set(MDC.get(CORRELATION_ID_MDC_KEY));
+            return new Response<>(response.getStatusLine().getStatusCode(), response.getAllHeaders(), null);
+        }).join();
+
+        assertThat(handlerCorrelationId).hasValue("correlation-id");
+    }
+
+    @Test
+    void whenSpineDoesNotAnswerInTimeExpectScrBaseExceptionFromBlockingAdapter() {
+        stubResponse(aResponse().withStatus(OK.value()).withFixedDelay(SOCKET_TIMEOUT * 2));
+
+        assertThatThrownBy(() -> spineHttpClient.sendRequestAndWait(request(), new SpineStringResponseHandler()))
+            .isExactlyInstanceOf(ScrBaseException.class)
+            .hasMessage("Unexpected exception while sending Spine request");
+    }
+
+    @Test
+    void whenSpineUnreachableExpectScrBaseException() {
+        var request = request();
+        wireMockServer.stop();
+
+        assertThatThrownBy(() -> spineHttpClient.sendRequestAndWait(request, new SpineStringResponseHandler()))
+            .isExactlyInstanceOf(ScrBaseException.class)
+            .hasCauseInstanceOf(IOException.class);
+    }
+
+    @Test
+    void whenCancellingFutureExpectRequestCancelled() {
+        stubResponse(aResponse().withStatus(OK.value()).withFixedDelay(SOCKET_TIMEOUT / 2));
+
+        var future = spineHttpClient.sendRequestAsync(request(), new SpineStringResponseHandler());
+        future.cancel(true);
+
+        assertThat(future).isCancelled();
+        Response<String> next = spineHttpClient.sendRequestAndWait(request(), new SpineStringResponseHandler());
+        assertThat(next.getStatusCode()).isEqualTo(OK.value());
+    }
+
+    private void stubResponse(ResponseDefinitionBuilder response) {
+        wireMockServer.stubFor(post(PATH).willReturn(response));
+    }
+
+    private HttpPost request() {
+        var request = new HttpPost(wireMockServer.baseUrl() + PATH);
+        request.addHeader(SOAP_ACTION, SOAP_ACTION_VALUE);
+        request.addHeader(CONTENT_TYPE, TEXT_XML_VALUE);
+        request.setEntity(new StringEntity(REQUEST_BODY, UTF_8));
+        return request;
+    }
+}
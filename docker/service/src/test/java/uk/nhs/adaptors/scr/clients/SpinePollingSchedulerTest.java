@@ -0,0 +1,128 @@
+package uk.nhs.adaptors.scr.clients;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import uk.nhs.adaptors.scr.clients.spine.SpinePollingScheduler;
+import uk.nhs.adaptors.scr.exceptions.NoSpineResultException;
+import uk.nhs.adaptors.scr.exceptions.UnexpectedSpineResponseException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SuppressWarnings("checkstyle:MagicNumber")
+class SpinePollingSchedulerTest {
+
+    private static final long REPEAT_TIMEOUT = 5000;
+
+    private ThreadPoolTaskScheduler taskScheduler;
+    private SimpleMeterRegistry meterRegistry;
+    private SpinePollingScheduler pollingScheduler;
+
+    @BeforeEach
+    void setUp() {
+        taskScheduler = new ThreadPoolTaskScheduler();
+        taskScheduler.setPoolSize(1);
+        taskScheduler.initialize();
+        meterRegistry = new SimpleMeterRegistry();
+        pollingScheduler = new SpinePollingScheduler(taskScheduler, new SyncTaskExecutor(), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskScheduler.shutdown();
+        MDC.clear();
+    }
+
+    @Test
+    void whenSpineReturnsNoResultExpectPollRepeatedAfterRetryAfter() {
+        var polls = new AtomicInteger();
+
+        var result = pollingScheduler.schedule(10, REPEAT_TIMEOUT, retryCount -> {
+            if (polls.incrementAndGet() < 3) {
+                throw new NoSpineResultException(20);
+            }
+            return retryCount;
+        });
+
+        assertThat(result.join()).isEqualTo(2);
+        assertThat(pollingScheduler.getOutstandingPolls()).isZero();
+        var pollsSummary = meterRegistry.get("spine.polling.polls").tag("outcome", "result").summary();
+        assertThat(pollsSummary.count()).isEqualTo(1);
+        assertThat(pollsSummary.totalAmount()).isEqualTo(3);
+        assertThat(meterRegistry.get("spine.polling.wait").timer().totalTime(MILLISECONDS)).isEqualTo(50);
+    }
+
+    @Test
+    void whenRepeatTimeoutPassesExpectLastNoResultException() {
+        var result = pollingScheduler.schedule(0, 50, retryCount -> {
+            throw new NoSpineResultException(30);
+        });
+
+        assertThatThrownBy(result::join)
+            .isExactlyInstanceOf(CompletionException.class)
+            .getCause()
+            .isExactlyInstanceOf(NoSpineResultException.class);
+        assertThat(meterRegistry.get("spine.polling.polls").tag("outcome", "timeout").summary().count()).isEqualTo(1);
+        assertThat(pollingScheduler.getOutstandingPolls()).isZero();
+    }
+
+    @Test
+    void whenPollFailsExpectNoRetry() {
+        var polls = new AtomicInteger();
+
+        var result = pollingScheduler.schedule(0, REPEAT_TIMEOUT, retryCount -> {
+            polls.incrementAndGet();
+            throw new UnexpectedSpineResponseException("Unexpected spine polling response 500");
+        });
+
+        assertThatThrownBy(result::join)
+            .getCause()
+            .isExactlyInstanceOf(UnexpectedSpineResponseException.class);
+        assertThat(polls.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("spine.polling.polls").tag("outcome", "error").summary().count()).isEqualTo(1);
+    }
+
+    @Test
+    void whenPollingExpectCallerMdcContext() {
+        MDC.put("CorrelationId", "correlation-id");
+
+        var result = pollingScheduler.schedule(0, REPEAT_TIMEOUT, retryCount -> MDC.get("CorrelationId"));
+
+        assertThat(result.join()).isEqualTo("correlation-id");
+    }
+
+    @Test
+    void whenManyUploadsWaitExpectNoThreadHeldBetweenPolls() {
+        var uploads = IntStream.range(0, 200)
+            .mapToObj(i -> {
+                var polls = new AtomicInteger();
+                return pollingScheduler.schedule(100, REPEAT_TIMEOUT, retryCount -> {
+                    if (polls.incrementAndGet() == 1) {
+                        throw new NoSpineResultException(100);
+                    }
+                    return retryCount;
+                });
+            })
+            .collect(Collectors.toList());
+
+        assertThat(pollingScheduler.getOutstandingPolls()).isEqualTo(200);
+
+        // 200 uploads waiting 200ms each on a single thread would take 40s if every wait held the thread
+        CompletableFuture.allOf(uploads.toArray(CompletableFuture[]::new)).orTimeout(5, SECONDS).join();
+        assertThat(uploads).allMatch(upload -> upload.join() == 1);
+        assertThat(pollingScheduler.getOutstandingPolls()).isZero();
+    }
+}
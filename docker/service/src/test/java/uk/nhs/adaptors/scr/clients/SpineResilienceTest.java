@@ -0,0 +1,162 @@
+package uk.nhs.adaptors.scr.clients;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.handler.timeout.ReadTimeoutException;
+import org.apache.http.Header;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import uk.nhs.adaptors.scr.clients.spine.SpineHttpClient.Response;
+import uk.nhs.adaptors.scr.clients.spine.SpineResilience;
+import uk.nhs.adaptors.scr.config.SpineResilienceConfig;
+import uk.nhs.adaptors.scr.exceptions.ScrBaseException;
+import uk.nhs.adaptors.scr.exceptions.ServiceUnavailableException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.github.resilience4j.circuitbreaker.CircuitBreaker.State.CLOSED;
+import static io.github.resilience4j.circuitbreaker.CircuitBreaker.State.OPEN;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static uk.nhs.adaptors.scr.clients.spine.SpineInteraction.GET_SCR;
+import static uk.nhs.adaptors.scr.clients.spine.SpineInteraction.GET_SCR_ID;
+
+class SpineResilienceTest {
+
+    private static final int MINIMUM_CALLS = 4;
+    private static final int MAX_CONCURRENT_CALLS = 1;
+    private static final long OPEN_STATE_DURATION = 30000;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SpineResilience spineResilience;
+    private AtomicInteger spineRequests;
+
+    static SpineResilienceConfig config() {
+        var config = new SpineResilienceConfig();
+        config.setFailureRateThreshold(50);
+        config.setSlowCallRateThreshold(100);
+        config.setSlowCallDurationThreshold(60000);
+        config.setSlidingWindowSize(MINIMUM_CALLS);
+        config.setMinimumNumberOfCalls(MINIMUM_CALLS);
+        config.setOpenStateDuration(OPEN_STATE_DURATION);
+        config.setHalfOpenStateCalls(1);
+        config.setMaxConcurrentCalls(MAX_CONCURRENT_CALLS);
+        return config;
+    }
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        spineResilience = new SpineResilience(config(), meterRegistry);
+        spineRequests = new AtomicInteger();
+    }
+
+    @Test
+    void whenSpineUnreachableExpectCircuitOpenedAndRequestsRejected() {
+        for (int i = 0; i < MINIMUM_CALLS; i++) {
+            assertThatThrownBy(() -> spineResilience.call(GET_SCR, this::connectionFailure))
+                .isInstanceOf(ScrBaseException.class);
+        }
+
+        assertThatThrownBy(() -> spineResilience.call(GET_SCR, () -> response(200)))
+            .isInstanceOfSatisfying(ServiceUnavailableException.class, e ->
+                assertThat(e.getRetryAfter()).contains(Duration.ofMillis(OPEN_STATE_DURATION)));
+        assertThat(spineRequests.get()).isEqualTo(MINIMUM_CALLS);
+        assertThat(spineResilience.getCircuitBreakers().get(GET_SCR).getState()).isEqualTo(OPEN);
+        assertThat(spineResilience.getCircuitBreakers().get(GET_SCR_ID).getState()).isEqualTo(CLOSED);
+        assertThat(meterRegistry.get("resilience4j.circuitbreaker.state").tag("name", "GET_SCR").tag("state", "open")
+            .gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void whenSpineUnavailableResponsesExpectCircuitOpened() {
+        for (int i = 0; i < MINIMUM_CALLS; i++) {
+            assertThat(spineResilience.call(GET_SCR, () -> response(503)).getStatusCode()).isEqualTo(503);
+        }
+
+        assertThat(spineResilience.getCircuitBreakers().get(GET_SCR).getState()).isEqualTo(OPEN);
+    }
+
+    @Test
+    void whenSpineAnswersWithErrorsExpectCircuitClosed() {
+        for (int i = 0; i < MINIMUM_CALLS; i++) {
+            spineResilience.call(GET_SCR, () -> response(500));
+            assertThatThrownBy(() -> spineResilience.call(GET_SCR, () -> {
+                throw new ScrBaseException("Invalid response");
+            })).isInstanceOf(ScrBaseException.class);
+        }
+
+        assertThat(spineResilience.getCircuitBreakers().get(GET_SCR).getState()).isEqualTo(CLOSED);
+    }
+
+    @Test
+    void whenConcurrentCallsOverLimitExpectRejected() throws InterruptedException {
+        var inFlight = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var slowRequest = new Thread(() -> spineResilience.call(GET_SCR, () -> {
+            inFlight.countDown();
+            awaitQuietly(release);
+            return response(200);
+        }));
+        slowRequest.start();
+        inFlight.await();
+
+        assertThatThrownBy(() -> spineResilience.call(GET_SCR, () -> response(200)))
+            .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(spineResilience.call(GET_SCR_ID, () -> response(200)).getStatusCode()).isEqualTo(200);
+
+        release.countDown();
+        slowRequest.join();
+        assertThat(spineResilience.call(GET_SCR, () -> response(200)).getStatusCode()).isEqualTo(200);
+    }
+
+    @Test
+    void whenReactiveCallsTimeOutExpectCircuitOpenedAndPermissionsReleased() {
+        for (int i = 0; i < MINIMUM_CALLS; i++) {
+            var request = Mono.<Response<String>>error(ReadTimeoutException.INSTANCE);
+            assertThatThrownBy(() -> spineResilience.call(GET_SCR, request).block())
+                .isInstanceOf(ReadTimeoutException.class);
+        }
+
+        assertThatThrownBy(() -> spineResilience.call(GET_SCR, Mono.fromSupplier(() -> response(200))).block())
+            .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(spineRequests.get()).isZero();
+        assertThat(spineResilience.call(GET_SCR_ID, Mono.fromSupplier(() -> response(200))).block().getStatusCode())
+            .isEqualTo(200);
+    }
+
+    @Test
+    void whenReactiveConcurrentCallsOverLimitExpectRejectedUntilCompletedOrCancelled() {
+        var pending = Sinks.<Response<String>>one();
+        var subscription = spineResilience.call(GET_SCR, pending.asMono()).subscribe();
+
+        assertThatThrownBy(() -> spineResilience.call(GET_SCR, Mono.fromSupplier(() -> response(200))).block())
+            .isInstanceOf(ServiceUnavailableException.class);
+
+        subscription.dispose();
+        assertThat(spineResilience.call(GET_SCR, Mono.fromSupplier(() -> response(200))).block().getStatusCode())
+            .isEqualTo(200);
+    }
+
+    private Response<String> connectionFailure() {
+        spineRequests.incrementAndGet();
+        throw new ScrBaseException("Unexpected exception while sending Spine request", new IOException("Connection refused"));
+    }
+
+    private Response<String> response(int statusCode) {
+        spineRequests.incrementAndGet();
+        return new Response<>(statusCode, new Header[0], null);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
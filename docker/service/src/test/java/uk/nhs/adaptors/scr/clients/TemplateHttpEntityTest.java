@@ -0,0 +1,78 @@
+package uk.nhs.adaptors.scr.clients;
+
+import com.github.mustachejava.MustacheException;
+import org.hl7.fhir.r4.model.Bundle;
+import org.junit.jupiter.api.Test;
+import uk.nhs.adaptors.scr.clients.spine.TemplateHttpEntity;
+import uk.nhs.adaptors.scr.components.FhirParser;
+import uk.nhs.adaptors.scr.config.ScrConfiguration;
+import uk.nhs.adaptors.scr.mappings.from.fhir.BundleMapper;
+import uk.nhs.adaptors.scr.models.GpSummary;
+import uk.nhs.adaptors.scr.models.xml.Treatment;
+import uk.nhs.adaptors.scr.utils.TemplateUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static uk.nhs.utils.Utils.readResourceFile;
+
+class TemplateHttpEntityTest {
+
+    private static final String NHSD_ASID = "1029384756";
+
+    private final BundleMapper bundleMapper = new BundleMapper(new ScrConfiguration()
+        .setPartyIdFrom("party-from")
+        .setPartyIdTo("party-to")
+        .setNhsdAsidTo("asid-to"));
+    private final Bundle bundle = new FhirParser()
+        .parseResource(readResourceFile("gp_summary/standard_gp_summary.json"), Bundle.class);
+
+    @Test
+    void whenWritingEntityExpectSameBodyAsRenderedString() throws Exception {
+        var entity = (TemplateHttpEntity) bundleMapper.mapToHttpEntity(bundle, NHSD_ASID);
+        var expected = entity.toString();
+
+        assertThat(expected).contains("REPC_IN150016SM05").endsWith("----=_MIME-Boundary\n");
+        assertThat(write(entity)).isEqualTo(expected);
+        assertThat(write(entity)).isEqualTo(expected);
+        assertThat(entity.isRepeatable()).isTrue();
+        assertThat(entity.isChunked()).isFalse();
+        assertThat(entity.getContentLength()).isEqualTo(expected.getBytes(UTF_8).length);
+    }
+
+    @Test
+    void whenTemplateFailsToRenderExpectExceptionWhenEntityCreated() {
+        var template = TemplateUtils.loadPartialTemplate("Treatments.mustache");
+
+        assertThatThrownBy(() -> new TemplateHttpEntity(template, new FailingGpSummary()))
+            .isInstanceOf(MustacheException.class);
+    }
+
+    @Test
+    void whenFillingTemplatesInTurnExpectReusedBufferStartsEmpty() {
+        var template = TemplateUtils.loadPartialTemplate("Treatments.mustache");
+        var large = bundleMapper.map(bundle, NHSD_ASID);
+
+        var small = TemplateUtils.fillTemplate(template, new GpSummary());
+
+        assertThat(large).contains("REPC_IN150016SM05");
+        assertThat(small).doesNotContain("REPC_IN150016SM05");
+        assertThat(TemplateUtils.fillTemplate(template, new GpSummary())).isEqualTo(small);
+    }
+
+    private static final class FailingGpSummary extends GpSummary {
+        @Override
+        public List<Treatment> getTreatments() {
+            throw new IllegalStateException("Treatments unavailable");
+        }
+    }
+
+    private static String write(TemplateHttpEntity entity) throws Exception {
+        var outputStream = new ByteArrayOutputStream();
+        entity.writeTo(outputStream);
+        return outputStream.toString(UTF_8);
+    }
+}
@@ -0,0 +1,112 @@
+package uk.nhs.adaptors.scr.clients;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.nhs.adaptors.scr.clients.identity.UserInfo;
+import uk.nhs.adaptors.scr.clients.identity.UserInfoCache;
+import uk.nhs.adaptors.scr.config.IdentityServiceConfiguration;
+import uk.nhs.adaptors.scr.exceptions.BadRequestException;
+
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserInfoCacheTest {
+
+    private static final String TOKEN = "Bearer opaque-token";
+    private static final String OTHER_TOKEN = "Bearer other-opaque-token";
+    private static final long TTL = 60000;
+
+    private AtomicInteger identityServiceCalls;
+    private Supplier<UserInfo> userInfoLookup;
+
+    @BeforeEach
+    void setUp() {
+        identityServiceCalls = new AtomicInteger();
+        userInfoLookup = () -> {
+            identityServiceCalls.incrementAndGet();
+            return new UserInfo();
+        };
+    }
+
+    @Test
+    void whenSameTokenUsedTwiceExpectOneIdentityServiceCall() {
+        var cache = cache(TTL, TTL);
+
+        var first = cache.get(TOKEN, userInfoLookup);
+        var second = cache.get(TOKEN, userInfoLookup);
+        cache.get(OTHER_TOKEN, userInfoLookup);
+
+        assertThat(second).isSameAs(first);
+        assertThat(identityServiceCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void whenTokenRejectedExpectRejectionCachedWithoutAnotherCall() {
+        var cache = cache(TTL, TTL);
+        Supplier<UserInfo> rejectingLookup = () -> {
+            identityServiceCalls.incrementAndGet();
+            throw new BadRequestException("400 Bad Request");
+        };
+
+        assertThatThrownBy(() -> cache.get(TOKEN, rejectingLookup))
+            .isExactlyInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> cache.get(TOKEN, rejectingLookup))
+            .isExactlyInstanceOf(BadRequestException.class)
+            .hasMessage("400 Bad Request");
+
+        assertThat(identityServiceCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void whenJwtAlreadyExpiredExpectUserInfoNotCached() {
+        var cache = cache(TTL, TTL);
+        var expiredJwt = jwt(System.currentTimeMillis() / 1000 - 60);
+
+        cache.get(expiredJwt, userInfoLookup);
+        cache.get(expiredJwt, userInfoLookup);
+
+        assertThat(identityServiceCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void whenJwtValidExpectUserInfoCached() {
+        var cache = cache(TTL, TTL);
+        var validJwt = jwt(System.currentTimeMillis() / 1000 + 3600);
+
+        cache.get(validJwt, userInfoLookup);
+        cache.get(validJwt, userInfoLookup);
+
+        assertThat(identityServiceCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void whenTtlIsZeroExpectNoCaching() {
+        var cache = cache(0, 0);
+
+        cache.get(TOKEN, userInfoLookup);
+        cache.get(TOKEN, userInfoLookup);
+
+        assertThat(identityServiceCalls.get()).isEqualTo(2);
+    }
+
+    private static UserInfoCache cache(long ttl, long negativeTtl) {
+        var identityServiceConfiguration = new IdentityServiceConfiguration()
+            .setUserInfoCacheTtl(ttl)
+            .setUserInfoNegativeCacheTtl(negativeTtl)
+            .setUserInfoCacheSize(100);
+        return new UserInfoCache(identityServiceConfiguration, new SimpleMeterRegistry());
+    }
+
+    private static String jwt(long exp) {
+        var encoder = Base64.getUrlEncoder().withoutPadding();
+        return "Bearer " + encoder.encodeToString("{\"alg\":\"none\"}".getBytes(UTF_8))
+            + "." + encoder.encodeToString(("{\"sub\":\"user\",\"exp\":" + exp + "}").getBytes(UTF_8))
+            + ".signature";
+    }
+}
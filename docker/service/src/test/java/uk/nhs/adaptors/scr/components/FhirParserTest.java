@@ -0,0 +1,54 @@
+package uk.nhs.adaptors.scr.components;
+
+import org.hl7.fhir.r4.model.Bundle;
+import org.hl7.fhir.r4.model.Patient;
+import org.junit.jupiter.api.Test;
+import uk.nhs.adaptors.scr.exceptions.FhirValidationException;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static uk.nhs.utils.Utils.readResourceFile;
+
+@SuppressWarnings("checkstyle:MagicNumber")
+class FhirParserTest {
+
+    private final FhirParser fhirParser = new FhirParser();
+
+    @Test
+    void whenEncodingPrettyAndCompactConcurrentlyExpectEachCallGetsItsOwnFormat() throws Exception {
+        var bundle = fhirParser.parseResource(readResourceFile("gp_summary/standard_gp_summary.json"), Bundle.class);
+        var executor = Executors.newFixedThreadPool(4);
+        try {
+            var results = new ArrayList<Future<Boolean>>();
+            for (int i = 0; i < 40; i++) {
+                boolean pretty = i % 2 == 0;
+                Callable<Boolean> encode = () -> {
+                    var writer = new StringWriter();
+                    fhirParser.encodeToJson(bundle, writer, pretty);
+                    return writer.toString().contains("\n") == pretty;
+                };
+                results.add(executor.submit(encode));
+            }
+            for (var result : results) {
+                assertThat(result.get(10, SECONDS)).isTrue();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void whenParsingUnknownElementExpectStrictFailure() {
+        var patient = "{\"resourceType\": \"Patient\", \"unknownElement\": true}";
+
+        assertThatThrownBy(() -> fhirParser.parseResource(patient, Patient.class))
+            .isInstanceOf(FhirValidationException.class);
+    }
+}
@@ -0,0 +1,78 @@
+package uk.nhs.adaptors.scr.components;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hl7.fhir.r4.model.Bundle;
+import org.hl7.fhir.r4.model.Patient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static uk.nhs.adaptors.scr.controllers.FhirMediaTypes.APPLICATION_FHIR_JSON;
+
+class FhirResourceHttpMessageConverterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private FhirResourceHttpMessageConverter converter;
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        converter = new FhirResourceHttpMessageConverter(new FhirParser(), meterRegistry);
+        request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void whenWritingResourceExpectCompactJsonAndSizeRecorded() throws IOException {
+        var output = write(bundle());
+
+        assertThat(output.getBodyAsString()).doesNotContain("\n").startsWith("{\"resourceType\":\"Bundle\"");
+        assertThat(output.getHeaders().getContentType()).isEqualTo(new MediaType(APPLICATION_FHIR_JSON, UTF_8));
+        var size = meterRegistry.get("fhir.response.size").tag("resourceType", "Bundle").summary();
+        assertThat(size.count()).isEqualTo(1);
+        assertThat(size.totalAmount()).isEqualTo(output.getBodyAsBytes().length);
+    }
+
+    @Test
+    void whenPrettyRequestedExpectIndentedJson() throws IOException {
+        request.setParameter("_pretty", "true");
+
+        var output = write(bundle());
+
+        assertThat(output.getBodyAsString()).contains("\n  \"resourceType\": \"Bundle\"");
+    }
+
+    @Test
+    void whenNotFhirResourceExpectNotHandled() {
+        assertThat(converter.canWrite(String.class, APPLICATION_FHIR_JSON)).isFalse();
+        assertThat(converter.canRead(Bundle.class, APPLICATION_FHIR_JSON)).isFalse();
+        assertThat(converter.canWrite(Bundle.class, APPLICATION_FHIR_JSON)).isTrue();
+    }
+
+    private MockHttpOutputMessage write(Bundle bundle) throws IOException {
+        var output = new MockHttpOutputMessage();
+        converter.write(bundle, APPLICATION_FHIR_JSON, output);
+        return output;
+    }
+
+    private static Bundle bundle() {
+        var bundle = new Bundle().setType(Bundle.BundleType.SEARCHSET);
+        bundle.addEntry().setResource(new Patient().setActive(true));
+        return bundle;
+    }
+}
@@ -0,0 +1,34 @@
+package uk.nhs.adaptors.scr.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.net.ssl.SSLContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApacheHttpClientConfigTest {
+
+    private static final int TLS_SESSION_CACHE_SIZE = 100;
+    private static final long TLS_SESSION_TIMEOUT = 60000;
+    private static final int TLS_SESSION_TIMEOUT_SECONDS = 60;
+
+    @Test
+    void whenCreatingSpineSslContextExpectDefaultContextSessionCacheUnchanged() throws Exception {
+        var defaultSessionContext = SSLContext.getDefault().getClientSessionContext();
+        var defaultCacheSize = defaultSessionContext.getSessionCacheSize();
+        var defaultTimeout = defaultSessionContext.getSessionTimeout();
+        var connectionPoolConfig = new SpineConnectionPoolConfig();
+        connectionPoolConfig.setTlsSessionCacheSize(TLS_SESSION_CACHE_SIZE);
+        connectionPoolConfig.setTlsSessionTimeout(TLS_SESSION_TIMEOUT);
+
+        var spineSslContext = new ApacheHttpClientConfig(new SpineConfiguration(), connectionPoolConfig, new SimpleMeterRegistry())
+            .spineSslContext();
+
+        assertThat(spineSslContext).isNotSameAs(SSLContext.getDefault());
+        assertThat(spineSslContext.getClientSessionContext().getSessionCacheSize()).isEqualTo(TLS_SESSION_CACHE_SIZE);
+        assertThat(spineSslContext.getClientSessionContext().getSessionTimeout()).isEqualTo(TLS_SESSION_TIMEOUT_SECONDS);
+        assertThat(defaultSessionContext.getSessionCacheSize()).isEqualTo(defaultCacheSize);
+        assertThat(defaultSessionContext.getSessionTimeout()).isEqualTo(defaultTimeout);
+    }
+}
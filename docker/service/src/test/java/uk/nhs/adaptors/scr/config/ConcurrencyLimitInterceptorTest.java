@@ -0,0 +1,121 @@
+package uk.nhs.adaptors.scr.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import uk.nhs.adaptors.scr.exceptions.ConcurrencyLimitExceededException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
+
+class ConcurrencyLimitInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrencyLimitInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        var configuration = new ConcurrencyLimitConfiguration();
+        configuration.setEnabled(true);
+        configuration.setInitialLimit(1);
+        configuration.setMinLimit(1);
+        configuration.setMaxLimit(1);
+        configuration.setRejectionStatus(TOO_MANY_REQUESTS.value());
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new ConcurrencyLimitInterceptor(configuration, List.of(LimitedController.class), meterRegistry);
+    }
+
+    @Test
+    void whenLimitReachedExpectRequestRejected() {
+        var first = new MockHttpServletRequest();
+        interceptor.preHandle(first, new MockHttpServletResponse(), handler(new LimitedController()));
+
+        assertThatThrownBy(() -> interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(),
+            handler(new LimitedController())))
+            .isInstanceOfSatisfying(ConcurrencyLimitExceededException.class, e ->
+                assertThat(e.getStatusCode()).isEqualTo(TOO_MANY_REQUESTS));
+        assertThat(meterRegistry.get("http.server.concurrency.rejected").tag("controller", "LimitedController").counter()
+            .count()).isEqualTo(1);
+        assertThat(meterRegistry.get("http.server.concurrency.inflight").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void whenRequestCompletesExpectPlaceReleased() {
+        var first = new MockHttpServletRequest();
+        var response = new MockHttpServletResponse();
+        interceptor.preHandle(first, response, handler(new LimitedController()));
+        interceptor.afterCompletion(first, response, handler(new LimitedController()), null);
+        interceptor.afterCompletion(first, response, handler(new LimitedController()), null);
+
+        assertThat(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(),
+            handler(new LimitedController()))).isTrue();
+        assertThat(meterRegistry.get("http.server.concurrency.limit").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void whenAsyncRequestExpectPlaceHeldUntilAsyncComplete() {
+        var first = new MockHttpServletRequest();
+        first.setAsyncSupported(true);
+        var response = new MockHttpServletResponse();
+        interceptor.preHandle(first, response, handler(new LimitedController()));
+        first.startAsync(first, response);
+        interceptor.afterConcurrentHandlingStarted(first, response, handler(new LimitedController()));
+        interceptor.afterCompletion(first, response, handler(new LimitedController()), null);
+
+        assertThatThrownBy(() -> interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(),
+            handler(new LimitedController())))
+            .isInstanceOf(ConcurrencyLimitExceededException.class);
+
+        first.getAsyncContext().complete();
+
+        assertThat(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(),
+            handler(new LimitedController()))).isTrue();
+    }
+
+    @Test
+    void whenReleasedBeforeAsyncCompleteExpectPlaceFreedOnce() {
+        var first = new MockHttpServletRequest();
+        first.setAsyncSupported(true);
+        var response = new MockHttpServletResponse();
+        interceptor.preHandle(first, response, handler(new LimitedController()));
+        first.startAsync(first, response);
+        interceptor.afterConcurrentHandlingStarted(first, response, handler(new LimitedController()));
+
+        ConcurrencyLimitInterceptor.releaser(first).run();
+
+        var second = new MockHttpServletRequest();
+        assertThat(interceptor.preHandle(second, new MockHttpServletResponse(), handler(new LimitedController()))).isTrue();
+        first.getAsyncContext().complete();
+        assertThat(meterRegistry.get("http.server.concurrency.inflight").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void whenControllerNotLimitedExpectRequestsPass() {
+        for (int i = 0; i < 2; i++) {
+            assertThat(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                handler(new OtherController()))).isTrue();
+        }
+    }
+
+    @SneakyThrows
+    private static HandlerMethod handler(Object controller) {
+        return new HandlerMethod(controller, controller.getClass().getMethod("handle"));
+    }
+
+    public static class LimitedController {
+        public void handle() {
+        }
+    }
+
+    public static class OtherController {
+        public void handle() {
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package uk.nhs.adaptors.scr.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MdcContextTest {
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    void whenCallingExpectContextMapSetAndPreviousRestored() {
+        MDC.put("CorrelationId", "previous");
+
+        var correlationId = MdcContext.call(Map.of("CorrelationId", "caller"), () -> MDC.get("CorrelationId"));
+
+        assertThat(correlationId).isEqualTo("caller");
+        assertThat(MDC.get("CorrelationId")).isEqualTo("previous");
+    }
+
+    @Test
+    void whenRunningWithNoContextMapExpectMdcClearedAndRestored() {
+        MDC.put("CorrelationId", "previous");
+
+        MdcContext.run(null, () -> assertThat(MDC.getCopyOfContextMap()).isNullOrEmpty());
+
+        assertThat(MDC.get("CorrelationId")).isEqualTo("previous");
+    }
+
+    @Test
+    void whenActionThrowsExpectPreviousContextMapRestored() {
+        assertThatThrownBy(() -> MdcContext.callChecked(Map.of("CorrelationId", "caller"), () -> {
+            throw new IOException("failed");
+        })).isInstanceOf(IOException.class);
+
+        assertThat(MDC.getCopyOfContextMap()).isNullOrEmpty();
+    }
+}
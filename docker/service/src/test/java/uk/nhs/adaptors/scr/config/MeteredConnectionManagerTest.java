@@ -0,0 +1,82 @@
+package uk.nhs.adaptors.scr.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.HttpHost;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MeteredConnectionManagerTest {
+
+    private static final HttpRoute ROUTE = new HttpRoute(new HttpHost("spine.example", 80, "http"));
+    private static final String ROUTE_URI = "http://spine.example:80";
+    private static final long LEASE_TIMEOUT = 10;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MeteredConnectionManager connectionManager;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        var socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory>create()
+            .register("http", PlainConnectionSocketFactory.getSocketFactory())
+            .build();
+        connectionManager = new MeteredConnectionManager(socketFactoryRegistry, meterRegistry, "spine");
+        connectionManager.setMaxTotal(1);
+        connectionManager.setDefaultMaxPerRoute(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionManager.shutdown();
+    }
+
+    @Test
+    void whenConnectionLeasedExpectRouteGaugesAndLeaseTimed() throws Exception {
+        var connection = connectionManager.requestConnection(ROUTE, null).get(LEASE_TIMEOUT, MILLISECONDS);
+
+        assertThat(routeGauge("httpcomponents.httpclient.pool.route.connections", "leased")).isEqualTo(1);
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.route.max").tag("route", ROUTE_URI).gauge().value())
+            .isEqualTo(1);
+        assertThat(leaseCount("success")).isEqualTo(1);
+
+        connectionManager.releaseConnection(connection, null, 0, MILLISECONDS);
+
+        assertThat(routeGauge("httpcomponents.httpclient.pool.route.connections", "leased")).isZero();
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.connections").tag("httpclient", "spine")
+            .tag("state", "leased").gauge().value()).isZero();
+    }
+
+    @Test
+    void whenPoolExhaustedExpectLeaseTimeoutTimed() throws Exception {
+        connectionManager.requestConnection(ROUTE, null).get(LEASE_TIMEOUT, MILLISECONDS);
+
+        assertThatThrownBy(() -> connectionManager.requestConnection(ROUTE, null).get(LEASE_TIMEOUT, MILLISECONDS))
+            .isInstanceOf(ConnectionPoolTimeoutException.class);
+
+        assertThat(leaseCount("success")).isEqualTo(1);
+        assertThat(leaseCount("timeout")).isEqualTo(1);
+    }
+
+    private double routeGauge(String name, String state) {
+        return meterRegistry.get(name).tag("route", ROUTE_URI).tag("state", state).gauge().value();
+    }
+
+    private long leaseCount(String outcome) {
+        return meterRegistry.get("httpcomponents.httpclient.pool.lease")
+            .tag("httpclient", "spine")
+            .tag("route", ROUTE_URI)
+            .tag("outcome", outcome)
+            .timer()
+            .count();
+    }
+}
@@ -0,0 +1,81 @@
+package uk.nhs.adaptors.scr.config;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.HttpHost;
+import org.apache.http.conn.ssl.NoopHostnameVerifier;
+import org.apache.http.conn.ssl.TrustAllStrategy;
+import org.apache.http.protocol.BasicHttpContext;
+import org.apache.http.ssl.SSLContexts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MeteredSslConnectionSocketFactoryTest {
+
+    private static final int CONNECT_TIMEOUT = 1000;
+
+    private WireMockServer wireMockServer;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(options().dynamicPort().dynamicHttpsPort());
+        wireMockServer.start();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    void whenConnectingTwiceExpectFullThenResumedHandshakeTimed() throws Exception {
+        var socketFactory = new MeteredSslConnectionSocketFactory(
+            SSLContexts.custom().setProtocol("TLSv1.2").loadTrustMaterial(TrustAllStrategy.INSTANCE).build(), NoopHostnameVerifier.INSTANCE,
+            meterRegistry, "spine");
+
+        connect(socketFactory, wireMockServer.httpsPort()).close();
+        connect(socketFactory, wireMockServer.httpsPort()).close();
+
+        assertThat(handshakes("full")).isEqualTo(1);
+        assertThat(handshakes("resumed")).isEqualTo(1);
+        assertThat(handshakes("failed")).isZero();
+    }
+
+    @Test
+    void whenServerCertificateNotTrustedExpectFailedHandshakeTimed() throws Exception {
+        var socketFactory = new MeteredSslConnectionSocketFactory(SSLContexts.createDefault(), NoopHostnameVerifier.INSTANCE,
+            meterRegistry, "spine");
+
+        assertThatThrownBy(() -> connect(socketFactory, wireMockServer.httpsPort()))
+            .isInstanceOf(IOException.class);
+
+        assertThat(handshakes("failed")).isEqualTo(1);
+        assertThat(handshakes("full")).isZero();
+    }
+
+    private static Socket connect(MeteredSslConnectionSocketFactory socketFactory, int port) throws IOException {
+        var context = new BasicHttpContext();
+        var host = new HttpHost("localhost", port, "https");
+        return socketFactory.connectSocket(CONNECT_TIMEOUT, socketFactory.createSocket(context), host,
+            new InetSocketAddress("localhost", port), null, context);
+    }
+
+    private long handshakes(String handshake) {
+        return meterRegistry.get("httpcomponents.httpclient.tls.handshake")
+            .tag("httpclient", "spine")
+            .tag("handshake", handshake)
+            .timer()
+            .count();
+    }
+}
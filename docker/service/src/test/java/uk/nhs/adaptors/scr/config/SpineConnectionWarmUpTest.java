@@ -0,0 +1,124 @@
+package uk.nhs.adaptors.scr.config;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import org.apache.http.HttpHost;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.netty.http.client.HttpClient;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpineConnectionWarmUpTest {
+
+    private static final int MIN_IDLE_CONNECTIONS = 3;
+    private static final int MAX_CONNECTIONS = 4;
+    private static final int TIMEOUT = 1000;
+    private static final int KEEP_ALIVE_TIME = 20000;
+    private static final int VALIDATE_AFTER_INACTIVITY_WAIT = 10;
+
+    private WireMockServer wireMockServer;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private SpineConnectionPoolConfig connectionPoolConfig;
+    private SpineConnectionWarmUp spineConnectionWarmUp;
+    private HttpRoute route;
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(options().dynamicPort());
+        wireMockServer.start();
+        route = new HttpRoute(new HttpHost("localhost", wireMockServer.port(), "http"));
+
+        connectionManager = new PoolingHttpClientConnectionManager(RegistryBuilder.<ConnectionSocketFactory>create()
+            .register("http", PlainConnectionSocketFactory.getSocketFactory())
+            .build());
+        connectionManager.setMaxTotal(MAX_CONNECTIONS);
+        connectionManager.setDefaultMaxPerRoute(MAX_CONNECTIONS);
+
+        var spineConfiguration = new SpineConfiguration();
+        spineConfiguration.setUrl(wireMockServer.baseUrl());
+        connectionPoolConfig = new SpineConnectionPoolConfig();
+        connectionPoolConfig.setMinIdleConnections(MIN_IDLE_CONNECTIONS);
+        connectionPoolConfig.setConnectionTimeout(TIMEOUT);
+        connectionPoolConfig.setRequestTimeout(TIMEOUT);
+        connectionPoolConfig.setDefaultKeepAliveTime(KEEP_ALIVE_TIME);
+        spineConnectionWarmUp = new SpineConnectionWarmUp(spineConfiguration, connectionPoolConfig, connectionManager,
+            HttpClient.create());
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionManager.shutdown();
+        wireMockServer.stop();
+    }
+
+    @Test
+    void whenApplicationStartsExpectMinIdleConnectionsOpened() {
+        spineConnectionWarmUp.run(null);
+
+        assertThat(connectionManager.getStats(route).getAvailable()).isEqualTo(MIN_IDLE_CONNECTIONS);
+        assertThat(connectionManager.getStats(route).getLeased()).isZero();
+    }
+
+    @Test
+    void whenIdleConnectionsClosedExpectMinIdleConnectionsReopened() {
+        spineConnectionWarmUp.run(null);
+        connectionManager.closeIdleConnections(0, MILLISECONDS);
+        assertThat(connectionManager.getStats(route).getAvailable()).isZero();
+
+        assertThat(spineConnectionWarmUp.keepMinIdleConnections()).isEqualTo(MIN_IDLE_CONNECTIONS);
+        assertThat(connectionManager.getStats(route).getAvailable()).isEqualTo(MIN_IDLE_CONNECTIONS);
+
+        assertThat(spineConnectionWarmUp.keepMinIdleConnections()).isZero();
+    }
+
+    @Test
+    void whenOpenedConnectionValidatedBeforeFirstUseExpectItLeased() throws Exception {
+        connectionManager.setValidateAfterInactivity(1);
+        spineConnectionWarmUp.run(null);
+        Thread.sleep(VALIDATE_AFTER_INACTIVITY_WAIT);
+
+        var connection = connectionManager.requestConnection(route, null).get(TIMEOUT, MILLISECONDS);
+
+        assertThat(connection.isOpen()).isTrue();
+        connectionManager.releaseConnection(connection, null, 0, MILLISECONDS);
+    }
+
+    @Test
+    void whenConnectionsLeasedExpectOnlyFreeConnectionsOpened() throws Exception {
+        var first = connectionManager.requestConnection(route, null).get(TIMEOUT, MILLISECONDS);
+        var second = connectionManager.requestConnection(route, null).get(TIMEOUT, MILLISECONDS);
+
+        assertThat(spineConnectionWarmUp.keepMinIdleConnections()).isEqualTo(MAX_CONNECTIONS - 2);
+
+        connectionManager.releaseConnection(first, null, 0, MILLISECONDS);
+        connectionManager.releaseConnection(second, null, 0, MILLISECONDS);
+    }
+
+    @Test
+    void whenSpineUnreachableExpectNoConnectionsAndNoFailure() {
+        wireMockServer.stop();
+
+        spineConnectionWarmUp.run(null);
+
+        assertThat(spineConnectionWarmUp.keepMinIdleConnections()).isZero();
+        assertThat(connectionManager.getStats(route).getAvailable()).isZero();
+        assertThat(connectionManager.getStats(route).getLeased()).isZero();
+    }
+
+    @Test
+    void whenMinIdleConnectionsIsZeroExpectNothingOpened() {
+        connectionPoolConfig.setMinIdleConnections(0);
+
+        spineConnectionWarmUp.run(null);
+
+        assertThat(connectionManager.getStats(route).getAvailable()).isZero();
+    }
+}
@@ -0,0 +1,49 @@
+package uk.nhs.adaptors.scr.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadsTest {
+
+    private static final int FIRST_JDK_WITH_VIRTUAL_THREADS = 21;
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    void whenJdkHasVirtualThreadsExpectSupported() {
+        assertThat(VirtualThreads.isSupported()).isEqualTo(Runtime.version().feature() >= FIRST_JDK_WITH_VIRTUAL_THREADS);
+    }
+
+    @Test
+    void whenJdkHasNoVirtualThreadsExpectExecutorRefused() {
+        assumeFalse(VirtualThreads.isSupported());
+
+        assertThatThrownBy(() -> VirtualThreads.executor("test-"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("JDK 21");
+    }
+
+    @Test
+    void whenTaskRunOnVirtualThreadExpectNamedThreadWithSubmitterMdc() {
+        assumeTrue(VirtualThreads.isSupported());
+
+        MDC.put("CorrelationId", "correlation");
+        var thread = new CompletableFuture<String>();
+
+        VirtualThreads.executor("test-").execute(() ->
+            thread.complete(Thread.currentThread().getName() + " " + MDC.get("CorrelationId")));
+
+        assertThat(thread.join()).isEqualTo("test-0 correlation");
+    }
+}
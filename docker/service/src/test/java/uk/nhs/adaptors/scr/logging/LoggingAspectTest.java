@@ -0,0 +1,105 @@
+package uk.nhs.adaptors.scr.logging;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import reactor.core.publisher.Mono;
+import uk.nhs.adaptors.scr.config.ScrConfiguration;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoggingAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TimedService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        var proxyFactory = new AspectJProxyFactory(new TimedService());
+        proxyFactory.addAspect(new LoggingAspect(meterRegistry, new ScrConfiguration().setExecutionTimeLogSampleRate(1)));
+        service = proxyFactory.getProxy();
+    }
+
+    @Test
+    void whenMethodReturnsExpectSuccessTimed() {
+        service.succeed();
+        service.succeed();
+
+        assertThat(timerCount("succeed", "success")).isEqualTo(2);
+        assertThat(timerCount("succeed", "error")).isZero();
+    }
+
+    @Test
+    void whenMethodThrowsExpectErrorTimed() {
+        assertThatThrownBy(service::fail).isInstanceOf(IllegalStateException.class);
+
+        assertThat(timerCount("fail", "error")).isEqualTo(1);
+        assertThat(timerCount("fail", "success")).isZero();
+    }
+
+    @Test
+    void whenMethodReturnsFutureExpectTimedOnCompletion() {
+        var future = new CompletableFuture<String>();
+
+        assertThat(service.complete(future)).isSameAs(future);
+        assertThat(timerCount("complete", "success")).isZero();
+
+        future.completeExceptionally(new IllegalStateException());
+
+        assertThat(timerCount("complete", "error")).isEqualTo(1);
+    }
+
+    @Test
+    void whenMethodReturnsMonoExpectTimedOnCompletion() {
+        var mono = service.mono(Mono.just("value"));
+
+        assertThat(timerCount("mono", "success")).isZero();
+        assertThat(mono.block()).isEqualTo("value");
+        assertThat(timerCount("mono", "success")).isEqualTo(1);
+    }
+
+    @Test
+    void whenMethodNotAnnotatedExpectNotTimed() {
+        service.untimed();
+
+        assertThat(meterRegistry.find("method.execution").tag("method", "untimed").timer()).isNull();
+    }
+
+    private long timerCount(String method, String outcome) {
+        return meterRegistry.get("method.execution")
+            .tag("class", TimedService.class.getSimpleName())
+            .tag("method", method)
+            .tag("outcome", outcome)
+            .timer()
+            .count();
+    }
+
+    static class TimedService {
+        @LogExecutionTime
+        public void succeed() {
+        }
+
+        @LogExecutionTime
+        public void fail() {
+            throw new IllegalStateException();
+        }
+
+        @LogExecutionTime
+        public CompletableFuture<String> complete(CompletableFuture<String> future) {
+            return future;
+        }
+
+        @LogExecutionTime
+        public Mono<String> mono(Mono<String> mono) {
+            return mono;
+        }
+
+        public void untimed() {
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package uk.nhs.adaptors.scr.mappings.from.hl7;
+
+import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.Resource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.w3c.dom.Document;
+import uk.nhs.adaptors.scr.config.ScrConfiguration;
+import uk.nhs.adaptors.scr.exceptions.SectionMappingTimeoutException;
+import uk.nhs.adaptors.scr.utils.XmlUtils;
+
+import javax.xml.xpath.XPathFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static uk.nhs.adaptors.scr.mappings.from.hl7.HtmlParser.serialize;
+import static uk.nhs.adaptors.scr.utils.DocumentBuilderUtil.parseDocument;
+
+public class ParallelSectionMapperTest {
+
+    private static final String RESPONSE = "<QUPC_IN210000UK04><ControlActEvent><subject><GPSummary>"
+        + "<id root=\"gp-summary\"/>"
+        + "<pertinentInformation2><pertinentCREType><code code=\"A\"/></pertinentCREType></pertinentInformation2>"
+        + "<pertinentInformation2><pertinentCREType><code code=\"B\"/></pertinentCREType></pertinentInformation2>"
+        + "<pertinentInformation2><pertinentCREType><code code=\"C\"/></pertinentCREType></pertinentInformation2>"
+        + "</GPSummary></subject></ControlActEvent></QUPC_IN210000UK04>";
+    private static final String SECTION_CODES_XPATH =
+        "//QUPC_IN210000UK04/ControlActEvent/subject//GPSummary/pertinentInformation2/pertinentCREType/code/@code";
+
+    private final XmlUtils xmlUtils = new XmlUtils(XPathFactory.newInstance());
+    private static final long SECTION_MAPPING_TIMEOUT = 200;
+
+    private final GpSummaryMapper gpSummaryMapper = mock(GpSummaryMapper.class);
+    private ThreadPoolTaskExecutor executor;
+    private ParallelSectionMapper parallelSectionMapper;
+
+    @BeforeEach
+    public void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.initialize();
+        var scrConfiguration = new ScrConfiguration();
+        scrConfiguration.setSectionMappingTimeout(SECTION_MAPPING_TIMEOUT);
+        parallelSectionMapper = new ParallelSectionMapper(gpSummaryMapper, executor, scrConfiguration);
+        when(gpSummaryMapper.sectionReferences(any())).thenReturn(Map.of());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void When_MappingSections_Expect_ResourcesOrderedByMapperThenSection() {
+        var sections = parallelSectionMapper.map(parseDocument(RESPONSE), List.of(codeMapper("first"), codeMapper("second")));
+
+        assertThat(ids(sections.getSectionResources()))
+            .containsExactly("first-A", "first-B", "first-C", "second-A", "second-B", "second-C");
+    }
+
+    @Test
+    public void When_SectionDetachedByEarlierMapper_Expect_NotMappedByLaterMapper() {
+        XmlToFhirMapper claimingMapper = document -> {
+            xmlUtils.detachOptionalNodeByXPath(document, "//pertinentInformation2/pertinentCREType[code/@code='B']");
+            return List.of();
+        };
+
+        var sections = parallelSectionMapper.map(parseDocument(RESPONSE), List.of(claimingMapper, codeMapper("second")));
+
+        assertThat(ids(sections.getSectionResources())).containsExactly("second-A", "second-C");
+    }
+
+    @Test
+    public void When_MappingSections_Expect_DocumentNotModified() {
+        Document document = parseDocument(RESPONSE);
+        XmlToFhirMapper detachingMapper = it -> {
+            xmlUtils.getNodesByXPath(it, "//pertinentCREType").forEach(node -> node.getParentNode().removeChild(node));
+            return List.of();
+        };
+
+        var sections = parallelSectionMapper.map(document, List.of(detachingMapper));
+        sections.getSectionResources();
+
+        assertThat(serialize(document)).isEqualTo(serialize(parseDocument(RESPONSE)));
+        assertThat(xmlUtils.getNodesByXPath(sections.getDocument(), "//pertinentInformation2")).isEmpty();
+        assertThat(xmlUtils.getValueByXPath(sections.getDocument(), "//GPSummary/id/@root")).isEqualTo("gp-summary");
+    }
+
+    @Test
+    public void When_SectionMapperStuck_Expect_TimeoutAndSectionsCancelled() {
+        var interrupted = new CountDownLatch(1);
+        XmlToFhirMapper stuckMapper = document -> {
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return List.of();
+        };
+
+        var sections = parallelSectionMapper.map(parseDocument(RESPONSE), List.of(stuckMapper));
+
+        assertThatThrownBy(sections::getSectionResources)
+            .isInstanceOf(SectionMappingTimeoutException.class)
+            .hasMessage("SCR sections were not mapped within 200ms");
+        assertThat(interrupted.getCount()).isZero();
+    }
+
+    private XmlToFhirMapper codeMapper(String prefix) {
+        return document -> xmlUtils.getNodesByXPath(document, SECTION_CODES_XPATH).stream()
+            .map(code -> new Observation().setId(prefix + "-" + code.getNodeValue()))
+            .collect(Collectors.toList());
+    }
+
+    private static List<String> ids(List<Resource> resources) {
+        return resources.stream()
+            .map(Resource::getId)
+            .collect(Collectors.toList());
+    }
+}
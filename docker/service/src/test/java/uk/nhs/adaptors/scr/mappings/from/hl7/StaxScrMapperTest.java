@@ -0,0 +1,79 @@
+package uk.nhs.adaptors.scr.mappings.from.hl7;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class StaxScrMapperTest {
+
+    private static final String ERROR_RESPONSE = "<QUPC_IN210000UK04><ControlActEvent>"
+        + "<reason><justifyingDetectedIssueEvent><code code=\"30418\"/></justifyingDetectedIssueEvent></reason>"
+        + "<subject><GPSummary>"
+        + "<pertinentInformation2><pertinentCREType><code code=\"A\"/></pertinentCREType></pertinentInformation2>"
+        + "</GPSummary></subject></ControlActEvent></QUPC_IN210000UK04>";
+    private static final String NO_SECTIONS_RESPONSE = "<QUPC_IN210000UK04><ControlActEvent>"
+        + "<reason><justifyingDetectedIssueEvent><code code=\"30418\"/></justifyingDetectedIssueEvent></reason>"
+        + "</ControlActEvent></QUPC_IN210000UK04>";
+    private static final long SECTION_MAPPING_TIMEOUT = 1000;
+
+    private final ParallelSectionMapper parallelSectionMapper = mock(ParallelSectionMapper.class);
+    private final StaxScrMapper staxScrMapper = new StaxScrMapper(parallelSectionMapper);
+
+    @BeforeEach
+    public void setUp() {
+        when(parallelSectionMapper.newSections(any(), anyInt()))
+            .thenAnswer(invocation -> new MappedSections(invocation.getArgument(0), invocation.getArgument(1), SECTION_MAPPING_TIMEOUT));
+    }
+
+    @Test
+    public void When_HeaderCheckFails_Expect_NoSectionMapped() {
+        assertThatThrownBy(() -> staxScrMapper.map(stream(ERROR_RESPONSE), List.of(), header -> {
+            throw new IllegalStateException("detected issue");
+        })).hasMessage("detected issue");
+
+        verify(parallelSectionMapper, never()).submit(any(), any(), any());
+    }
+
+    @Test
+    public void When_MappingSections_Expect_HeaderCheckedBeforeFirstSection() {
+        List<String> calls = new ArrayList<>();
+        doAnswer(invocation -> calls.add("section")).when(parallelSectionMapper).submit(any(), any(), any());
+
+        staxScrMapper.map(stream(ERROR_RESPONSE), List.of(), header -> calls.add("header " + detectedIssueCount(header)));
+
+        assertThat(calls).containsExactly("header 1", "section");
+    }
+
+    @Test
+    public void When_ResponseHasNoSections_Expect_WholeDocumentChecked() {
+        List<String> calls = new ArrayList<>();
+
+        staxScrMapper.map(stream(NO_SECTIONS_RESPONSE), List.of(), header -> calls.add("header " + detectedIssueCount(header)));
+
+        assertThat(calls).containsExactly("header 1");
+    }
+
+    private static int detectedIssueCount(Document document) {
+        return document.getElementsByTagName("justifyingDetectedIssueEvent").getLength();
+    }
+
+    private static InputStream stream(String xml) {
+        return new ByteArrayInputStream(xml.getBytes(UTF_8));
+    }
+}
@@ -0,0 +1,71 @@
+package uk.nhs.adaptors.scr.models;
+
+import org.hl7.fhir.r4.model.Bundle;
+import org.hl7.fhir.r4.model.Condition;
+import org.hl7.fhir.r4.model.Encounter;
+import org.hl7.fhir.r4.model.IdType;
+import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.Reference;
+import org.junit.jupiter.api.Test;
+import uk.nhs.adaptors.scr.components.FhirParser;
+import uk.nhs.adaptors.scr.utils.BundleIndex;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static uk.nhs.adaptors.scr.utils.FhirHelper.getDomainResourceList;
+import static uk.nhs.adaptors.scr.utils.FhirHelper.getResourceByReference;
+import static uk.nhs.utils.Utils.readResourceFile;
+
+/**
+ * Grows the standard GP summary by copying its Conditions and Observations together with their Encounters, and checks
+ * every copy is mapped. How mapping time grows with the copies is measured by UploadPathBenchmark.fromBundle.
+ */
+class GpSummaryScalingTest {
+
+    private static final String NHSD_ASID = "1029384756";
+    private static final int COPIES = 25;
+
+    private final FhirParser fhirParser = new FhirParser();
+    private final String standardGpSummary = readResourceFile("gp_summary/standard_gp_summary.json");
+
+    @Test
+    void whenMappingLargerBundlesExpectEveryCopyMapped() {
+        var summary = GpSummary.fromBundle(scaledBundle(COPIES), NHSD_ASID);
+        var original = GpSummary.fromBundle(scaledBundle(0), NHSD_ASID);
+
+        assertThat(summary.getDiagnoses()).hasSize(original.getDiagnoses().size() * (COPIES + 1));
+        assertThat(summary.getClinicalObservationsAndFindings())
+            .hasSize(original.getClinicalObservationsAndFindings().size() * (COPIES + 1));
+    }
+
+    private Bundle scaledBundle(int copies) {
+        var bundle = fhirParser.parseResource(standardGpSummary, Bundle.class);
+        var conditions = getDomainResourceList(bundle, Condition.class);
+        var observations = getDomainResourceList(bundle, Observation.class);
+        for (int i = 0; i < copies; i++) {
+            for (var condition : conditions) {
+                var copy = condition.copy();
+                copy.setId(condition.getIdElement().getIdPart() + "-" + i);
+                copy.setEncounter(copyEncounter(bundle, condition.getEncounter(), i));
+                bundle.addEntry().setResource(copy);
+            }
+            for (var observation : observations) {
+                var copy = observation.copy();
+                copy.setId(observation.getIdElement().getIdPart() + "-" + i);
+                copy.setEncounter(copyEncounter(bundle, observation.getEncounter(), i));
+                bundle.addEntry().setResource(copy);
+            }
+        }
+        BundleIndex.clear(bundle);
+        return bundle;
+    }
+
+    private static Reference copyEncounter(Bundle bundle, Reference reference, int i) {
+        if (!reference.hasReference()) {
+            return reference;
+        }
+        var encounter = getResourceByReference(bundle, reference.getReference(), Encounter.class).orElseThrow().copy();
+        encounter.setIdElement(new IdType("Encounter", encounter.getIdElement().getIdPart() + "-" + i));
+        bundle.addEntry().setResource(encounter);
+        return new Reference("Encounter/" + encounter.getIdElement().getIdPart());
+    }
+}
@@ -0,0 +1,188 @@
+package uk.nhs.adaptors.scr.services;
+
+import org.hl7.fhir.r4.model.Bundle;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import uk.nhs.adaptors.scr.components.FhirParser;
+import uk.nhs.adaptors.scr.config.ScrConfiguration;
+import uk.nhs.adaptors.scr.exceptions.BadRequestException;
+import uk.nhs.adaptors.scr.exceptions.ForbiddenException;
+import uk.nhs.adaptors.scr.models.RequestData;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hl7.fhir.r4.model.Bundle.BundleType.BATCHRESPONSE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("checkstyle:MagicNumber")
+class BulkUploadScrServiceTest {
+
+    private static final int CONCURRENCY = 3;
+
+    private final FhirParser fhirParser = new FhirParser();
+    private UploadScrService uploadScrService;
+    private ThreadPoolTaskExecutor executor;
+    private ScheduledExecutorService spine;
+    private BulkUploadScrService bulkUploadScrService;
+
+    @BeforeEach
+    void setUp() {
+        uploadScrService = mock(UploadScrService.class);
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(CONCURRENCY);
+        executor.initialize();
+        spine = Executors.newSingleThreadScheduledExecutor();
+        var scrConfiguration = new ScrConfiguration()
+            .setBulkUploadConcurrency(CONCURRENCY)
+            .setBulkUploadMaxEntries(20);
+        bulkUploadScrService = new BulkUploadScrService(fhirParser, uploadScrService, scrConfiguration, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+        spine.shutdownNow();
+    }
+
+    @Test
+    void whenUploadingManyScrsExpectAtMostConcurrencyInProgress() throws Exception {
+        var inProgress = new AtomicInteger();
+        var maxInProgress = new AtomicInteger();
+        when(uploadScrService.uploadScr(any(), any(Bundle.class))).thenAnswer(invocation -> {
+            maxInProgress.accumulateAndGet(inProgress.incrementAndGet(), Math::max);
+            var spineResult = new CompletableFuture<Void>();
+            spine.schedule(() -> {
+                inProgress.decrementAndGet();
+                spineResult.complete(null);
+            }, 20, MILLISECONDS);
+            return spineResult;
+        });
+
+        var batchResponse = bulkUploadScrService.uploadScrs(documents(10).iterator(), new RequestData()).getResult().get(5, SECONDS);
+
+        assertThat(batchResponse.getType()).isEqualTo(BATCHRESPONSE);
+        assertThat(batchResponse.getEntry())
+            .hasSize(10)
+            .allSatisfy(entry -> assertThat(entry.getResponse().getStatus()).isEqualTo("201 Created"));
+        assertThat(maxInProgress.get()).isEqualTo(CONCURRENCY);
+    }
+
+    @Test
+    void whenSomeUploadsFailExpectErrorReturnedForThoseEntriesOnly() throws Exception {
+        var documents = documents(4);
+        when(uploadScrService.uploadScr(any(), any(Bundle.class))).thenAnswer(invocation -> {
+            if (invocation.getArgument(1) == documents.get(1).get()) {
+                throw new ForbiddenException("No consent");
+            }
+            if (invocation.getArgument(1) == documents.get(2).get()) {
+                return CompletableFuture.failedFuture(new BadRequestException("Spine processing finished with errors"));
+            }
+            return CompletableFuture.completedFuture(null);
+        });
+
+        var entries = bulkUploadScrService.uploadScrs(documents.iterator(), new RequestData()).getResult().get(5, SECONDS).getEntry();
+
+        assertThat(entries.get(0).getResponse().getStatus()).isEqualTo("201 Created");
+        assertThat(entries.get(1).getResponse().getStatus()).isEqualTo("403 Forbidden");
+        assertThat(entries.get(1).getResponse().getOutcome()).isNotNull();
+        assertThat(entries.get(2).getResponse().getStatus()).isEqualTo("400 Bad Request");
+        assertThat(entries.get(3).getResponse().getStatus()).isEqualTo("201 Created");
+    }
+
+    @Test
+    void whenNdjsonLineInvalidExpectOnlyThatEntryRejected() throws Exception {
+        when(uploadScrService.uploadScr(any(), any(Bundle.class))).thenReturn(CompletableFuture.completedFuture(null));
+        var document = fhirParser.encodeToJson(new Bundle().setType(Bundle.BundleType.DOCUMENT)).replace("\n", "");
+
+        var documents = bulkUploadScrService.parseNdjson(ndjson(document + "\n\n{\"resourceType\": \"Nonsense\"}\n" + document + "\n"));
+        var entries = bulkUploadScrService.uploadScrs(documents, new RequestData()).getResult().get(5, SECONDS).getEntry();
+
+        assertThat(entries).extracting(entry -> entry.getResponse().getStatus())
+            .containsExactly("201 Created", "400 Bad Request", "201 Created");
+    }
+
+    @Test
+    void whenTooManyOrNoEntriesExpectBadRequest() {
+        var batch = new Bundle().setType(Bundle.BundleType.BATCH);
+        for (int i = 0; i < 21; i++) {
+            batch.addEntry().setResource(new Bundle().setType(Bundle.BundleType.DOCUMENT));
+        }
+
+        assertThatThrownBy(() -> bulkUploadScrService.parseBatch(fhirParser.encodeToJson(batch)))
+            .isExactlyInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> bulkUploadScrService.parseNdjson(ndjson("\n")))
+            .isExactlyInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void whenNdjsonHasTooManyLinesExpectFirstExtraLineRejectedAndRestNotRead() throws Exception {
+        when(uploadScrService.uploadScr(any(), any(Bundle.class))).thenReturn(CompletableFuture.completedFuture(null));
+        var document = fhirParser.encodeToJson(new Bundle().setType(Bundle.BundleType.DOCUMENT)).replace("\n", "");
+
+        var documents = bulkUploadScrService.parseNdjson(ndjson((document + "\n").repeat(25)));
+        var entries = bulkUploadScrService.uploadScrs(documents, new RequestData()).getResult().get(5, SECONDS).getEntry();
+
+        assertThat(entries).hasSize(21);
+        assertThat(entries.get(19).getResponse().getStatus()).isEqualTo("201 Created");
+        assertThat(entries.get(20).getResponse().getStatus()).isEqualTo("400 Bad Request");
+    }
+
+    @Test
+    void whenStoppedExpectFinishedEntriesKeptAndOthersTimedOut() throws Exception {
+        var documents = documents(6);
+        var inProgress = new CompletableFuture<Void>();
+        var started = new CountDownLatch(CONCURRENCY + 1);
+        when(uploadScrService.uploadScr(any(), any(Bundle.class))).thenAnswer(invocation -> {
+            started.countDown();
+            if (invocation.getArgument(1) == documents.get(0).get()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return inProgress;
+        });
+
+        var upload = bulkUploadScrService.uploadScrs(documents.iterator(), new RequestData());
+        assertThat(started.await(5, SECONDS)).isTrue();
+        var batchResponse = upload.stop();
+        inProgress.complete(null);
+
+        assertThat(batchResponse.getEntry()).extracting(entry -> entry.getResponse().getStatus())
+            .containsExactly("201 Created", "504 Gateway Timeout", "504 Gateway Timeout", "504 Gateway Timeout",
+                "504 Gateway Timeout", "504 Gateway Timeout");
+        assertThat(batchResponse.getEntry().get(5).getResponse().getOutcome()).isNotNull();
+        assertThat(upload.getResult().get(5, SECONDS).getEntry()).hasSize(6);
+        verify(uploadScrService, times(CONCURRENCY + 1)).uploadScr(any(), any(Bundle.class));
+    }
+
+    private static InputStream ndjson(String body) {
+        return new ByteArrayInputStream(body.getBytes(UTF_8));
+    }
+
+    private static List<Supplier<Bundle>> documents(int count) {
+        var documents = new ArrayList<Supplier<Bundle>>();
+        for (int i = 0; i < count; i++) {
+            var document = new Bundle().setType(Bundle.BundleType.DOCUMENT);
+            documents.add(() -> document);
+        }
+        return documents;
+    }
+}
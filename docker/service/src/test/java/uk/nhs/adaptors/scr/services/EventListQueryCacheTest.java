@@ -0,0 +1,149 @@
+package uk.nhs.adaptors.scr.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import uk.nhs.adaptors.scr.config.ScrConfiguration;
+import uk.nhs.adaptors.scr.exceptions.ForbiddenException;
+import uk.nhs.adaptors.scr.models.EventListQueryResponse;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventListQueryCacheTest {
+
+    private static final String NHS_NUMBER = "9000000009";
+    private static final String OTHER_NHS_NUMBER = "9000000010";
+    private static final String NHSD_ASID = "123";
+    private static final String OTHER_NHSD_ASID = "456";
+    private static final long TTL = 60000;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger spineQueries;
+    private Supplier<EventListQueryResponse> spineQuery;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        spineQueries = new AtomicInteger();
+        spineQuery = () -> {
+            spineQueries.incrementAndGet();
+            return new EventListQueryResponse();
+        };
+    }
+
+    @Test
+    void whenSamePatientAndAsidQueriedTwiceExpectOneSpineQuery() {
+        var cache = cache(TTL);
+
+        var first = cache.get(NHS_NUMBER, NHSD_ASID, spineQuery);
+        var second = cache.get(NHS_NUMBER, NHSD_ASID, spineQuery);
+        cache.get(NHS_NUMBER, OTHER_NHSD_ASID, spineQuery);
+
+        assertThat(second).isSameAs(first);
+        assertThat(spineQueries.get()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void whenPatientInvalidatedExpectEntriesForAllAsidsDropped() {
+        var cache = cache(TTL);
+        cache.get(NHS_NUMBER, NHSD_ASID, spineQuery);
+        cache.get(NHS_NUMBER, OTHER_NHSD_ASID, spineQuery);
+        cache.get(OTHER_NHS_NUMBER, NHSD_ASID, spineQuery);
+
+        cache.invalidate(NHS_NUMBER);
+        cache.get(NHS_NUMBER, NHSD_ASID, spineQuery);
+        cache.get(NHS_NUMBER, OTHER_NHSD_ASID, spineQuery);
+        cache.get(OTHER_NHS_NUMBER, NHSD_ASID, spineQuery);
+
+        assertThat(spineQueries.get()).isEqualTo(5);
+    }
+
+    @Test
+    void whenPatientInvalidatedWhileQueryInFlightExpectResultNotServedAfterwards() {
+        var cache = cache(TTL);
+
+        var inFlight = cache.get(NHS_NUMBER, NHSD_ASID, () -> {
+            var response = spineQuery.get();
+            cache.invalidate(NHS_NUMBER);
+            return response;
+        });
+        var afterInvalidation = cache.get(NHS_NUMBER, NHSD_ASID, spineQuery);
+
+        assertThat(afterInvalidation).isNotSameAs(inFlight);
+        assertThat(cache.get(NHS_NUMBER, NHSD_ASID, spineQuery)).isSameAs(afterInvalidation);
+        assertThat(spineQueries.get()).isEqualTo(2);
+    }
+
+    @Test
+    void whenPatientInvalidatedWhileReactiveQueryInFlightExpectResultNotCached() {
+        var cache = cache(TTL);
+
+        var inFlight = cache.getReactive(NHS_NUMBER, NHSD_ASID, () -> Mono.fromSupplier(spineQuery)
+            .doOnNext(response -> cache.invalidate(NHS_NUMBER))).block();
+        var afterInvalidation = cache.getReactive(NHS_NUMBER, NHSD_ASID, () -> Mono.fromSupplier(spineQuery)).block();
+
+        assertThat(afterInvalidation).isNotSameAs(inFlight);
+        assertThat(spineQueries.get()).isEqualTo(2);
+    }
+
+    @Test
+    void whenQueryFailsExpectExceptionRethrownAndNotCached() {
+        var cache = cache(TTL);
+
+        assertThatThrownBy(() -> cache.get(NHS_NUMBER, NHSD_ASID, () -> {
+            throw new ForbiddenException("No consent");
+        })).isExactlyInstanceOf(ForbiddenException.class);
+        cache.get(NHS_NUMBER, NHSD_ASID, spineQuery);
+
+        assertThat(spineQueries.get()).isEqualTo(1);
+    }
+
+    @Test
+    void whenTtlIsZeroExpectNoCaching() {
+        var cache = cache(0);
+
+        cache.get(NHS_NUMBER, NHSD_ASID, spineQuery);
+        cache.get(NHS_NUMBER, NHSD_ASID, spineQuery);
+
+        assertThat(spineQueries.get()).isEqualTo(2);
+    }
+
+    @Test
+    void whenQueriedReactivelyExpectResultCachedAndSharedWithBlockingCalls() {
+        var cache = cache(TTL);
+        Supplier<Mono<EventListQueryResponse>> reactiveQuery = () -> Mono.fromSupplier(spineQuery);
+
+        var first = cache.getReactive(NHS_NUMBER, NHSD_ASID, reactiveQuery).block();
+        var second = cache.getReactive(NHS_NUMBER, NHSD_ASID, reactiveQuery).block();
+
+        assertThat(second).isSameAs(first);
+        assertThat(cache.get(NHS_NUMBER, NHSD_ASID, spineQuery)).isSameAs(first);
+        assertThat(spineQueries.get()).isEqualTo(1);
+    }
+
+    @Test
+    void whenReactiveQueryFailsExpectErrorAndNotCached() {
+        var cache = cache(TTL);
+
+        assertThatThrownBy(() -> cache.getReactive(NHS_NUMBER, NHSD_ASID,
+            () -> Mono.error(new ForbiddenException("No consent"))).block())
+            .isExactlyInstanceOf(ForbiddenException.class);
+        cache.getReactive(NHS_NUMBER, NHSD_ASID, () -> Mono.fromSupplier(spineQuery)).block();
+
+        assertThat(spineQueries.get()).isEqualTo(1);
+    }
+
+    private EventListQueryCache cache(long ttl) {
+        var scrConfiguration = new ScrConfiguration()
+            .setEventListQueryCacheTtl(ttl)
+            .setEventListQueryCacheSize(100);
+        return new EventListQueryCache(scrConfiguration, meterRegistry);
+    }
+}
@@ -1,13 +1,17 @@
 package uk.nhs.adaptors.scr.services;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.apache.http.client.utils.URIBuilder;
 import org.hl7.fhir.r4.model.Bundle;
+import org.hl7.fhir.r4.model.PractitionerRole;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
 import uk.nhs.adaptors.scr.clients.sds.SdsClient;
 import uk.nhs.adaptors.scr.components.FhirParser;
 import uk.nhs.adaptors.scr.config.SdsConfiguration;
@@ -19,6 +23,7 @@ import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static uk.nhs.utils.Utils.readResourceFile;
 
@@ -44,6 +49,12 @@ class SdsServiceTest {
     @Mock
     private SdsConfiguration sdsConfiguration;
 
+    @Spy
+    private SdsRoleCodeCache sdsRoleCodeCache = new SdsRoleCodeCache(new SdsConfiguration()
+        .setRoleCodeCacheTtl(60000)
+        .setRoleCodeNegativeCacheTtl(60000)
+        .setRoleCodeCacheSize(100), new SimpleMeterRegistry());
+
     @InjectMocks
     private SdsService sdsService;
 
@@ -97,6 +108,63 @@ class SdsServiceTest {
         assertEquals("", result);
     }
 
+    @Test
+    public void whenRoleCodingHasNoCodeExpectNoRoleCodeCached() throws URISyntaxException {
+
+        var responseData = readResourceFile("sds_tests/sds_role_response.json");
+        var response = fhirParser.parseResource(responseData, Bundle.class);
+        ((PractitionerRole) response.getEntryFirstRep().getResource()).getCodeFirstRep().getCodingFirstRep().setCode(null);
+        when(sdsClient.sendGet(urlBuilder(NHSD_SESSION_URID))).thenReturn(response);
+
+        sdsService.getUserRoleCode(NHSD_SESSION_URID);
+        var result = sdsService.getUserRoleCode(NHSD_SESSION_URID);
+
+        assertEquals("", result);
+        verify(sdsClient, times(1)).sendGet(urlBuilder(NHSD_SESSION_URID));
+    }
+
+    @Test
+    public void whenGetUserRoleCodeTwiceExpectOneSdsRequest() throws URISyntaxException {
+
+        var responseData = readResourceFile("sds_tests/sds_role_response.json");
+        var response = fhirParser.parseResource(responseData, Bundle.class);
+        when(sdsClient.sendGet(urlBuilder(NHSD_SESSION_URID))).thenReturn(response);
+
+        sdsService.getUserRoleCode(NHSD_SESSION_URID);
+        var result = sdsService.getUserRoleCode(NHSD_SESSION_URID);
+
+        assertEquals(ROLE_CODE, result);
+        verify(sdsClient, times(1)).sendGet(urlBuilder(NHSD_SESSION_URID));
+    }
+
+    @Test
+    public void whenNoRoleCodeFoundExpectEmptyResultCached() throws URISyntaxException {
+
+        var responseData = readResourceFile("sds_tests/sds_role_response_empty_entry.json");
+        var response = fhirParser.parseResource(responseData, Bundle.class);
+        when(sdsClient.sendGet(urlBuilder(NHSD_SESSION_URID))).thenReturn(response);
+
+        sdsService.getUserRoleCode(NHSD_SESSION_URID);
+        var result = sdsService.getUserRoleCode(NHSD_SESSION_URID);
+
+        assertEquals("", result);
+        verify(sdsClient, times(1)).sendGet(urlBuilder(NHSD_SESSION_URID));
+    }
+
+    @Test
+    public void whenGetUserRoleCodeAsyncExpectRoleCodeCachedForBlockingCalls() throws URISyntaxException {
+
+        var responseData = readResourceFile("sds_tests/sds_role_response_2.json");
+        var response = fhirParser.parseResource(responseData, Bundle.class);
+        when(sdsClient.get(urlBuilder(NHSD_SESSION_URID_2))).thenReturn(Mono.just(response));
+
+        var result = sdsService.getUserRoleCodeAsync(NHSD_SESSION_URID_2).block();
+
+        assertEquals(ROLE_CODE_2, result);
+        assertEquals(ROLE_CODE_2, sdsService.getUserRoleCode(NHSD_SESSION_URID_2));
+        verify(sdsClient, never()).sendGet(urlBuilder(NHSD_SESSION_URID_2));
+    }
+
     private URI urlBuilder(String nhsdSessionUrid) throws URISyntaxException {
         var userRoleId = USER_ROLE_FHIR_IDENTIFIER + "|" + nhsdSessionUrid;
 
@@ -0,0 +1,166 @@
+package uk.nhs.adaptors.scr.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import uk.nhs.adaptors.scr.exceptions.UnexpectedSpineResponseException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SuppressWarnings("checkstyle:MagicNumber")
+class SpineQueryCoalescerTest {
+
+    private static final SpineQueryCoalescer.Key KEY =
+        new SpineQueryCoalescer.Key("QUPC_IN190000UK04", "9000000009", "event-id", "123");
+    private static final SpineQueryCoalescer.Key OTHER_ASID_KEY =
+        new SpineQueryCoalescer.Key("QUPC_IN190000UK04", "9000000009", "event-id", "456");
+    private static final int CALLERS = 8;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SpineQueryCoalescer coalescer;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new SpineQueryCoalescer(meterRegistry);
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void whenIdenticalQueriesInFlightExpectOneSpineRequest() throws Exception {
+        var spineRequests = new AtomicInteger();
+        var release = new CountDownLatch(1);
+
+        var results = submit(CALLERS, KEY, () -> {
+            spineRequests.incrementAndGet();
+            await(release);
+            return "response";
+        });
+        waitForJoiners(CALLERS - 1);
+        release.countDown();
+
+        for (var result : results) {
+            assertThat(result.get(5, SECONDS)).isEqualTo("response");
+        }
+        assertThat(spineRequests.get()).isEqualTo(1);
+        assertThat(coalescer.getInFlightCount()).isZero();
+        assertThat(meterRegistry.get("spine.queries.coalesced").counter().count()).isEqualTo(CALLERS - 1);
+    }
+
+    @Test
+    void whenSharedRequestFailsExpectEveryCallerGetsException() throws Exception {
+        var release = new CountDownLatch(1);
+
+        var results = submit(CALLERS, KEY, () -> {
+            await(release);
+            throw new UnexpectedSpineResponseException("Unexpected spine send response 500");
+        });
+        waitForJoiners(CALLERS - 1);
+        release.countDown();
+
+        for (var result : results) {
+            assertThatThrownBy(() -> result.get(5, SECONDS))
+                .hasCauseExactlyInstanceOf(UnexpectedSpineResponseException.class);
+        }
+        assertThat(coalescer.getInFlightCount()).isZero();
+    }
+
+    @Test
+    void whenKeysDifferOrRequestCompletedExpectSeparateSpineRequests() {
+        var spineRequests = new AtomicInteger();
+
+        coalescer.execute(KEY, spineRequests::incrementAndGet);
+        coalescer.execute(KEY, spineRequests::incrementAndGet);
+        coalescer.execute(OTHER_ASID_KEY, spineRequests::incrementAndGet);
+
+        assertThat(spineRequests.get()).isEqualTo(3);
+    }
+
+    @Test
+    void whenIdenticalReactiveQueriesInFlightExpectOneSpineRequest() {
+        var spineRequests = new AtomicInteger();
+        var response = Sinks.<String>one();
+        Supplier<Mono<String>> query = () -> {
+            spineRequests.incrementAndGet();
+            return response.asMono();
+        };
+
+        var results = new ArrayList<CompletableFuture<String>>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(coalescer.executeReactive(KEY, query).toFuture());
+        }
+        results.get(0).cancel(true);
+        response.tryEmitValue("response");
+
+        for (var result : results.subList(1, CALLERS)) {
+            assertThat(result.join()).isEqualTo("response");
+        }
+        assertThat(spineRequests.get()).isEqualTo(1);
+        assertThat(coalescer.getInFlightCount()).isZero();
+        assertThat(meterRegistry.get("spine.queries.coalesced").counter().count()).isEqualTo(CALLERS - 1);
+    }
+
+    @Test
+    void whenReactiveQueryFailsExpectEveryCallerGetsErrorAndNothingKept() {
+        var response = Sinks.<String>one();
+
+        var first = coalescer.executeReactive(KEY, response::asMono).toFuture();
+        var joined = coalescer.executeReactive(KEY, response::asMono).toFuture();
+        response.tryEmitError(new UnexpectedSpineResponseException("Unexpected spine send response 500"));
+
+        assertThatThrownBy(first::join).hasCauseExactlyInstanceOf(UnexpectedSpineResponseException.class);
+        assertThatThrownBy(joined::join).hasCauseExactlyInstanceOf(UnexpectedSpineResponseException.class);
+        assertThatThrownBy(() -> coalescer.executeReactive(KEY, () -> {
+            throw new IllegalStateException();
+        }).block()).isInstanceOf(IllegalStateException.class);
+        assertThat(coalescer.getInFlightCount()).isZero();
+    }
+
+    private <T> List<Future<T>> submit(int callers, SpineQueryCoalescer.Key key, Supplier<T> query) {
+        var results = new ArrayList<Future<T>>();
+        for (int i = 0; i < callers; i++) {
+            results.add(executor.submit(() -> coalescer.execute(key, query)));
+        }
+        return results;
+    }
+
+    private void waitForJoiners(int joiners) throws InterruptedException {
+        for (int i = 0; i < 500 && coalescedCount() < joiners; i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    private double coalescedCount() {
+        var counter = meterRegistry.find("spine.queries.coalesced").counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, SECONDS);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package uk.nhs.adaptors.scr.utils;
+
+import org.hl7.fhir.r4.model.Bundle;
+import org.hl7.fhir.r4.model.CodeableConcept;
+import org.hl7.fhir.r4.model.Coding;
+import org.hl7.fhir.r4.model.Encounter;
+import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.Patient;
+import org.hl7.fhir.r4.model.Resource;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static uk.nhs.adaptors.scr.mappings.from.hl7.XmlToFhirMapper.SNOMED_SYSTEM;
+
+class BundleIndexTest {
+
+    private static final String FINDING_CODE = "163131000000108";
+    private static final String RISK_CODE = "163231000000100";
+
+    @Test
+    void whenIndexingBundleExpectResourcesByTypeReferenceAndCategory() {
+        var finding = observation("1", FINDING_CODE);
+        var risk = observation("2", RISK_CODE);
+        var uncategorised = new Observation();
+        uncategorised.setId("3");
+        var encounter = new Encounter();
+        encounter.setId("1");
+        var bundle = bundle(finding, risk, uncategorised, encounter);
+
+        var index = BundleIndex.of(bundle);
+
+        assertThat(index.getResources(Observation.class)).containsExactly(finding, risk, uncategorised);
+        assertThat(index.getResources(Patient.class)).isEmpty();
+        assertThat(index.getResources(Observation.class, FINDING_CODE)).containsExactly(finding);
+        assertThat(index.getResources(Encounter.class, FINDING_CODE)).isEmpty();
+        assertThat(index.getResource(Encounter.class, "1")).containsSame(encounter);
+        assertThat(index.getResource(Observation.class, "2")).containsSame(risk);
+        assertThat(index.getResource(Patient.class, "1")).isEmpty();
+        assertThat(uncategorised.hasCategory()).isFalse();
+    }
+
+    @Test
+    void whenIndexClearedExpectReplacedResourceFound() {
+        var bundle = bundle(observation("1", FINDING_CODE));
+        var index = BundleIndex.of(bundle);
+
+        assertThat(BundleIndex.of(bundle)).isSameAs(index);
+
+        var replacement = observation("2", RISK_CODE);
+        bundle.getEntryFirstRep().setResource(replacement);
+        BundleIndex.clear(bundle);
+
+        assertThat(BundleIndex.of(bundle)).isNotSameAs(index);
+        assertThat(BundleIndex.of(bundle).getResources(Observation.class, FINDING_CODE)).isEmpty();
+        assertThat(BundleIndex.of(bundle).getResource(Observation.class, "2")).containsSame(replacement);
+    }
+
+    private static Observation observation(String id, String categoryCode) {
+        var observation = new Observation();
+        observation.setId(id);
+        observation.addCategory(new CodeableConcept(new Coding(SNOMED_SYSTEM, categoryCode, null)));
+        return observation;
+    }
+
+    private static Bundle bundle(Resource... resources) {
+        var bundle = new Bundle();
+        for (var resource : resources) {
+            bundle.addEntry().setResource(resource);
+        }
+        return bundle;
+    }
+}
@@ -0,0 +1,49 @@
+package uk.nhs.adaptors.scr.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PoolTest {
+
+    private final AtomicInteger created = new AtomicInteger();
+    private final Pool<Object> pool = new Pool<>(() -> {
+        created.incrementAndGet();
+        return new Object();
+    }, 1);
+
+    @Test
+    void whenObjectReturnedOnOneThreadExpectReusedOnAnother() {
+        var first = pool.apply(object -> object);
+        var second = CompletableFuture.supplyAsync(() -> pool.apply(object -> object)).join();
+
+        assertThat(second).isSameAs(first);
+        assertThat(created.get()).isEqualTo(1);
+    }
+
+    @Test
+    void whenActionFailsExpectObjectNotReused() {
+        assertThatThrownBy(() -> pool.apply(object -> {
+            throw new IllegalStateException("failed");
+        })).hasMessage("failed");
+        pool.apply(object -> object);
+
+        assertThat(created.get()).isEqualTo(2);
+    }
+
+    @Test
+    void whenMoreThanMaxIdleReleasedExpectExtraDropped() {
+        var first = pool.take();
+        var second = pool.take();
+        pool.release(first);
+        pool.release(second);
+
+        assertThat(pool.take()).isSameAs(first);
+        assertThat(pool.take()).isNotSameAs(second);
+        assertThat(created.get()).isEqualTo(3);
+    }
+}
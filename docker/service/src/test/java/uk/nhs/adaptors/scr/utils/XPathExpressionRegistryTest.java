@@ -0,0 +1,72 @@
+package uk.nhs.adaptors.scr.utils;
+
+import static javax.xml.xpath.XPathConstants.STRING;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CompletableFuture;
+
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathFactory;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+
+public class XPathExpressionRegistryTest {
+
+    private static final String XPATH = "/root/child";
+    private static final String ROOT_XPATH = "/root";
+    private static final String OTHER_XPATH = "/root/other";
+
+    private final XPathExpressionRegistry registry = new XPathExpressionRegistry(XPathFactory.newInstance());
+
+    @Test
+    public void evaluateShouldUseExpressionCompiledOnAnotherThread() throws Exception {
+        var document = DocumentBuilderUtil.parseDocument("<root><child>value</child></root>");
+
+        assertThat(registry.evaluate(document, XPATH, STRING)).isEqualTo("value");
+        assertThat(CompletableFuture.supplyAsync(() -> evaluate(document)).join()).isEqualTo("value");
+    }
+
+    @Test
+    public void newExpressionSetShouldCompileRegisteredExpressions() throws Exception {
+        var xPath = XPathFactory.newInstance().newXPath();
+        var countingXPath = mock(XPath.class, delegatesTo(xPath));
+        var xPathFactory = mock(XPathFactory.class);
+        when(xPathFactory.newXPath()).thenReturn(countingXPath);
+        var registry = new XPathExpressionRegistry(xPathFactory);
+        var document = DocumentBuilderUtil.parseDocument("<root><child>value</child></root>");
+        registry.register(XPATH);
+        // an evaluation while the only set is borrowed gets a new set
+        doAnswer(invocation -> {
+            registry.evaluate(document, OTHER_XPATH, STRING);
+            return xPath.compile(ROOT_XPATH);
+        }).when(countingXPath).compile(ROOT_XPATH);
+
+        registry.evaluate(document, ROOT_XPATH, STRING);
+
+        verify(xPathFactory, times(2)).newXPath();
+        verify(countingXPath, times(2)).compile(XPATH);
+    }
+
+    @Test
+    public void findXPathConstantsShouldReturnMapperExpressions() {
+        var xpaths = XPathPrecompiler.findXPathConstants("uk.nhs.adaptors.scr.mappings.from.hl7");
+
+        assertThat(xpaths)
+            .isNotEmpty()
+            .doesNotHaveDuplicates()
+            .allSatisfy(xpath -> registry.register(xpath));
+    }
+
+    @SneakyThrows
+    private Object evaluate(Document document) {
+        return registry.evaluate(document, XPATH, STRING);
+    }
+}